@@ -0,0 +1,121 @@
+package com.cliente.projeto.crudpb.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/*
+ * Tempo entre lançar a JVM e o primeiro GET /eventos respondido com 200, com a
+ * aplicação em um processo separado (cada invocação é uma subida a frio):
+ *   - jar: o fat jar do build normal (java -jar target/<app>.jar);
+ *   - extraido: o mesmo jar extraído em target/inicio-rapido (classpath de jars comuns);
+ *   - aot: extraído + -Dspring.aot.enabled=true (beans gerados no build);
+ *   - aot-cds: aot + o arquivo CDS da subida de treino (app.jsa).
+ *
+ * Precisa dos artefatos do perfil inicio-rapido, gerados no mesmo comando:
+ *   mvn -Pinicio-rapido,benchmark -DskipTests verify -Djmh.args="InicializacaoBenchmark"
+ * O banco é o padrão (H2 em memória), igual em todos os modos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class InicializacaoBenchmark {
+
+    private static final Path ALVO = Path.of("target");
+    private static final Path EXTRAIDO = ALVO.resolve("inicio-rapido");
+    private static final Duration LIMITE = Duration.ofSeconds(60);
+
+    @Param({"jar", "extraido", "aot", "aot-cds"})
+    private String modo;
+
+    private final HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private Process aplicacao;
+
+    @Benchmark
+    public int primeiraRespostaDeEventos() throws Exception {
+        int porta = portaLivre();
+        aplicacao = new ProcessBuilder(comando(porta))
+                .directory(diretorio().toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        return esperarEventos(porta);
+    }
+
+    @TearDown(Level.Invocation)
+    public void encerrar() throws InterruptedException {
+        aplicacao.destroy();
+        aplicacao.waitFor();
+    }
+
+    private List<String> comando(int porta) throws IOException {
+        List<String> comando = new ArrayList<>();
+        comando.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if ("aot-cds".equals(modo)) {
+            comando.add("-XX:SharedArchiveFile=app.jsa");
+        }
+        if (modo.startsWith("aot")) {
+            comando.add("-Dspring.aot.enabled=true");
+        }
+        comando.add("-jar");
+        comando.add(jarDaAplicacao().getFileName().toString());
+        comando.add("--server.port=" + porta);
+        return comando;
+    }
+
+    private Path diretorio() {
+        return "jar".equals(modo) ? ALVO : EXTRAIDO;
+    }
+
+    // O jar extraído tem o mesmo nome do fat jar; o "-plain" do Maven não entra
+    private Path jarDaAplicacao() throws IOException {
+        try (Stream<Path> arquivos = Files.list(EXTRAIDO)) {
+            Path extraido = arquivos.filter(arquivo -> arquivo.toString().endsWith(".jar")).findFirst()
+                    .orElseThrow(() -> new IllegalStateException(
+                            "Sem " + EXTRAIDO + "/*.jar: rode junto com o perfil inicio-rapido (-Pinicio-rapido,benchmark)"));
+            return diretorio().resolve(extraido.getFileName());
+        }
+    }
+
+    // Conexão recusada ou resposta diferente de 200: a aplicação ainda está subindo
+    private int esperarEventos(int porta) throws Exception {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/eventos")).build();
+        long limite = System.nanoTime() + LIMITE.toNanos();
+        while (System.nanoTime() < limite) {
+            if (!aplicacao.isAlive()) {
+                throw new IllegalStateException("A aplicação terminou na subida (código " + aplicacao.exitValue() + ")");
+            }
+            try {
+                int status = cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    return status;
+                }
+            } catch (IOException aindaSubindo) {
+                // tenta de novo
+            }
+            Thread.sleep(10);
+        }
+        throw new IllegalStateException("GET /eventos sem 200 em " + LIMITE.toSeconds() + " s");
+    }
+
+    private static int portaLivre() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
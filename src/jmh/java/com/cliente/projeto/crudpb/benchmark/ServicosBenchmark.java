@@ -0,0 +1,133 @@
+package com.cliente.projeto.crudpb.benchmark;
+
+import com.cliente.projeto.crudpb.CrudPbApplication;
+import com.cliente.projeto.crudpb.dto.ResultadoBuscaDTO;
+import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.EventoService;
+import com.cliente.projeto.crudpb.service.UsuarioService;
+import com.cliente.projeto.crudpb.service.busca.BuscaEventos;
+import com.cliente.projeto.crudpb.service.busca.BuscaEventosEmMemoria;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Caminhos quentes de EventoService/UsuarioService contra H2, com a tabela de
+ * eventos (e a de usuários) pré-carregada com 1 mil, 100 mil e 1 milhão de linhas.
+ *
+ * O contexto é o da aplicação sem a camada web. O H2 fica em arquivo (um por
+ * tamanho) para que os dados não disputem o heap com o que está sendo medido.
+ * As linhas são geradas pelo próprio banco (SYSTEM_RANGE), não pela JVM.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ServicosBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int tamanhoTabela;
+
+    private ConfigurableApplicationContext contexto;
+    private EventoService eventoService;
+    private UsuarioService usuarioService;
+    private final AtomicLong sequencia = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        // banco novo a cada execução: o esquema vem das migrações e as linhas do popular()
+        Files.deleteIfExists(Path.of("target", "h2", "benchmark-" + tamanhoTabela + ".mv.db"));
+        contexto = new SpringApplicationBuilder(CrudPbApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:file:./target/h2/benchmark-" + tamanhoTabela,
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        // o cenário de nome duplicado gera uma violação por operação, de propósito
+                        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF")
+                .run();
+        eventoService = contexto.getBean(EventoService.class);
+        usuarioService = contexto.getBean(UsuarioService.class);
+        popular(contexto.getBean(JdbcTemplate.class));
+        // As linhas entraram por SQL, sem EventoAlteradoEvent: o índice em memória é recarregado
+        if (contexto.getBean(BuscaEventos.class) instanceof BuscaEventosEmMemoria buscaEmMemoria) {
+            buscaEmMemoria.carregar();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    private void popular(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO usuarios (id, nome, email) "
+                + "SELECT X, 'Usuario ' || X, 'usuario' || X || '@bench.com' FROM SYSTEM_RANGE(1, ?)", tamanhoTabela);
+        jdbc.update("INSERT INTO eventos (id, nome, descricao, usuario_id) "
+                + "SELECT X, 'Evento ' || X, 'Descricao ' || X, X FROM SYSTEM_RANGE(1, ?)", tamanhoTabela);
+        // Os geradores de ID continuam depois das linhas inseridas à mão. No otimizador
+        // "pooled" o valor lido da sequência é o TOPO do bloco (valor-49..valor), daí o +50.
+        jdbc.execute("ALTER TABLE usuarios ALTER COLUMN id RESTART WITH " + (tamanhoTabela + 1));
+        jdbc.execute("ALTER SEQUENCE eventos_seq RESTART WITH " + (tamanhoTabela + 50));
+    }
+
+    private long idAleatorio() {
+        return ThreadLocalRandom.current().nextLong(1, tamanhoTabela + 1);
+    }
+
+    @Benchmark
+    public Evento criarEvento() {
+        return eventoService.criarEvento(new Evento("Bench " + sequencia.incrementAndGet(), "Descricao"), idAleatorio());
+    }
+
+    // Antes era o "validarNomeDuplicado" (SELECT por nome); hoje é o INSERT barrado pela restrição única
+    @Benchmark
+    public void criarEventoComNomeDuplicado(Blackhole blackhole) {
+        try {
+            eventoService.criarEvento(new Evento("Evento " + idAleatorio(), "Descricao"), idAleatorio());
+        } catch (ValidacaoException esperado) {
+            blackhole.consume(esperado);
+        }
+    }
+
+    @Benchmark
+    public Evento buscarPorId() {
+        return eventoService.buscarPorId(idAleatorio());
+    }
+
+    // Carrega a tabela inteira: em 1 milhão de linhas é o caso que a paginação keyset substituiu na tela
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public void listarTodos(Blackhole blackhole) {
+        blackhole.consume(eventoService.listarTodos());
+    }
+
+    // Busca textual: "evento" está em todas as linhas, o número em uma só (a lista mais rara conduz)
+    @Benchmark
+    public ResultadoBuscaDTO buscarTexto() {
+        return eventoService.buscarTexto("evento " + idAleatorio(), 0, EventoService.TAMANHO_PAGINA_PADRAO);
+    }
+
+    @Benchmark
+    public Usuario criarUsuario() {
+        long n = sequencia.incrementAndGet();
+        return usuarioService.criarUsuario(new Usuario("Bench " + n, "bench" + n + "@bench.com"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.cliente.projeto.crudpb.benchmark;
+
+import com.cliente.projeto.crudpb.CrudPbApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Carga HTTP concorrente contra a aplicação nos dois modos de execução,
+ * com o MESMO tamanho de pool de conexões:
+ *   - plataforma: Tomcat com o pool padrão (200 threads);
+ *   - virtual: spring.threads.virtual.enabled=true (exige JDK 21).
+ *
+ * O H2 em memória responde em microssegundos, então cada comando SQL ganha
+ * uma latência fixa (latenciaBancoMs) para simular a ida e volta até um
+ * PostgreSQL remoto: é esse tempo de espera em JDBC que prende as threads.
+ * Mais clientes simultâneos (@Threads) que threads do Tomcat = rajada.
+ * Em máquinas com poucos núcleos, aumente a latência (-p latenciaBancoMs=500)
+ * para que o teto seja a espera em JDBC, e não a CPU.
+ *
+ *   JAVA_HOME=<jdk21> mvn -Pbenchmark -DskipTests verify -Djmh.args="ThreadsVirtuaisBenchmark"
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class ThreadsVirtuaisBenchmark {
+
+    private static final int LINHAS = 10_000;
+
+    @Param({"plataforma", "virtual"})
+    private String modo;
+
+    // 20: o pool é o gargalo nos dois modos; 400: cabe um cliente por conexão e o limite passa a ser a thread
+    @Param({"20", "400"})
+    private int tamanhoPool;
+
+    @Param({"100"})
+    private long latenciaBancoMs;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private String base;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        boolean virtual = "virtual".equals(modo);
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("O modo virtual precisa de JDK 21+ (JDK atual: " + Runtime.version() + ")");
+        }
+        contexto = new SpringApplicationBuilder(CrudPbApplication.class)
+                .initializers(aplicacao -> aplicacao.getBeanFactory()
+                        .addBeanPostProcessor(new LatenciaBanco(latenciaBancoMs)))
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:carga-" + modo + ";DB_CLOSE_DELAY=-1",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.hikari.maximum-pool-size=" + tamanhoPool,
+                        "spring.datasource.hikari.minimum-idle=" + tamanhoPool,
+                        "spring.datasource.hikari.connection-timeout=30000",
+                        "spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        // falhas por tempo de espera do pool são contadas em Respostas.falhas, não logadas
+                        "logging.level.org.hibernate.engine.jdbc.spi.SqlExceptionHelper=OFF",
+                        "logging.level.com.cliente.projeto.crudpb.exception=OFF")
+                .run();
+        JdbcTemplate jdbc = contexto.getBean(JdbcTemplate.class);
+        jdbc.update("INSERT INTO usuarios (id, nome, email) "
+                + "SELECT X, 'Usuario ' || X, 'usuario' || X || '@carga.com' FROM SYSTEM_RANGE(1, ?)", LINHAS);
+        jdbc.update("INSERT INTO eventos (id, nome, descricao, usuario_id) "
+                + "SELECT X, 'Evento ' || X, 'Descricao ' || X, X FROM SYSTEM_RANGE(1, ?)", LINHAS);
+
+        int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+        base = "http://localhost:" + porta;
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    // Vazão separando respostas 200 das falhas (ex.: tempo de espera do pool esgotado)
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    public void vazao(Respostas respostas) throws Exception {
+        if (buscarEvento() == 200) {
+            respostas.ok++;
+        } else {
+            respostas.falhas++;
+        }
+    }
+
+    // Distribuição da latência (p50/p99) vista pelo cliente
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    public int latencia() throws Exception {
+        return buscarEvento();
+    }
+
+    // GET de um evento pela API JSON: dois SELECTs por requisição (versão para o ETag + registro)
+    private int buscarEvento() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1, LINHAS + 1);
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + "/api/eventos/" + id)).build();
+        return cliente.send(requisicao, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Respostas {
+        public long ok;
+        public long falhas;
+    }
+
+    // Envolve o DataSource: cada execute* espera 'latencia' ms antes de ir ao H2
+    private record LatenciaBanco(long latencia) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nome) {
+            return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource) : bean;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T proxy(Class<T> tipo, T alvo) {
+            InvocationHandler handler = (p, metodo, argumentos) -> {
+                if (alvo instanceof Statement && metodo.getName().startsWith("execute")) {
+                    Thread.sleep(latencia);
+                }
+                Object resultado;
+                try {
+                    resultado = metodo.invoke(alvo, argumentos);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+                Class<?> retorno = metodo.getReturnType();
+                if (resultado != null && (retorno == Connection.class || Statement.class.isAssignableFrom(retorno))) {
+                    return proxy((Class<Object>) retorno, resultado);
+                }
+                return resultado;
+            };
+            return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo}, handler);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.cliente.projeto.crudpb.admissao;
+
+import com.cliente.projeto.crudpb.dto.ErroDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Set;
+
+/*
+ * Passa as escritas de eventos/usuários pelo ControleAdmissao antes de chegarem
+ * aos controllers. Leituras não são limitadas: é justamente para elas continuarem
+ * respondendo que as escritas em excesso são recusadas aqui.
+ *
+ * Escrita = qualquer método que não seja de leitura, mais os GET /.../deletar/{id}
+ * das telas Thymeleaf. O cliente é o IP remoto (atrás de proxy, configure
+ * server.forward-headers-strategy para ele vir do X-Forwarded-For).
+ */
+public class AdmissaoEscritaFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissaoEscritaFilter.class);
+
+    private static final Set<String> METODOS_LEITURA = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name(), HttpMethod.TRACE.name());
+
+    // Sobrecarga passa rápido: uma escrita recusada volta a tentar logo
+    private static final long RETRY_AFTER_SOBRECARGA = 1;
+
+    private final ControleAdmissao controle;
+    private final ObjectMapper objectMapper;
+
+    public AdmissaoEscritaFilter(ControleAdmissao controle, ObjectMapper objectMapper) {
+        this.controle = controle;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return METODOS_LEITURA.contains(request.getMethod()) && !request.getRequestURI().contains("/deletar/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String cliente = request.getRemoteAddr();
+        long esperaSegundos = controle.reservarFicha(cliente);
+        if (esperaSegundos > 0) {
+            log.warn("Escrita recusada para o cliente {} (limite de taxa) na rota {}", cliente, request.getRequestURI());
+            recusar(request, response, HttpStatus.TOO_MANY_REQUESTS, "Muitas Requisições", esperaSegundos,
+                    "Limite de escritas por cliente atingido. Tente novamente em " + esperaSegundos + " s.");
+            return;
+        }
+        if (!controle.entrar()) {
+            controle.devolverFicha(cliente);
+            log.warn("Escrita recusada para o cliente {} (sobrecarga) na rota {}", cliente, request.getRequestURI());
+            recusar(request, response, HttpStatus.SERVICE_UNAVAILABLE, "Serviço Sobrecarregado", RETRY_AFTER_SOBRECARGA,
+                    "O sistema está no limite de escritas simultâneas. Tente novamente em instantes.");
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            controle.sair();
+        }
+    }
+
+    private void recusar(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                         String titulo, long retryAfter, String mensagem) throws IOException {
+        ErroDTO erro = new ErroDTO(Instant.now().toString(), status.value(), titulo, mensagem, request.getRequestURI());
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfter));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), erro);
+    }
+}
@@ -0,0 +1,40 @@
+package com.cliente.projeto.crudpb.admissao;
+
+/*
+ * Balde de fichas de um cliente: começa cheio ('capacidade' = rajada permitida)
+ * e recebe 'fichasPorNano' continuamente. A recarga é calculada na hora da
+ * retirada, sem thread de fundo; o relógio (nanoTime) vem de quem chama.
+ */
+final class BaldeFichas {
+
+    private final double capacidade;
+    private final double fichasPorNano;
+    private double fichas;
+    private long ultimaRecarga;
+
+    BaldeFichas(double capacidade, double fichasPorNano, long agora) {
+        this.capacidade = capacidade;
+        this.fichasPorNano = fichasPorNano;
+        this.fichas = capacidade;
+        this.ultimaRecarga = agora;
+    }
+
+    // 0 se a ficha foi retirada; senão, quantos nanos faltam para a próxima
+    synchronized long retirar(long agora) {
+        // duas threads podem ler o relógio em uma ordem e chegar aqui na outra
+        if (agora > ultimaRecarga) {
+            fichas = Math.min(capacidade, fichas + (agora - ultimaRecarga) * fichasPorNano);
+            ultimaRecarga = agora;
+        }
+        if (fichas >= 1) {
+            fichas -= 1;
+            return 0;
+        }
+        return (long) Math.ceil((1 - fichas) / fichasPorNano);
+    }
+
+    // Devolve uma ficha retirada por uma requisição que acabou não executando
+    synchronized void devolver() {
+        fichas = Math.min(capacidade, fichas + 1);
+    }
+}
@@ -0,0 +1,108 @@
+package com.cliente.projeto.crudpb.admissao;
+
+import com.cliente.projeto.crudpb.config.MetricasConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/*
+ * Admissão das escritas em duas etapas:
+ *   1. balde de fichas por cliente: limita a taxa de cada um (rajada + recarga contínua);
+ *   2. semáforo global: limita quantas escritas usam o banco ao mesmo tempo.
+ * Quem não passa espera no máximo 'esperaMaxima' pela vaga e é recusado; nada
+ * fica em fila sem limite. Recusado na etapa 2, o cliente recebe a ficha de volta:
+ * uma sobrecarga do servidor não consome a taxa dele. Os baldes ficam em um Caffeine limitado em tamanho e
+ * expiram sem uso, então um cliente novo a cada requisição não esgota a memória.
+ */
+public class ControleAdmissao {
+
+    private final Cache<String, BaldeFichas> baldes;
+    private final double fichasPorCliente;
+    private final double fichasPorNano;
+    private final int maxConcorrentes;
+    private final Semaphore vagas;
+    private final long esperaMaximaNanos;
+    private final LongSupplier relogio;
+    private final Counter admitidas;
+    private final Counter recusadasPorCliente;
+    private final Counter recusadasPorSobrecarga;
+
+    public ControleAdmissao(int fichasPorCliente, double recargaPorSegundo, int maxConcorrentes,
+                            Duration esperaMaxima, long maxClientes, LongSupplier relogio, MeterRegistry registro) {
+        if (recargaPorSegundo <= 0) {
+            throw new IllegalArgumentException("A recarga de fichas por segundo deve ser positiva: " + recargaPorSegundo);
+        }
+        this.fichasPorCliente = Math.max(1, fichasPorCliente);
+        this.fichasPorNano = recargaPorSegundo / TimeUnit.SECONDS.toNanos(1);
+        this.maxConcorrentes = Math.max(1, maxConcorrentes);
+        this.vagas = new Semaphore(this.maxConcorrentes);
+        this.esperaMaximaNanos = esperaMaxima.toNanos();
+        this.relogio = relogio;
+        // sem uso pelo tempo de encher o balde de novo, ele voltaria cheio: pode sair
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maxClientes)
+                .expireAfterAccess(Duration.ofNanos((long) Math.ceil(this.fichasPorCliente / fichasPorNano)).plusSeconds(1))
+                .build();
+
+        this.admitidas = contador(registro, "admitida");
+        this.recusadasPorCliente = contador(registro, "limite_cliente");
+        this.recusadasPorSobrecarga = contador(registro, "sobrecarga");
+        Gauge.builder(MetricasConfig.METRICA_ADMISSAO + ".em.execucao", vagas, v -> this.maxConcorrentes - v.availablePermits())
+                .description("Escritas admitidas ainda em execução")
+                .register(registro);
+        Gauge.builder(MetricasConfig.METRICA_ADMISSAO + ".clientes", baldes, Cache::estimatedSize)
+                .description("Clientes com balde de fichas ativo")
+                .register(registro);
+    }
+
+    // 0 se o cliente tem ficha; senão, em quantos segundos terá a próxima (Retry-After)
+    public long reservarFicha(String cliente) {
+        long agora = relogio.getAsLong();
+        long esperaNanos = baldes.get(cliente, c -> new BaldeFichas(fichasPorCliente, fichasPorNano, agora)).retirar(agora);
+        if (esperaNanos == 0) {
+            return 0;
+        }
+        recusadasPorCliente.increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    // Recusada por sobrecarga (503), a requisição não executou: a ficha volta ao balde do cliente.
+    // Balde já expirado não é recriado; um novo começaria cheio de qualquer forma.
+    public void devolverFicha(String cliente) {
+        BaldeFichas balde = baldes.getIfPresent(cliente);
+        if (balde != null) {
+            balde.devolver();
+        }
+    }
+
+    // Ocupa uma das vagas globais; quem recebe true precisa chamar sair()
+    public boolean entrar() {
+        boolean entrou;
+        try {
+            entrou = vagas.tryAcquire(esperaMaximaNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            entrou = false;
+        }
+        (entrou ? admitidas : recusadasPorSobrecarga).increment();
+        return entrou;
+    }
+
+    public void sair() {
+        vagas.release();
+    }
+
+    private static Counter contador(MeterRegistry registro, String resultado) {
+        return Counter.builder(MetricasConfig.METRICA_ADMISSAO)
+                .description("Escritas admitidas e recusadas pelo controle de admissão")
+                .tag("resultado", resultado)
+                .register(registro);
+    }
+}
@@ -0,0 +1,49 @@
+package com.cliente.projeto.crudpb.config;
+
+import com.cliente.projeto.crudpb.admissao.AdmissaoEscritaFilter;
+import com.cliente.projeto.crudpb.admissao.ControleAdmissao;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/*
+ * Controle de admissão das escritas (POST/PUT/DELETE e exclusões das telas) de
+ * eventos e usuários, nas páginas e na API. Os padrões deixam folga no pool do
+ * Hikari (10 conexões): no máximo 8 escritas simultâneas, o resto fica para as leituras.
+ *
+ * O filtro roda depois do de observação do Spring (HIGHEST_PRECEDENCE + 1), então
+ * as recusas também aparecem em http.server.requests com status 429/503.
+ */
+@Configuration
+@ConditionalOnProperty(name = "crudpb.admissao.habilitada", havingValue = "true", matchIfMissing = true)
+public class AdmissaoConfig {
+
+    @Bean
+    public ControleAdmissao controleAdmissao(
+            @Value("${crudpb.admissao.fichas-por-cliente:20}") int fichasPorCliente,
+            @Value("${crudpb.admissao.recarga-por-segundo:5}") double recargaPorSegundo,
+            @Value("${crudpb.admissao.max-concorrentes:8}") int maxConcorrentes,
+            @Value("${crudpb.admissao.espera-maxima:100ms}") Duration esperaMaxima,
+            @Value("${crudpb.admissao.max-clientes:10000}") long maxClientes,
+            MeterRegistry registro) {
+        return new ControleAdmissao(fichasPorCliente, recargaPorSegundo, maxConcorrentes, esperaMaxima, maxClientes,
+                System::nanoTime, registro);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissaoEscritaFilter> admissaoEscritaFilter(ControleAdmissao controle,
+                                                                                ObjectMapper objectMapper) {
+        FilterRegistrationBean<AdmissaoEscritaFilter> registro =
+                new FilterRegistrationBean<>(new AdmissaoEscritaFilter(controle, objectMapper));
+        registro.addUrlPatterns("/eventos/*", "/usuarios/*", "/api/eventos/*", "/api/usuarios/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
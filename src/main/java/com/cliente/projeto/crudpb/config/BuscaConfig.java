@@ -0,0 +1,38 @@
+package com.cliente.projeto.crudpb.config;
+
+import com.cliente.projeto.crudpb.repository.EventoRepository;
+import com.cliente.projeto.crudpb.service.busca.BuscaEventos;
+import com.cliente.projeto.crudpb.service.busca.BuscaEventosEmMemoria;
+import com.cliente.projeto.crudpb.service.busca.BuscaEventosPostgres;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+
+/*
+ * Escolhe a implementação da busca textual pelo banco conectado:
+ * PostgreSQL usa tsvector + GIN (criados pelo Flyway); qualquer outro (H2 em dev/testes)
+ * usa o índice invertido em memória, carregado aqui na subida.
+ */
+@Configuration
+public class BuscaConfig {
+
+    @Bean
+    public BuscaEventos buscaEventos(DataSource dataSource,
+                                     JdbcTemplate jdbcTemplate,
+                                     EventoRepository eventoRepository,
+                                     PlatformTransactionManager transactionManager) throws MetaDataAccessException {
+        String banco = JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName);
+        if ("PostgreSQL".equals(banco)) {
+            return new BuscaEventosPostgres(jdbcTemplate); // coluna e índice: migração V3__busca_textual
+        }
+        BuscaEventosEmMemoria busca = new BuscaEventosEmMemoria(eventoRepository, transactionManager);
+        busca.carregar();
+        return busca;
+    }
+}
@@ -0,0 +1,34 @@
+package com.cliente.projeto.crudpb.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/*
+ * Cache local (Caffeine) para leituras que quase nunca mudam.
+ * Sempre limitado em tamanho e com expiração: mesmo sem evicção explícita
+ * um dado antigo não sobrevive mais que o TTL configurado.
+ *
+ * order = HIGHEST_PRECEDENCE: o interceptor de cache fica POR FORA do
+ * transacional, então um @CacheEvict só roda depois do commit (evita que
+ * uma leitura concorrente recoloque no cache o valor ainda não gravado).
+ */
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String CACHE_USUARIOS = "usuarios";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${crudpb.cache.especificacao:maximumSize=10000,expireAfterWrite=10m,recordStats}") String especificacao) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CACHE_USUARIOS);
+        cacheManager.setCacheSpecification(especificacao);
+        cacheManager.setAllowNullValues(false);
+        return cacheManager;
+    }
+}
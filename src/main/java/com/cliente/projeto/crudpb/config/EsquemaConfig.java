@@ -0,0 +1,23 @@
+package com.cliente.projeto.crudpb.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/*
+ * O esquema é criado e evoluído pelas migrações do Flyway em
+ * db/migration/{vendor} (h2 ou postgresql): tabelas, chaves estrangeiras,
+ * sequência e índices. O Hibernate fica em ddl-auto=none: não altera o esquema
+ * e não lê o catálogo do banco na subida. (validate também não altera nada, mas
+ * lê as colunas de todas as tabelas do esquema, como o antigo update; o custo
+ * cresce com o banco, veja InicializacaoEsquemaTest.)
+ *
+ * Mudou uma entidade? Crie um novo V<n>__descricao.sql nas duas pastas.
+ * InicializacaoEsquemaTest sobe a aplicação com validate sobre as migrações,
+ * então uma entidade que não bate com elas quebra o build.
+ *
+ * Os padrões ficam em esquema.properties (mesma precedência de metricas.properties).
+ */
+@Configuration
+@PropertySource("classpath:esquema.properties")
+public class EsquemaConfig {
+}
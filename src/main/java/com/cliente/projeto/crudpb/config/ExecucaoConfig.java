@@ -0,0 +1,30 @@
+package com.cliente.projeto.crudpb.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/*
+ * Execução de requisições e tarefas @Async. O executor é o do Spring Boot
+ * (applicationTaskExecutor): com spring.threads.virtual.enabled=true (perfil
+ * "virtual") tanto ele quanto o Tomcat passam a usar threads virtuais.
+ * O @EnableScheduling liga as tarefas agendadas (reconciliação das estatísticas de usuários).
+ */
+@Configuration
+@EnableAsync
+@EnableScheduling
+public class ExecucaoConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecucaoConfig.class);
+
+    public ExecucaoConfig(@Value("${spring.threads.virtual.enabled:false}") boolean threadsVirtuais) {
+        // Em JDK 17 o Spring Boot ignora a chave em silêncio; aqui fica registrado
+        if (threadsVirtuais && Runtime.version().feature() < 21) {
+            log.warn("spring.threads.virtual.enabled ignorado: o JDK {} não tem threads virtuais (use JDK 21+, perfil Maven java21)",
+                    Runtime.version());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.cliente.projeto.crudpb.config;
+
+import com.cliente.projeto.crudpb.idempotencia.ArmazenamentoIdempotencia;
+import com.cliente.projeto.crudpb.idempotencia.IdempotenciaEmMemoria;
+import com.cliente.projeto.crudpb.idempotencia.IdempotenciaFilter;
+import com.cliente.projeto.crudpb.idempotencia.IdempotenciaJdbc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/*
+ * Idempotency-Key nas criações de eventos e usuários (páginas e API).
+ *
+ * crudpb.idempotencia.armazenamento=memoria (padrão) serve para uma instância só;
+ * com várias atrás do balanceador use 'banco' (tabela idempotencia), senão um
+ * retry que cair em outra instância executa de novo.
+ *
+ * O filtro roda antes do controle de admissão (HIGHEST_PRECEDENCE + 10): uma
+ * repetição é respondida sem gastar ficha nem vaga de escrita.
+ */
+@Configuration
+@ConditionalOnProperty(name = "crudpb.idempotencia.habilitada", havingValue = "true", matchIfMissing = true)
+public class IdempotenciaConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "crudpb.idempotencia.armazenamento", havingValue = "memoria", matchIfMissing = true)
+    public ArmazenamentoIdempotencia idempotenciaEmMemoria(
+            @Value("${crudpb.idempotencia.max-registros:100000}") long maxRegistros,
+            @Value("${crudpb.idempotencia.ttl:24h}") Duration ttl,
+            @Value("${crudpb.idempotencia.tempo-em-andamento:1m}") Duration tempoEmAndamento) {
+        return new IdempotenciaEmMemoria(maxRegistros, ttl, tempoEmAndamento, Instant::now);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "crudpb.idempotencia.armazenamento", havingValue = "banco")
+    public ArmazenamentoIdempotencia idempotenciaJdbc(
+            JdbcTemplate jdbcTemplate,
+            @Value("${crudpb.idempotencia.ttl:24h}") Duration ttl,
+            @Value("${crudpb.idempotencia.tempo-em-andamento:1m}") Duration tempoEmAndamento) {
+        return new IdempotenciaJdbc(jdbcTemplate, ttl, tempoEmAndamento, Instant::now);
+    }
+
+    // Só as rotas de criação, sem o /* das demais: /eventos/{id} é atualização
+    @Bean
+    public FilterRegistrationBean<IdempotenciaFilter> idempotenciaFilter(ArmazenamentoIdempotencia armazenamento,
+                                                                          ObjectMapper objectMapper,
+                                                                          MeterRegistry registro) {
+        FilterRegistrationBean<IdempotenciaFilter> filtro =
+                new FilterRegistrationBean<>(new IdempotenciaFilter(armazenamento, objectMapper, registro));
+        filtro.addUrlPatterns("/eventos", "/usuarios", "/api/eventos", "/api/usuarios");
+        filtro.setOrder(Ordered.HIGHEST_PRECEDENCE + 8);
+        return filtro;
+    }
+}
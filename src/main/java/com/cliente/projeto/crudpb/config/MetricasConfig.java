@@ -0,0 +1,31 @@
+package com.cliente.projeto.crudpb.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.PropertySource;
+
+/*
+ * Métricas em /actuator/prometheus:
+ *   - http.server.requests: todo handler de controller (tags uri, method, status);
+ *   - crudpb.servico: todo método público de EventoService/UsuarioService (@Timed);
+ *   - spring.data.repository.invocations: cada método dos repositórios;
+ *   - hikaricp.*: pool de conexões; hibernate.*: estatísticas da sessão;
+ *   - crudpb.erros: cada ramo do GlobalExceptionHandler (tag tipo);
+ *   - crudpb.admissao: escritas admitidas/recusadas pelo controle de admissão (tag resultado);
+ *   - crudpb.auditoria: registros do diário de auditoria gravados/descartados/com falha (tag resultado);
+ *   - crudpb.alteracoes.*: listagens de eventos ao vivo (assinantes abertos, avisos de recarregar);
+ *   - crudpb.idempotencia: criações com Idempotency-Key executadas/repetidas/em andamento/divergentes (tag resultado).
+ *
+ * Os padrões ficam em metricas.properties, com a menor precedência:
+ * o application.properties ou o ambiente podem mudar qualquer um deles.
+ */
+@Configuration
+@PropertySource("classpath:metricas.properties")
+public class MetricasConfig {
+
+    public static final String METRICA_SERVICOS = "crudpb.servico";
+    public static final String METRICA_ERROS = "crudpb.erros";
+    public static final String METRICA_ADMISSAO = "crudpb.admissao";
+    public static final String METRICA_AUDITORIA = "crudpb.auditoria";
+    public static final String METRICA_ALTERACOES = "crudpb.alteracoes";
+    public static final String METRICA_IDEMPOTENCIA = "crudpb.idempotencia";
+}
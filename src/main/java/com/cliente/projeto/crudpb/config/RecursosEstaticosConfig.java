@@ -0,0 +1,49 @@
+package com.cliente.projeto.crudpb.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+import java.util.List;
+
+/*
+ * CSS/JS servidos pela própria aplicação (Bootstrap em static/vendor, sem CDN).
+ *
+ * As URLs geradas pelo @{} dos templates levam o hash do conteúdo
+ * (style.css -> style-<md5>.css): um arquivo alterado ganha outra URL, então a
+ * resposta pode ficar em cache por um ano, marcada como imutável, e as visitas
+ * seguintes não pedem nada além do HTML. As variantes .gz geradas no build
+ * (maven-antrun-plugin, fase process-resources) são servidas a quem aceita gzip.
+ */
+@Configuration
+public class RecursosEstaticosConfig implements WebMvcConfigurer {
+
+    private static final List<String> PASTAS = List.of("css", "js", "vendor");
+
+    private static final CacheControl CACHE_IMUTAVEL = CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String pasta : PASTAS) {
+            registry.addResourceHandler("/" + pasta + "/**")
+                    .addResourceLocations("classpath:/static/" + pasta + "/")
+                    .setCacheControl(CACHE_IMUTAVEL)
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        }
+    }
+
+    // Reescreve as URLs dos templates (@{/css/style.css}) para a versão com hash
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        return new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+    }
+}
@@ -0,0 +1,80 @@
+package com.cliente.projeto.crudpb.config;
+
+import com.cliente.projeto.crudpb.roteamento.LeituraDasPropriasEscritasFilter;
+import com.cliente.projeto.crudpb.roteamento.RoteamentoLeituraDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/*
+ * Réplica de leitura, ligada só quando crudpb.replica.url está definida (sem
+ * ela, o DataSource continua o do Spring Boot, do spring.datasource.*).
+ *
+ * Dois pools Hikari: "primaria" (spring.datasource.* e spring.datasource.hikari.*)
+ * e "replica" (crudpb.replica.* e crudpb.replica.hikari.*; usuário e senha, se
+ * omitidos, são os do primário). O DataSource que a aplicação enxerga (JPA,
+ * Flyway, JdbcTemplate) é o RoteamentoLeituraDataSource atrás do proxy
+ * preguiçoso: transações só-leitura na réplica, o resto no primário.
+ *
+ * O Flyway e a validação do Hibernate rodam fora de transação, logo no
+ * primário; a réplica recebe o esquema pela replicação do próprio banco.
+ */
+@Configuration
+@ConditionalOnProperty(name = "crudpb.replica.url")
+public class ReplicaLeituraConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimaria(DataSourceProperties propriedades) {
+        HikariDataSource primaria = propriedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primaria.setPoolName("primaria");
+        return primaria;
+    }
+
+    @Bean
+    @ConfigurationProperties("crudpb.replica.hikari")
+    public HikariDataSource dataSourceReplica(DataSourceProperties propriedades,
+                                              @Value("${crudpb.replica.url}") String url,
+                                              @Value("${crudpb.replica.username:}") String usuario,
+                                              @Value("${crudpb.replica.password:}") String senha) {
+        HikariDataSource replica = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(usuario.isEmpty() ? propriedades.determineUsername() : usuario)
+                .password(senha.isEmpty() ? propriedades.determinePassword() : senha)
+                .build();
+        replica.setPoolName("replica");
+        replica.setReadOnly(true);
+        return replica;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimaria") DataSource primaria,
+                                 @Qualifier("dataSourceReplica") DataSource replica) {
+        return new LazyConnectionDataSourceProxy(new RoteamentoLeituraDataSource(primaria, replica));
+    }
+
+    // Antes da admissão: uma escrita recusada (429/503) também abre a janela, o que só custa leituras no primário
+    @Bean
+    public FilterRegistrationBean<LeituraDasPropriasEscritasFilter> leituraDasPropriasEscritasFilter(
+            @Value("${crudpb.replica.janela-escrita:5s}") Duration janela) {
+        FilterRegistrationBean<LeituraDasPropriasEscritasFilter> registro =
+                new FilterRegistrationBean<>(new LeituraDasPropriasEscritasFilter(janela, System::currentTimeMillis));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+        return registro;
+    }
+}
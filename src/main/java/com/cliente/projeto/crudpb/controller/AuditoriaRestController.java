@@ -0,0 +1,36 @@
+package com.cliente.projeto.crudpb.controller;
+
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Entidade;
+import com.cliente.projeto.crudpb.service.AuditoriaService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/*
+ * Histórico de alterações (diário de auditoria) de um evento ou usuário,
+ * do mais antigo para o mais recente. Vale também para IDs já excluídos.
+ */
+@RestController
+@RequestMapping("/api/auditoria")
+public class AuditoriaRestController {
+
+    private final AuditoriaService auditoriaService;
+
+    public AuditoriaRestController(AuditoriaService auditoriaService) {
+        this.auditoriaService = auditoriaService;
+    }
+
+    @GetMapping("/eventos/{id}")
+    public List<RegistroAuditoriaDTO> historicoEvento(@PathVariable long id) {
+        return auditoriaService.historico(Entidade.EVENTO, id);
+    }
+
+    @GetMapping("/usuarios/{id}")
+    public List<RegistroAuditoriaDTO> historicoUsuario(@PathVariable long id) {
+        return auditoriaService.historico(Entidade.USUARIO, id);
+    }
+}
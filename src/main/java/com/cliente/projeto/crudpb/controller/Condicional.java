@@ -0,0 +1,63 @@
+package com.cliente.projeto.crudpb.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Instant;
+
+/*
+ * GET condicional e If-Match, compartilhados pelos controllers.
+ *
+ * O ETag vem das colunas @Version/atualizado_em (consultas de uma linha);
+ * se o cliente já tem essa versão, a resposta é 304 antes de buscar as
+ * linhas ou renderizar o template. "Cache-Control: no-cache" faz o navegador
+ * sempre revalidar, em vez de reaproveitar a página sem perguntar.
+ */
+final class Condicional {
+
+    // As páginas HTML também mudam com o deploy (templates): o início da JVM entra no ETag delas
+    private static final String GERACAO = Long.toString(System.currentTimeMillis(), 36);
+
+    private Condicional() {
+    }
+
+    /*
+     * true = o cliente já tem esta versão; o status 304 já foi definido e o
+     * handler deve devolver null. 'modificadoEm' nulo = só ETag.
+     */
+    static boolean naoModificado(ServletWebRequest requisicao, String etag, Instant modificadoEm) {
+        if (requisicao.getResponse() != null) {
+            requisicao.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        }
+        return modificadoEm == null
+                ? requisicao.checkNotModified(etag)
+                : requisicao.checkNotModified(etag, modificadoEm.toEpochMilli());
+    }
+
+    // ETag de página HTML montado a partir das versões das tabelas que ela exibe
+    static String etagPagina(String... marcadores) {
+        return "W/\"" + GERACAO + "." + String.join(".", marcadores) + "\"";
+    }
+
+    /*
+     * Versão pedida no If-Match ("3" ou W/"3"). Sem cabeçalho ou "*": nula
+     * (sem checagem). Um valor que não é versão nunca casa: -1 (412).
+     */
+    static Long versaoEsperada(String seCorresponder) {
+        if (seCorresponder == null || seCorresponder.isBlank() || seCorresponder.trim().equals("*")) {
+            return null;
+        }
+        String valor = seCorresponder.trim();
+        if (valor.startsWith("W/")) {
+            valor = valor.substring(2);
+        }
+        if (valor.length() >= 2 && valor.startsWith("\"") && valor.endsWith("\"")) {
+            valor = valor.substring(1, valor.length() - 1);
+        }
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+}
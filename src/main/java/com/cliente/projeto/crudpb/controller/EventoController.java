@@ -1,15 +1,22 @@
 package com.cliente.projeto.crudpb.controller;
 
 import com.cliente.projeto.crudpb.dto.EventoDTO;
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
+import com.cliente.projeto.crudpb.dto.ResultadoBuscaDTO;
 import com.cliente.projeto.crudpb.exception.ValidacaoException;
 import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.service.AlteracoesEventosService;
 import com.cliente.projeto.crudpb.service.EventoService;
 import com.cliente.projeto.crudpb.service.UsuarioService; // Importado
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
@@ -18,23 +25,62 @@ public class EventoController {
 
     private final EventoService eventoService;
     private final UsuarioService usuarioService; // Injetado para a integração
+    private final AlteracoesEventosService alteracoes;
 
-    public EventoController(EventoService eventoService, UsuarioService usuarioService) {
+    public EventoController(EventoService eventoService, UsuarioService usuarioService,
+                            AlteracoesEventosService alteracoes) {
         this.eventoService = eventoService;
         this.usuarioService = usuarioService;
+        this.alteracoes = alteracoes;
     }
 
     @GetMapping
-    public String listarEventos(Model model) {
-        model.addAttribute("eventos", eventoService.listarTodos());
+    public String listarEventos(@RequestParam(required = false) Long apos,
+                                @RequestParam(required = false) Long antes,
+                                Model model,
+                                ServletWebRequest requisicao) {
+        // GET condicional: a página mostra eventos e o nome do criador, então o ETag
+        // combina as versões das duas tabelas, mais a posição do fluxo de alterações
+        // que o script da página usa ao conectar. Depois de um redirect com mensagem, renderiza.
+        String posicaoAlteracoes = alteracoes.posicaoAtual();
+        if (!model.containsAttribute("mensagemSucesso") && Condicional.naoModificado(requisicao,
+                Condicional.etagPagina(eventoService.versaoTabela().marcador(), usuarioService.versaoTabela().marcador(),
+                        posicaoAlteracoes), null)) {
+            return null; // 304
+        }
+        // Paginação keyset: os cursores 'apos'/'antes' são IDs, não números de página
+        PaginaDTO<EventoResumoDTO> pagina = eventoService.listarPagina(apos, antes, EventoService.TAMANHO_PAGINA_PADRAO);
+        model.addAttribute("eventos", pagina.itens());
+        model.addAttribute("pagina", pagina);
+        model.addAttribute("alteracoesDesde", posicaoAlteracoes);
         return "lista-eventos"; // Renderiza 'lista-eventos.html'
     }
 
+    // Alterações ao vivo para a listagem aberta (SSE). Na reconexão o navegador manda o Last-Event-ID
+    @GetMapping(path = "/alteracoes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter acompanharAlteracoes(@RequestParam(required = false) String desde,
+                                           @RequestHeader(name = "Last-Event-ID", required = false) String ultimaRecebida) {
+        return alteracoes.assinar(ultimaRecebida != null ? ultimaRecebida : desde);
+    }
+
+    @GetMapping("/buscar")
+    public String buscarEventos(@RequestParam(defaultValue = "") String q,
+                                @RequestParam(defaultValue = "0") int pagina,
+                                Model model) {
+        if (q.isBlank()) {
+            return "redirect:/eventos"; // busca vazia = listagem normal
+        }
+        ResultadoBuscaDTO busca = eventoService.buscarTexto(q, pagina, EventoService.TAMANHO_PAGINA_PADRAO);
+        model.addAttribute("eventos", busca.itens());
+        model.addAttribute("busca", busca);
+        return "lista-eventos";
+    }
+
     @GetMapping("/novo")
     public String mostrarFormularioNovo(Model model) {
-        // Passa o DTO vazio e a lista de usuários para o dropdown
+        // Passa o DTO vazio; o criador é escolhido pelo seletor com busca (type-ahead)
         model.addAttribute("eventoDTO", new EventoDTO("", "", null));
-        model.addAttribute("todosUsuarios", usuarioService.listarTodos()); // INTEGRAÇÃO
+        adicionarUsuarioSelecionado(model, null); // INTEGRAÇÃO
         model.addAttribute("pageTitle", "Novo Evento");
         return "form-evento"; // Renderiza 'form-evento.html'
     }
@@ -47,7 +93,7 @@ public class EventoController {
 
         if (bindingResult.hasErrors()) {
             model.addAttribute("pageTitle", "Novo Evento");
-            model.addAttribute("todosUsuarios", usuarioService.listarTodos()); // Devolve a lista em caso de erro
+            adicionarUsuarioSelecionado(model, eventoDTO.usuarioId()); // Mantém o criador escolhido em caso de erro
             return "form-evento";
         }
 
@@ -60,14 +106,20 @@ public class EventoController {
 
         } catch (ValidacaoException ex) {
             model.addAttribute("pageTitle", "Novo Evento");
-            model.addAttribute("todosUsuarios", usuarioService.listarTodos()); // Devolve a lista em caso de erro
+            adicionarUsuarioSelecionado(model, eventoDTO.usuarioId()); // Mantém o criador escolhido em caso de erro
             model.addAttribute("mensagemErro", ex.getMessage());
             return "form-evento";
         }
     }
 
     @GetMapping("/editar/{id}")
-    public String mostrarFormularioEditar(@PathVariable Long id, Model model) {
+    public String mostrarFormularioEditar(@PathVariable Long id, Model model, ServletWebRequest requisicao) {
+        // GET condicional antes de carregar o evento: a página depende da versão da linha (@Version)
+        // e do nome do criador no seletor, então a versão de usuarios também entra no ETag
+        if (Condicional.naoModificado(requisicao, Condicional.etagPagina(
+                Long.toString(eventoService.versao(id).versao(), 36), usuarioService.versaoTabela().marcador()), null)) {
+            return null; // 304
+        }
         Evento evento = eventoService.buscarPorId(id); // Já lida com 404
         
         // Cria o DTO com os dados existentes, incluindo o ID do usuário
@@ -78,8 +130,9 @@ public class EventoController {
         );
 
         model.addAttribute("eventoDTO", dto);
-        model.addAttribute("todosUsuarios", usuarioService.listarTodos()); // Passa a lista de usuários
+        adicionarUsuarioSelecionado(model, dto.usuarioId()); // Pré-carrega só o criador atual
         model.addAttribute("eventoId", id);
+        model.addAttribute("versao", evento.getVersao()); // volta no POST (campo oculto) para detectar edição concorrente
         model.addAttribute("pageTitle", "Editar Evento");
         return "form-evento";
     }
@@ -88,27 +141,30 @@ public class EventoController {
     public String atualizarEvento(@PathVariable Long id,
                                     @Valid @ModelAttribute("eventoDTO") EventoDTO eventoDTO,
                                     BindingResult bindingResult,
+                                    @RequestParam(required = false) Long versao,
                                     Model model,
                                     RedirectAttributes redirectAttributes) {
 
         if (bindingResult.hasErrors()) {
             model.addAttribute("pageTitle", "Editar Evento");
-            model.addAttribute("todosUsuarios", usuarioService.listarTodos()); // Devolve a lista em caso de erro
+            adicionarUsuarioSelecionado(model, eventoDTO.usuarioId()); // Mantém o criador escolhido em caso de erro
             model.addAttribute("eventoId", id);
+            model.addAttribute("versao", versao);
             return "form-evento";
         }
 
         try {
-            // Passa o DTO e o ID do usuário para o serviço
-            eventoService.atualizarEvento(id, eventoDTO.toEntity(), eventoDTO.usuarioId()); // INTEGRAÇÃO
+            // Passa o DTO, o ID do usuário e a versão lida no formulário para o serviço
+            eventoService.atualizarEvento(id, eventoDTO.toEntity(), eventoDTO.usuarioId(), versao); // INTEGRAÇÃO
             
             redirectAttributes.addFlashAttribute("mensagemSucesso", "Evento atualizado com sucesso!");
             return "redirect:/eventos";
 
         } catch (ValidacaoException ex) {
             model.addAttribute("pageTitle", "Editar Evento");
-            model.addAttribute("todosUsuarios", usuarioService.listarTodos()); // Devolve a lista em caso de erro
+            adicionarUsuarioSelecionado(model, eventoDTO.usuarioId()); // Mantém o criador escolhido em caso de erro
             model.addAttribute("eventoId", id);
+            model.addAttribute("versao", versao);
             model.addAttribute("mensagemErro", ex.getMessage());
             return "form-evento";
         }
@@ -120,4 +176,10 @@ public class EventoController {
         redirectAttributes.addFlashAttribute("mensagemSucesso", "Evento deletado com sucesso!");
         return "redirect:/eventos";
     }
-}
\ No newline at end of file
+
+    // O formulário não recebe mais a lista de todos os usuários: apenas o
+    // selecionado (se houver) é pré-carregado; os demais vêm de /usuarios/buscar.
+    private void adicionarUsuarioSelecionado(Model model, Long usuarioId) {
+        model.addAttribute("usuarioSelecionado", usuarioService.buscarResumo(usuarioId).orElse(null));
+    }
+}
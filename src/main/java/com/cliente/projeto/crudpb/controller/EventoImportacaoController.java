@@ -0,0 +1,60 @@
+package com.cliente.projeto.crudpb.controller;
+
+import com.cliente.projeto.crudpb.dto.ErroDTO;
+import com.cliente.projeto.crudpb.dto.RelatorioImportacaoDTO;
+import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.service.EventoImportacaoService;
+import com.cliente.projeto.crudpb.service.FormatoArquivo;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Instant;
+
+/*
+ * Importação em massa: POST /eventos/importar com o arquivo no corpo.
+ *   curl -X POST -H 'Content-Type: text/csv' --data-binary @eventos.csv .../eventos/importar
+ *   curl -X POST -H 'Content-Type: application/x-ndjson' --data-binary @eventos.ndjson .../eventos/importar
+ * O corpo é consumido como stream (não é convertido em objeto antes),
+ * e a resposta é o relatório com as linhas importadas e os erros por linha.
+ */
+@RestController
+@RequestMapping("/eventos")
+public class EventoImportacaoController {
+
+    private final EventoImportacaoService importacaoService;
+
+    public EventoImportacaoController(EventoImportacaoService importacaoService) {
+        this.importacaoService = importacaoService;
+    }
+
+    @PostMapping(value = "/importar", consumes = "text/csv", produces = MediaType.APPLICATION_JSON_VALUE)
+    public RelatorioImportacaoDTO importarCsv(InputStream corpo) throws IOException {
+        return importacaoService.importar(corpo, FormatoArquivo.CSV);
+    }
+
+    @PostMapping(value = "/importar", consumes = "application/x-ndjson", produces = MediaType.APPLICATION_JSON_VALUE)
+    public RelatorioImportacaoDTO importarNdjson(InputStream corpo) throws IOException {
+        return importacaoService.importar(corpo, FormatoArquivo.NDJSON);
+    }
+
+    // Arquivo inválido como um todo (ex.: cabeçalho CSV sem as colunas esperadas)
+    @ExceptionHandler(ValidacaoException.class)
+    public ResponseEntity<ErroDTO> arquivoInvalido(ValidacaoException ex, HttpServletRequest request) {
+        ErroDTO erro = new ErroDTO(
+                Instant.now().toString(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Arquivo Inválido",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+}
@@ -0,0 +1,98 @@
+package com.cliente.projeto.crudpb.controller;
+
+import com.cliente.projeto.crudpb.dto.EventoDTO;
+import com.cliente.projeto.crudpb.dto.EventoRespostaDTO;
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
+import com.cliente.projeto.crudpb.dto.RelatorioExclusaoDTO;
+import com.cliente.projeto.crudpb.dto.ResultadoBuscaDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.service.EventoService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/*
+ * API JSON de eventos, paralela ao EventoController (Thymeleaf).
+ * Mesmas regras de negócio (EventoService) e mesmo DTO de entrada;
+ * os erros saem no formato ErroDTO do GlobalExceptionHandler
+ * (400 validação, 404 não encontrado, 409 nome duplicado, 412 versão antiga).
+ *
+ * GET /{id} responde com ETag (a versão do registro) e Last-Modified; o
+ * If-None-Match/If-Modified-Since dá 304 sem carregar o evento. O PUT aceita
+ * If-Match com esse ETag para não sobrescrever a alteração de outro cliente.
+ */
+@RestController
+@RequestMapping("/api/eventos")
+public class EventoRestController {
+
+    private final EventoService eventoService;
+
+    public EventoRestController(EventoService eventoService) {
+        this.eventoService = eventoService;
+    }
+
+    @GetMapping
+    public PaginaDTO<EventoResumoDTO> listar(@RequestParam(required = false) Long apos,
+                                             @RequestParam(required = false) Long antes,
+                                             @RequestParam(defaultValue = "" + EventoService.TAMANHO_PAGINA_PADRAO) int tamanho) {
+        return eventoService.listarPagina(apos, antes, tamanho);
+    }
+
+    // Busca textual por relevância (paginada por número de página, não por cursor)
+    @GetMapping("/busca")
+    public ResultadoBuscaDTO buscarTexto(@RequestParam(defaultValue = "") String q,
+                                         @RequestParam(defaultValue = "0") int pagina,
+                                         @RequestParam(defaultValue = "" + EventoService.TAMANHO_PAGINA_PADRAO) int tamanho) {
+        return eventoService.buscarTexto(q, pagina, tamanho);
+    }
+
+    @GetMapping("/{id}")
+    public EventoRespostaDTO buscar(@PathVariable Long id, ServletWebRequest requisicao) {
+        VersaoRegistroDTO versao = eventoService.versao(id); // 404 aqui se não existir
+        if (Condicional.naoModificado(requisicao, versao.etag(), versao.atualizadoEm())) {
+            return null; // 304
+        }
+        return EventoRespostaDTO.de(eventoService.buscarPorId(id));
+    }
+
+    @PostMapping
+    public ResponseEntity<EventoRespostaDTO> criar(@Valid @RequestBody EventoDTO eventoDTO) {
+        Evento criado = eventoService.criarEvento(eventoDTO.toEntity(), eventoDTO.usuarioId());
+        URI local = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(criado.getId())
+                .toUri();
+        return ResponseEntity.created(local).body(EventoRespostaDTO.de(criado));
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<EventoRespostaDTO> atualizar(@PathVariable Long id,
+                                                       @Valid @RequestBody EventoDTO eventoDTO,
+                                                       @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String seCorresponder) {
+        Evento atualizado = eventoService.atualizarEvento(
+                id, eventoDTO.toEntity(), eventoDTO.usuarioId(), Condicional.versaoEsperada(seCorresponder));
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(atualizado.getVersao()))
+                .body(EventoRespostaDTO.de(atualizado));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> excluir(@PathVariable Long id) {
+        eventoService.deletarEvento(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Exclusão em massa: corpo = lista de IDs ([1, 2, 3]); responde com o que foi excluído e o que não existia
+    @PostMapping("/exclusoes")
+    public RelatorioExclusaoDTO excluirVarios(@RequestBody List<Long> ids) {
+        return eventoService.excluirEventos(ids);
+    }
+}
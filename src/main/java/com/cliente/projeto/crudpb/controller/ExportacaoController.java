@@ -0,0 +1,86 @@
+package com.cliente.projeto.crudpb.controller;
+
+import com.cliente.projeto.crudpb.dto.ErroDTO;
+import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.service.ExportacaoService;
+import com.cliente.projeto.crudpb.service.FormatoArquivo;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.zip.GZIPOutputStream;
+
+/*
+ * Exportação em massa:
+ *   GET /eventos/export?formato=csv|ndjson[&gzip=true]
+ *   GET /usuarios/export?formato=csv|ndjson[&gzip=true]
+ * A resposta é escrita enquanto o banco é lido (sem Content-Length);
+ * com gzip=true o corpo sai com Content-Encoding: gzip.
+ */
+@RestController
+public class ExportacaoController {
+
+    private final ExportacaoService exportacaoService;
+
+    public ExportacaoController(ExportacaoService exportacaoService) {
+        this.exportacaoService = exportacaoService;
+    }
+
+    @GetMapping("/eventos/export")
+    public void exportarEventos(@RequestParam(defaultValue = "csv") String formato,
+                                @RequestParam(defaultValue = "false") boolean gzip,
+                                HttpServletResponse response) throws IOException {
+        FormatoArquivo formatoArquivo = FormatoArquivo.de(formato);
+        try (OutputStream saida = abrirSaida(response, "eventos", formatoArquivo, gzip)) {
+            exportacaoService.exportarEventos(formatoArquivo, saida);
+        }
+    }
+
+    @GetMapping("/usuarios/export")
+    public void exportarUsuarios(@RequestParam(defaultValue = "csv") String formato,
+                                 @RequestParam(defaultValue = "false") boolean gzip,
+                                 HttpServletResponse response) throws IOException {
+        FormatoArquivo formatoArquivo = FormatoArquivo.de(formato);
+        try (OutputStream saida = abrirSaida(response, "usuarios", formatoArquivo, gzip)) {
+            exportacaoService.exportarUsuarios(formatoArquivo, saida);
+        }
+    }
+
+    @ExceptionHandler(ValidacaoException.class)
+    public ResponseEntity<ErroDTO> formatoInvalido(ValidacaoException ex, HttpServletRequest request) {
+        ErroDTO erro = new ErroDTO(
+                Instant.now().toString(),
+                HttpStatus.BAD_REQUEST.value(),
+                "Formato Inválido",
+                ex.getMessage(),
+                request.getRequestURI()
+        );
+        return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
+    }
+
+    private OutputStream abrirSaida(HttpServletResponse response, String nome, FormatoArquivo formato, boolean gzip)
+            throws IOException {
+        response.setContentType(formato.tipoConteudo());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename(nome + "." + formato.extensao())
+                .build()
+                .toString());
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            return new GZIPOutputStream(response.getOutputStream(), 64 * 1024);
+        }
+        return response.getOutputStream();
+    }
+}
@@ -1,34 +1,64 @@
 package com.cliente.projeto.crudpb.controller;
 
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
 import com.cliente.projeto.crudpb.dto.UsuarioDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioListagemDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
 import com.cliente.projeto.crudpb.exception.ValidacaoException;
 import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.EstatisticasUsuarioService;
 import com.cliente.projeto.crudpb.service.UsuarioService;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.util.List;
+
 @Controller
 @RequestMapping("/usuarios") // Novo endpoint: /usuarios
 public class UsuarioController {
 
     private final UsuarioService usuarioService;
+    private final EstatisticasUsuarioService estatisticas;
 
     // Injeção via construtor
-    public UsuarioController(UsuarioService usuarioService) {
+    public UsuarioController(UsuarioService usuarioService, EstatisticasUsuarioService estatisticas) {
         this.usuarioService = usuarioService;
+        this.estatisticas = estatisticas;
     }
 
-    // READ (Listagem)
+    // READ (Listagem). Tabela inalterada desde a última visita = 304, sem carregar nem renderizar.
+    // Depois de um redirect com mensagem (flash) a página é sempre renderizada.
+    // A coluna "Eventos" vem dos contadores: a página também depende da versão deles.
     @GetMapping
-    public String listarUsuarios(Model model) {
-        model.addAttribute("usuarios", usuarioService.listarTodos());
+    public String listarUsuarios(@RequestParam(required = false) Long apos,
+                                 @RequestParam(required = false) Long antes,
+                                 Model model,
+                                 ServletWebRequest requisicao) {
+        if (!model.containsAttribute("mensagemSucesso") && Condicional.naoModificado(requisicao,
+                Condicional.etagPagina(usuarioService.versaoTabela().marcador(), estatisticas.versaoTotais().marcador()), null)) {
+            return null; // 304
+        }
+        // Paginação keyset, como em /eventos; usuários e totais vêm de uma consulta só por página
+        PaginaDTO<UsuarioListagemDTO> pagina = usuarioService.listarPagina(apos, antes, UsuarioService.TAMANHO_PAGINA_PADRAO);
+        model.addAttribute("usuarios", pagina.itens());
+        model.addAttribute("pagina", pagina);
         return "lista-usuarios"; // Novo HTML: 'lista-usuarios.html'
     }
 
+    // BUSCA (type-ahead do seletor de criador em form-evento.html)
+    @GetMapping(value = "/buscar", produces = MediaType.APPLICATION_JSON_VALUE)
+    @ResponseBody
+    public List<UsuarioResumoDTO> buscarUsuarios(@RequestParam(name = "q", defaultValue = "") String prefixo,
+                                                 @RequestParam(defaultValue = "10") int limite) {
+        return usuarioService.buscarPorPrefixo(prefixo, limite);
+    }
+
     // CREATE (Mostrar formulário)
     @GetMapping("/novo")
     public String mostrarFormularioNovo(Model model) {
@@ -63,12 +93,18 @@ public class UsuarioController {
 
     // UPDATE (Mostrar formulário de edição)
     @GetMapping("/editar/{id}")
-    public String mostrarFormularioEditar(@PathVariable Long id, Model model) {
+    public String mostrarFormularioEditar(@PathVariable Long id, Model model, ServletWebRequest requisicao) {
+        // GET condicional pela versão da linha (@Version), antes de carregar o usuário
+        if (Condicional.naoModificado(requisicao, Condicional.etagPagina(
+                Long.toString(usuarioService.versao(id).versao(), 36)), null)) {
+            return null; // 304
+        }
         Usuario usuario = usuarioService.buscarPorId(id); // Já lida com 404
         UsuarioDTO dto = new UsuarioDTO(usuario.getNome(), usuario.getEmail());
 
         model.addAttribute("usuarioDTO", dto);
         model.addAttribute("usuarioId", id);
+        model.addAttribute("versao", usuario.getVersao()); // volta no POST (campo oculto) para detectar edição concorrente
         model.addAttribute("pageTitle", "Editar Usuário");
         return "form-usuario";
     }
@@ -78,23 +114,26 @@ public class UsuarioController {
     public String atualizarUsuario(@PathVariable Long id,
                                      @Valid @ModelAttribute("usuarioDTO") UsuarioDTO usuarioDTO,
                                      BindingResult bindingResult,
+                                     @RequestParam(required = false) Long versao,
                                      Model model,
                                      RedirectAttributes redirectAttributes) {
 
         if (bindingResult.hasErrors()) {
             model.addAttribute("pageTitle", "Editar Usuário");
             model.addAttribute("usuarioId", id);
+            model.addAttribute("versao", versao);
             return "form-usuario";
         }
 
         try {
-            usuarioService.atualizarUsuario(id, usuarioDTO.toEntity());
+            usuarioService.atualizarUsuario(id, usuarioDTO.toEntity(), versao);
             redirectAttributes.addFlashAttribute("mensagemSucesso", "Usuário atualizado com sucesso!");
             return "redirect:/usuarios";
 
         } catch (ValidacaoException ex) {
             model.addAttribute("pageTitle", "Editar Usuário");
             model.addAttribute("usuarioId", id);
+            model.addAttribute("versao", versao);
             model.addAttribute("mensagemErro", ex.getMessage());
             return "form-usuario";
         }
@@ -0,0 +1,81 @@
+package com.cliente.projeto.crudpb.controller;
+
+import com.cliente.projeto.crudpb.dto.UsuarioDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
+import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.UsuarioService;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.net.URI;
+import java.util.List;
+
+/*
+ * API JSON de usuários, paralela ao UsuarioController (Thymeleaf).
+ * A listagem é a busca por prefixo do nome (limitada), não a tabela inteira;
+ * para um dump completo use GET /usuarios/export.
+ * ETag/If-Match seguem o EventoRestController (versão do registro).
+ */
+@RestController
+@RequestMapping("/api/usuarios")
+public class UsuarioRestController {
+
+    private final UsuarioService usuarioService;
+
+    public UsuarioRestController(UsuarioService usuarioService) {
+        this.usuarioService = usuarioService;
+    }
+
+    @GetMapping
+    public List<UsuarioResumoDTO> buscar(@RequestParam(name = "q", defaultValue = "") String prefixo,
+                                         @RequestParam(defaultValue = "" + UsuarioService.LIMITE_BUSCA_MAXIMO) int limite) {
+        return usuarioService.buscarPorPrefixo(prefixo, limite);
+    }
+
+    @GetMapping("/{id}")
+    public UsuarioResumoDTO buscarPorId(@PathVariable Long id, ServletWebRequest requisicao) {
+        VersaoRegistroDTO versao = usuarioService.versao(id); // 404 aqui se não existir
+        if (Condicional.naoModificado(requisicao, versao.etag(), versao.atualizadoEm())) {
+            return null; // 304
+        }
+        return usuarioService.buscarResumo(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Usuário não encontrado com ID: " + id));
+    }
+
+    @PostMapping
+    public ResponseEntity<UsuarioResumoDTO> criar(@Valid @RequestBody UsuarioDTO usuarioDTO) {
+        UsuarioResumoDTO criado = resumo(usuarioService.criarUsuario(usuarioDTO.toEntity()));
+        URI local = ServletUriComponentsBuilder.fromCurrentRequest()
+                .path("/{id}")
+                .buildAndExpand(criado.id())
+                .toUri();
+        return ResponseEntity.created(local).body(criado);
+    }
+
+    @PutMapping("/{id}")
+    public ResponseEntity<UsuarioResumoDTO> atualizar(@PathVariable Long id,
+                                                      @Valid @RequestBody UsuarioDTO usuarioDTO,
+                                                      @RequestHeader(name = HttpHeaders.IF_MATCH, required = false) String seCorresponder) {
+        Usuario atualizado = usuarioService.atualizarUsuario(
+                id, usuarioDTO.toEntity(), Condicional.versaoEsperada(seCorresponder));
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(atualizado.getVersao()))
+                .body(resumo(atualizado));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> excluir(@PathVariable Long id) {
+        usuarioService.deletarUsuario(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    private static UsuarioResumoDTO resumo(Usuario usuario) {
+        return new UsuarioResumoDTO(usuario.getId(), usuario.getNome(), usuario.getEmail());
+    }
+}
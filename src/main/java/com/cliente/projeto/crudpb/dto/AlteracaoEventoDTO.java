@@ -0,0 +1,16 @@
+package com.cliente.projeto.crudpb.dto;
+
+import com.cliente.projeto.crudpb.event.EventoAlteradoEvent.Tipo;
+
+/*
+ * Uma alteração de evento enviada às listagens abertas (SSE), já com o nome do
+ * criador: o navegador monta a linha sem consultar nada. 'sequencia' é a
+ * posição da alteração no fluxo desta instância; na exclusão só o ID vem preenchido.
+ */
+public record AlteracaoEventoDTO(long sequencia, Tipo tipo, Long id, String nome, String descricao, String criadorNome) {
+
+    // Mesma linha, outra posição: mantém a criação que o navegador ainda não recebeu
+    public AlteracaoEventoDTO comTipo(Tipo novoTipo) {
+        return new AlteracaoEventoDTO(sequencia, novoTipo, id, nome, descricao, criadorNome);
+    }
+}
@@ -0,0 +1,5 @@
+package com.cliente.projeto.crudpb.dto;
+
+// Erro de uma linha da importação em massa (a linha 1 do CSV é o cabeçalho)
+public record ErroLinhaDTO(long linha, String mensagem) {
+}
@@ -0,0 +1,12 @@
+package com.cliente.projeto.crudpb.dto;
+
+import com.cliente.projeto.crudpb.model.Evento;
+
+// Representação de um evento na API JSON (/api/eventos)
+public record EventoRespostaDTO(Long id, String nome, String descricao, Long usuarioId) {
+
+    public static EventoRespostaDTO de(Evento evento) {
+        // getId() de um proxy LAZY não dispara SELECT: o criador não é carregado
+        return new EventoRespostaDTO(evento.getId(), evento.getNome(), evento.getDescricao(), evento.getUsuario().getId());
+    }
+}
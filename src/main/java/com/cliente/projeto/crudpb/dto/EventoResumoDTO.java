@@ -0,0 +1,8 @@
+package com.cliente.projeto.crudpb.dto;
+
+/*
+ * Projeção "achatada" de Evento para listagens: traz o nome do criador
+ * na mesma consulta (JOIN), evitando um SELECT em 'usuarios' por linha (N+1).
+ */
+public record EventoResumoDTO(Long id, String nome, String descricao, String criadorNome) {
+}
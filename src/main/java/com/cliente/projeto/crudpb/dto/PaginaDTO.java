@@ -0,0 +1,31 @@
+package com.cliente.projeto.crudpb.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/*
+ * Página de uma listagem paginada por keyset ("seek") sobre o ID.
+ * Os cursores são os IDs da primeira e da última linha da página: a página
+ * seguinte começa depois de 'cursorProximo' e a anterior termina antes de
+ * 'cursorAnterior'. Um cursor nulo indica que não há página naquela direção.
+ */
+public record PaginaDTO<T>(List<T> itens, Long cursorAnterior, Long cursorProximo) {
+
+    // Monta a página a partir das linhas já em ordem crescente; 'id' extrai o cursor de cada linha
+    public static <T> PaginaDTO<T> de(List<T> itens, boolean temAnterior, boolean temProximo, Function<T, Long> id) {
+        if (itens.isEmpty()) {
+            return new PaginaDTO<>(itens, null, null);
+        }
+        Long cursorAnterior = temAnterior ? id.apply(itens.get(0)) : null;
+        Long cursorProximo = temProximo ? id.apply(itens.get(itens.size() - 1)) : null;
+        return new PaginaDTO<>(itens, cursorAnterior, cursorProximo);
+    }
+
+    public boolean temAnterior() {
+        return cursorAnterior != null;
+    }
+
+    public boolean temProximo() {
+        return cursorProximo != null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.cliente.projeto.crudpb.dto;
+
+import java.time.Instant;
+import java.util.Map;
+
+/*
+ * Uma alteração confirmada de Evento/Usuario no diário de auditoria.
+ * 'sequencia' é dada pelo diário na gravação (0 enquanto está na fila);
+ * 'autor' é o IP de quem fez a requisição, ou "sistema" fora de uma.
+ * 'dados' são os campos depois da alteração (vazio na exclusão).
+ */
+public record RegistroAuditoriaDTO(long sequencia, Instant instante, Entidade entidade, Operacao operacao,
+                                   long entidadeId, String autor, Map<String, String> dados) {
+
+    public enum Entidade { EVENTO, USUARIO }
+
+    public enum Operacao { CRIACAO, ATUALIZACAO, EXCLUSAO }
+
+    public RegistroAuditoriaDTO comSequencia(long sequencia) {
+        return new RegistroAuditoriaDTO(sequencia, instante, entidade, operacao, entidadeId, autor, dados);
+    }
+}
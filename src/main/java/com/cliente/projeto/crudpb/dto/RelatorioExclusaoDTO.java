@@ -0,0 +1,11 @@
+package com.cliente.projeto.crudpb.dto;
+
+import java.util.List;
+
+/*
+ * Resultado da exclusão em massa de eventos. 'solicitados' conta os IDs
+ * distintos recebidos; os que não existiam aparecem em 'naoEncontrados'
+ * (a exclusão dos demais não é desfeita por causa deles).
+ */
+public record RelatorioExclusaoDTO(int solicitados, int excluidos, List<Long> naoEncontrados) {
+}
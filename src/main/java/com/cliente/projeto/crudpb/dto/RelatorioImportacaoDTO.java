@@ -0,0 +1,16 @@
+package com.cliente.projeto.crudpb.dto;
+
+import java.util.List;
+
+/*
+ * Resultado da importação em massa: as linhas válidas são gravadas e as
+ * inválidas aparecem em 'erros'. A lista é limitada para não crescer com
+ * o arquivo; 'errosOmitidos' conta o que ficou de fora.
+ */
+public record RelatorioImportacaoDTO(
+        long linhasLidas,
+        long importados,
+        List<ErroLinhaDTO> erros,
+        long errosOmitidos
+) {
+}
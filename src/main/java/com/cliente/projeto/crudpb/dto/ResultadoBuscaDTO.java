@@ -0,0 +1,15 @@
+package com.cliente.projeto.crudpb.dto;
+
+import java.util.List;
+
+/*
+ * Uma página da busca textual, em ordem de relevância. Ao contrário da
+ * listagem (keyset por ID), a ordem aqui é a do ranking, então a paginação
+ * é por número de página; 'temProxima' vem de buscar uma linha a mais.
+ */
+public record ResultadoBuscaDTO(List<EventoResumoDTO> itens, String termos, int pagina, boolean temProxima) {
+
+    public boolean temAnterior() {
+        return pagina > 0;
+    }
+}
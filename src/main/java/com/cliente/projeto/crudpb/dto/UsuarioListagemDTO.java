@@ -0,0 +1,9 @@
+package com.cliente.projeto.crudpb.dto;
+
+/*
+ * Linha da listagem de usuários: os dados do usuário e o total de eventos
+ * (usuario_estatisticas) vêm da mesma consulta (LEFT JOIN), uma por página.
+ * Usuário sem linha de estatísticas aparece com 0.
+ */
+public record UsuarioListagemDTO(Long id, String nome, String email, Long totalEventos) {
+}
@@ -0,0 +1,12 @@
+package com.cliente.projeto.crudpb.dto;
+
+/*
+ * Projeção leve de Usuario (sem carregar a entidade) usada na busca
+ * por prefixo do seletor de criador e no pré-carregamento do formulário.
+ */
+public record UsuarioResumoDTO(Long id, String nome, String email) {
+
+    public String rotulo() {
+        return nome + " (" + email + ")";
+    }
+}
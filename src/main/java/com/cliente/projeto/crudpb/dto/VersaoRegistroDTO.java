@@ -0,0 +1,15 @@
+package com.cliente.projeto.crudpb.dto;
+
+import java.time.Instant;
+
+/*
+ * Versão otimista (@Version) e data de alteração de um registro, lidas sem
+ * carregar a entidade. Viram o ETag ("versao") e o Last-Modified do GET
+ * condicional, e o ETag é o que o cliente devolve no If-Match do PUT.
+ */
+public record VersaoRegistroDTO(Long versao, Instant atualizadoEm) {
+
+    public String etag() {
+        return "\"" + versao + "\"";
+    }
+}
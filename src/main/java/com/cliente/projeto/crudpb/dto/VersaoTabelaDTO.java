@@ -0,0 +1,14 @@
+package com.cliente.projeto.crudpb.dto;
+
+/*
+ * "Versão" de uma tabela inteira, para o ETag das listagens: o valor da
+ * sequência da tabela, que toda escrita avança depois do commit.
+ * Só ETag (sem Last-Modified): a versão não é uma data.
+ */
+public record VersaoTabelaDTO(long versao) {
+
+    // Valor opaco, sem aspas: quem monta o ETag decide como combinar as tabelas
+    public String marcador() {
+        return Long.toString(versao, 36);
+    }
+}
@@ -0,0 +1,31 @@
+package com.cliente.projeto.crudpb.event;
+
+import com.cliente.projeto.crudpb.model.Evento;
+
+/*
+ * Evento de domínio publicado (ApplicationEventPublisher) a cada evento
+ * criado, atualizado ou removido. Leva só dados simples — nunca a entidade —
+ * para que os ouvintes possam rodar depois do commit, fora da sessão JPA.
+ */
+public record EventoAlteradoEvent(Tipo tipo, Long id, String nome, String descricao, Long usuarioId) {
+
+    public enum Tipo { CRIADO, ATUALIZADO, REMOVIDO }
+
+    public static EventoAlteradoEvent criado(Evento evento) {
+        return de(Tipo.CRIADO, evento);
+    }
+
+    public static EventoAlteradoEvent atualizado(Evento evento) {
+        return de(Tipo.ATUALIZADO, evento);
+    }
+
+    // A exclusão é feita por ID, sem carregar a linha: só o ID é conhecido
+    public static EventoAlteradoEvent removido(Long id) {
+        return new EventoAlteradoEvent(Tipo.REMOVIDO, id, null, null, null);
+    }
+
+    private static EventoAlteradoEvent de(Tipo tipo, Evento evento) {
+        Long usuarioId = evento.getUsuario() != null ? evento.getUsuario().getId() : null;
+        return new EventoAlteradoEvent(tipo, evento.getId(), evento.getNome(), evento.getDescricao(), usuarioId);
+    }
+}
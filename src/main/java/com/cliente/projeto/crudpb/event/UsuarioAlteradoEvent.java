@@ -0,0 +1,25 @@
+package com.cliente.projeto.crudpb.event;
+
+import com.cliente.projeto.crudpb.model.Usuario;
+
+/*
+ * Publicado a cada usuário criado, atualizado ou removido, nos moldes do
+ * EventoAlteradoEvent: só dados simples, para ouvintes depois do commit.
+ */
+public record UsuarioAlteradoEvent(Tipo tipo, Long id, String nome, String email) {
+
+    public enum Tipo { CRIADO, ATUALIZADO, REMOVIDO }
+
+    public static UsuarioAlteradoEvent criado(Usuario usuario) {
+        return new UsuarioAlteradoEvent(Tipo.CRIADO, usuario.getId(), usuario.getNome(), usuario.getEmail());
+    }
+
+    public static UsuarioAlteradoEvent atualizado(Usuario usuario) {
+        return new UsuarioAlteradoEvent(Tipo.ATUALIZADO, usuario.getId(), usuario.getNome(), usuario.getEmail());
+    }
+
+    // Exclusão por ID, como a de eventos
+    public static UsuarioAlteradoEvent removido(Long id) {
+        return new UsuarioAlteradoEvent(Tipo.REMOVIDO, id, null, null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.cliente.projeto.crudpb.exception;
+
+/*
+ * O registro mudou desde que o cliente o leu (If-Match com versão antiga ou
+ * UPDATE barrado pelo @Version). É uma ValidacaoException para que os
+ * formulários Thymeleaf mostrem a mensagem como as demais regras; na API JSON
+ * o GlobalExceptionHandler responde 412 (Precondition Failed).
+ */
+public class ConflitoVersaoException extends ValidacaoException {
+
+    public ConflitoVersaoException(String message) {
+        super(message);
+    }
+}
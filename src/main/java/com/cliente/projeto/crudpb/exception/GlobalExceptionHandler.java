@@ -1,11 +1,14 @@
 package com.cliente.projeto.crudpb.exception;
 
+import com.cliente.projeto.crudpb.config.MetricasConfig;
 import com.cliente.projeto.crudpb.dto.ErroDTO;
+import io.micrometer.core.instrument.Metrics;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -27,6 +30,7 @@ public class GlobalExceptionHandler {
                 .collect(Collectors.joining(", "));
 
         log.warn("Erro de validação na rota {}: {}", request.getRequestURI(), mensagem);
+        contarErro("validacao");
 
         ErroDTO erro = new ErroDTO(
                 Instant.now().toString(),
@@ -38,11 +42,44 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(erro, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(RecursoNaoEncontradoException.class)
+    public ResponseEntity<ErroDTO> handleNotFound(RecursoNaoEncontradoException ex, HttpServletRequest request) {
+        log.warn("Recurso não encontrado na rota {}: {}", request.getRequestURI(), ex.getMessage());
+        contarErro("nao_encontrado");
+        return montarErro(HttpStatus.NOT_FOUND, "Não Encontrado", ex.getMessage(), request);
+    }
+
+    // If-Match com versão antiga, ou o registro foi alterado por outra requisição no meio do caminho
+    @ExceptionHandler(ConflitoVersaoException.class)
+    public ResponseEntity<ErroDTO> handleVersionConflict(ConflitoVersaoException ex, HttpServletRequest request) {
+        log.warn("Conflito de versão na rota {}: {}", request.getRequestURI(), ex.getMessage());
+        contarErro("versao");
+        return montarErro(HttpStatus.PRECONDITION_FAILED, "Pré-condição Falhou", ex.getMessage(), request);
+    }
+
+    // Regra de negócio violada (ex.: nome/e-mail já em uso). Os controllers Thymeleaf
+    // tratam a exceção no próprio formulário; aqui chegam as chamadas da API JSON.
+    @ExceptionHandler(ValidacaoException.class)
+    public ResponseEntity<ErroDTO> handleBusinessRule(ValidacaoException ex, HttpServletRequest request) {
+        log.warn("Regra de negócio violada na rota {}: {}", request.getRequestURI(), ex.getMessage());
+        contarErro("conflito");
+        return montarErro(HttpStatus.CONFLICT, "Conflito", ex.getMessage(), request);
+    }
+
+    // Corpo JSON ausente ou mal formado
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErroDTO> handleUnreadableBody(HttpMessageNotReadableException ex, HttpServletRequest request) {
+        log.warn("Corpo da requisição inválido na rota {}: {}", request.getRequestURI(), ex.getMessage());
+        contarErro("requisicao_invalida");
+        return montarErro(HttpStatus.BAD_REQUEST, "Requisição Inválida", "O corpo da requisição está ausente ou mal formado.", request);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErroDTO> handleGenericException(Exception ex, HttpServletRequest request) {
         String correlationId = UUID.randomUUID().toString();
 
         log.error("Erro inesperado [ID: {}] na rota {}: {}", correlationId, request.getRequestURI(), ex.getMessage(), ex);
+        contarErro("inesperado");
 
         String mensagemSegura = "Ocorreu um erro inesperado no sistema. Por favor, tente novamente. ID da falha: " + correlationId;
 
@@ -55,4 +92,15 @@ public class GlobalExceptionHandler {
         );
         return new ResponseEntity<>(erro, HttpStatus.INTERNAL_SERVER_ERROR);
     }
-}
\ No newline at end of file
+
+    // Registro global do Micrometer: o Spring Boot pendura nele o registro da aplicação
+    // (management.metrics.use-global-registry), então o handler continua sem dependências
+    private static void contarErro(String tipo) {
+        Metrics.counter(MetricasConfig.METRICA_ERROS, "tipo", tipo).increment();
+    }
+
+    private ResponseEntity<ErroDTO> montarErro(HttpStatus status, String titulo, String mensagem, HttpServletRequest request) {
+        ErroDTO erro = new ErroDTO(Instant.now().toString(), status.value(), titulo, mensagem, request.getRequestURI());
+        return new ResponseEntity<>(erro, status);
+    }
+}
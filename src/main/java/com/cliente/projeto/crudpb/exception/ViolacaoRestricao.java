@@ -0,0 +1,32 @@
+package com.cliente.projeto.crudpb.exception;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.Locale;
+
+/*
+ * Utilitário para descobrir qual restrição do banco (unique, FK...) causou
+ * uma DataIntegrityViolationException. O nome da restrição aparece na cadeia
+ * de causas tanto no H2 quanto no PostgreSQL (em maiúsculas no H2).
+ */
+public final class ViolacaoRestricao {
+
+    private ViolacaoRestricao() {
+    }
+
+    public static boolean envolve(DataIntegrityViolationException ex, String nomeRestricao) {
+        String procurado = nomeRestricao.toLowerCase(Locale.ROOT);
+        for (Throwable causa = ex; causa != null; causa = causa.getCause()) {
+            if (causa instanceof org.hibernate.exception.ConstraintViolationException violacao
+                    && violacao.getConstraintName() != null
+                    && violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(procurado)) {
+                return true;
+            }
+            String mensagem = causa.getMessage();
+            if (mensagem != null && mensagem.toLowerCase(Locale.ROOT).contains(procurado)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
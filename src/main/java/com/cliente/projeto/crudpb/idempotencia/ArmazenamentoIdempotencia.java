@@ -0,0 +1,19 @@
+package com.cliente.projeto.crudpb.idempotencia;
+
+/*
+ * Onde o IdempotenciaFilter guarda as chaves: em memória (uma instância só) ou
+ * no banco (várias instâncias atrás do balanceador). A chave já vem com método
+ * e rota ("POST /api/eventos <Idempotency-Key>").
+ */
+public interface ArmazenamentoIdempotencia {
+
+    // null se a chave ficou reservada para quem chamou (nova, ou a anterior venceu);
+    // senão, o registro que já existe (em andamento ou concluído)
+    RegistroIdempotencia reservar(String chave);
+
+    // Guarda a resposta da requisição que reservou a chave (a expiração é do armazenamento)
+    void concluir(String chave, RegistroIdempotencia resposta);
+
+    // Desiste da reserva: a requisição falhou, a próxima com a mesma chave executa de novo
+    void liberar(String chave);
+}
@@ -0,0 +1,62 @@
+package com.cliente.projeto.crudpb.idempotencia;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/*
+ * Chaves em um Caffeine limitado por quantidade e por tempo (ttl). A reserva é
+ * um putIfAbsent: de duas requisições simultâneas com a mesma chave, só uma
+ * executa. Uma reserva que passou de 'tempoEmAndamento' (instância que caiu no
+ * meio, requisição travada) pode ser tomada pela próxima.
+ */
+public class IdempotenciaEmMemoria implements ArmazenamentoIdempotencia {
+
+    private final ConcurrentMap<String, RegistroIdempotencia> registros;
+    private final Duration ttl;
+    private final Duration tempoEmAndamento;
+    private final Supplier<Instant> relogio;
+
+    public IdempotenciaEmMemoria(long maxRegistros, Duration ttl, Duration tempoEmAndamento, Supplier<Instant> relogio) {
+        this.registros = Caffeine.newBuilder()
+                .maximumSize(maxRegistros)
+                .expireAfterWrite(ttl)
+                .<String, RegistroIdempotencia>build()
+                .asMap();
+        this.ttl = ttl;
+        this.tempoEmAndamento = tempoEmAndamento;
+        this.relogio = relogio;
+    }
+
+    @Override
+    public RegistroIdempotencia reservar(String chave) {
+        Instant agora = relogio.get();
+        RegistroIdempotencia reserva = RegistroIdempotencia.emAndamento(agora.plus(tempoEmAndamento));
+        while (true) {
+            RegistroIdempotencia existente = registros.putIfAbsent(chave, reserva);
+            if (existente == null) {
+                return null;
+            }
+            if (!existente.venceuEm(agora)) {
+                return existente;
+            }
+            if (registros.replace(chave, existente, reserva)) {
+                return null;
+            }
+            // outra requisição mexeu na chave entre a leitura e a troca: confere de novo
+        }
+    }
+
+    @Override
+    public void concluir(String chave, RegistroIdempotencia resposta) {
+        registros.put(chave, resposta.comExpiracao(relogio.get().plus(ttl)));
+    }
+
+    @Override
+    public void liberar(String chave) {
+        registros.computeIfPresent(chave, (k, registro) -> registro.emAndamento() ? null : registro);
+    }
+}
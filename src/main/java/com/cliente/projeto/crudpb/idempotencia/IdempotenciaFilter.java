@@ -0,0 +1,227 @@
+package com.cliente.projeto.crudpb.idempotencia;
+
+import com.cliente.projeto.crudpb.config.MetricasConfig;
+import com.cliente.projeto.crudpb.dto.ErroDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingRequestWrapper;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.TreeMap;
+
+/*
+ * Criações (POST /eventos, /usuarios, /api/eventos, /api/usuarios) com
+ * Idempotency-Key: a primeira requisição executa e a resposta de sucesso fica
+ * guardada; as repetições com a mesma chave recebem essa mesma resposta
+ * (status, Location e corpo, com Idempotency-Replayed: true) sem chegar ao
+ * controller, então um clique duplo ou um retry depois de timeout não cria duas vezes.
+ *
+ *   - mesma chave com outro conteúdo: 422 (a chave foi reaproveitada por engano);
+ *   - mesma chave com a primeira ainda executando: 409 com Retry-After;
+ *   - primeira não criou nada: nada fica guardado e a próxima tentativa executa
+ *     de novo. Só contam como criação o 201 da API e o redirect (302/303) do
+ *     formulário; o 200 de um formulário re-renderizado com erro de validação
+ *     não é guardado, assim como 4xx/5xx ou exceção.
+ *
+ * Formulários HTML não mandam cabeçalhos: as telas enviam a chave no campo
+ * oculto 'chaveIdempotencia', gerado a cada renderização do formulário.
+ * Sem chave, a requisição passa direto, como antes.
+ */
+public class IdempotenciaFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotenciaFilter.class);
+
+    public static final String CABECALHO = "Idempotency-Key";
+    public static final String CABECALHO_REPETIDA = "Idempotency-Replayed";
+    public static final String PARAMETRO = "chaveIdempotencia";
+
+    static final int TAMANHO_MAXIMO_CHAVE = 255;
+    // Respostas (e corpos de requisição) maiores que isso não são guardadas
+    static final int LIMITE_CORPO = 64 * 1024;
+    private static final long RETRY_AFTER_EM_ANDAMENTO = 1;
+
+    private final ArmazenamentoIdempotencia armazenamento;
+    private final ObjectMapper objectMapper;
+    private final Counter executadas;
+    private final Counter repetidas;
+    private final Counter emAndamento;
+    private final Counter divergentes;
+
+    public IdempotenciaFilter(ArmazenamentoIdempotencia armazenamento, ObjectMapper objectMapper, MeterRegistry registro) {
+        this.armazenamento = armazenamento;
+        this.objectMapper = objectMapper;
+        this.executadas = contador(registro, "executada");
+        this.repetidas = contador(registro, "repetida");
+        this.emAndamento = contador(registro, "em_andamento");
+        this.divergentes = contador(registro, "divergente");
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.POST.matches(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean formulario = formulario(request);
+        String chave = formulario ? request.getParameter(PARAMETRO) : request.getHeader(CABECALHO);
+        if (chave == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            responderErro(request, response, HttpStatus.BAD_REQUEST, "Requisição Inválida",
+                    "A chave de idempotência deve ter de 1 a " + TAMANHO_MAXIMO_CHAVE + " caracteres.");
+            return;
+        }
+
+        String escopo = request.getMethod() + " " + request.getRequestURI() + " " + chave;
+        RegistroIdempotencia existente = armazenamento.reservar(escopo);
+        if (existente != null) {
+            repetir(request, response, formulario, existente);
+            return;
+        }
+
+        // O corpo JSON é lido pelo controller: a cópia feita no caminho serve para a impressão
+        ContentCachingRequestWrapper requisicao = new ContentCachingRequestWrapper(request, LIMITE_CORPO);
+        ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+        boolean concluida = false;
+        try {
+            chain.doFilter(requisicao, resposta);
+            if (concluiu(resposta.getStatus()) && resposta.getContentSize() <= LIMITE_CORPO) {
+                byte[] corpo = null;
+                if (!formulario) {
+                    StreamUtils.drain(requisicao.getInputStream()); // o que o conversor JSON não chegou a ler
+                    corpo = requisicao.getContentAsByteArray();
+                }
+                armazenamento.concluir(escopo, new RegistroIdempotencia(
+                        impressao(request, corpo), resposta.getStatus(), resposta.getContentType(),
+                        resposta.getHeader(HttpHeaders.LOCATION), resposta.getContentAsByteArray(), null));
+                concluida = true;
+                executadas.increment();
+            }
+        } finally {
+            if (!concluida) {
+                armazenamento.liberar(escopo);
+            }
+            resposta.copyBodyToResponse();
+        }
+    }
+
+    private void repetir(HttpServletRequest request, HttpServletResponse response, boolean formulario,
+                         RegistroIdempotencia existente) throws IOException {
+        if (existente.emAndamento()) {
+            emAndamento.increment();
+            log.warn("Chave de idempotência ainda em andamento na rota {}", request.getRequestURI());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(RETRY_AFTER_EM_ANDAMENTO));
+            responderErro(request, response, HttpStatus.CONFLICT, "Conflito",
+                    "Uma requisição com esta chave de idempotência ainda está em andamento. Tente novamente em instantes.");
+            return;
+        }
+        byte[] corpo = formulario ? null : lerCorpo(request);
+        if (!existente.impressao().equals(impressao(request, corpo))) {
+            divergentes.increment();
+            log.warn("Chave de idempotência reaproveitada com outro conteúdo na rota {}", request.getRequestURI());
+            responderErro(request, response, HttpStatus.UNPROCESSABLE_ENTITY, "Chave de Idempotência Reutilizada",
+                    "Esta chave de idempotência já foi usada com outro conteúdo. Gere uma nova chave para uma nova requisição.");
+            return;
+        }
+        repetidas.increment();
+        response.setStatus(existente.status());
+        response.setHeader(CABECALHO_REPETIDA, "true");
+        if (existente.localRecurso() != null) {
+            response.setHeader(HttpHeaders.LOCATION, existente.localRecurso());
+        }
+        if (existente.tipoConteudo() != null) {
+            response.setContentType(existente.tipoConteudo());
+        }
+        response.setContentLength(existente.corpo().length);
+        response.getOutputStream().write(existente.corpo());
+    }
+
+    private void responderErro(HttpServletRequest request, HttpServletResponse response, HttpStatus status,
+                               String titulo, String mensagem) throws IOException {
+        ErroDTO erro = new ErroDTO(Instant.now().toString(), status.value(), titulo, mensagem, request.getRequestURI());
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), erro);
+    }
+
+    /*
+     * SHA-256 do que foi enviado: os campos do formulário em ordem de nome (sem a
+     * própria chave) quando corpo é nulo, ou os bytes do corpo.
+     */
+    private static String impressao(HttpServletRequest request, byte[] corpo) {
+        MessageDigest sha256 = sha256();
+        if (corpo == null) {
+            Map<String, String[]> campos = new TreeMap<>(request.getParameterMap());
+            campos.remove(PARAMETRO);
+            campos.forEach((nome, valores) -> {
+                sha256.update(nome.getBytes(StandardCharsets.UTF_8));
+                for (String valor : valores) {
+                    sha256.update((byte) 0);
+                    sha256.update(valor.getBytes(StandardCharsets.UTF_8));
+                }
+                sha256.update((byte) '\n');
+            });
+        } else {
+            sha256.update(corpo);
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    // Só os primeiros LIMITE_CORPO bytes, como na cópia da primeira requisição
+    private static byte[] lerCorpo(HttpServletRequest request) throws IOException {
+        byte[] corpo = request.getInputStream().readNBytes(LIMITE_CORPO);
+        StreamUtils.drain(request.getInputStream());
+        return corpo;
+    }
+
+    private static boolean concluiu(int status) {
+        return status == HttpStatus.CREATED.value() || status == HttpStatus.FOUND.value()
+                || status == HttpStatus.SEE_OTHER.value();
+    }
+
+    private static boolean formulario(HttpServletRequest request) {
+        String tipo = request.getContentType();
+        return tipo != null && tipo.regionMatches(true, 0, MediaType.APPLICATION_FORM_URLENCODED_VALUE, 0,
+                MediaType.APPLICATION_FORM_URLENCODED_VALUE.length());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 indisponível na JVM", ex);
+        }
+    }
+
+    private static Counter contador(MeterRegistry registro, String resultado) {
+        return Counter.builder(MetricasConfig.METRICA_IDEMPOTENCIA)
+                .description("Criações com Idempotency-Key executadas, repetidas, em andamento e com conteúdo divergente")
+                .tag("resultado", resultado)
+                .register(registro);
+    }
+}
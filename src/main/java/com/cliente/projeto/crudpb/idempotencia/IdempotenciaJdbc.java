@@ -0,0 +1,107 @@
+package com.cliente.projeto.crudpb.idempotencia;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.Supplier;
+
+/*
+ * Chaves na tabela idempotencia (migração V5), compartilhadas entre as instâncias.
+ * A reserva é o INSERT: a chave primária garante que só uma requisição executa.
+ * Se a linha que já existe venceu, ela é apagada (só se continuar a mesma, pela
+ * expira_em lida) e o INSERT é tentado de novo. Os vencidos são apagados de
+ * tempos em tempos (crudpb.idempotencia.intervalo-limpeza).
+ *
+ * Fora de transação de propósito: cada comando confirma sozinho, e a reserva fica
+ * visível para as outras instâncias antes de a requisição começar a executar.
+ */
+public class IdempotenciaJdbc implements ArmazenamentoIdempotencia {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotenciaJdbc.class);
+
+    private static final int TENTATIVAS_RESERVA = 3;
+
+    private static final RowMapper<RegistroIdempotencia> MAPEADOR = (rs, linha) -> new RegistroIdempotencia(
+            rs.getString("impressao"),
+            rs.getInt("status"), // NULL vira 0 = em andamento
+            rs.getString("tipo_conteudo"),
+            rs.getString("local_recurso"),
+            rs.getBytes("corpo"),
+            rs.getObject("expira_em", OffsetDateTime.class).toInstant());
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Duration ttl;
+    private final Duration tempoEmAndamento;
+    private final Supplier<Instant> relogio;
+
+    public IdempotenciaJdbc(JdbcTemplate jdbcTemplate, Duration ttl, Duration tempoEmAndamento, Supplier<Instant> relogio) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.ttl = ttl;
+        this.tempoEmAndamento = tempoEmAndamento;
+        this.relogio = relogio;
+    }
+
+    @Override
+    public RegistroIdempotencia reservar(String chave) {
+        Instant agora = relogio.get();
+        for (int tentativa = 0; tentativa < TENTATIVAS_RESERVA; tentativa++) {
+            try {
+                jdbcTemplate.update("INSERT INTO idempotencia (chave, expira_em) VALUES (?, ?)",
+                        chave, instante(agora.plus(tempoEmAndamento)));
+                return null;
+            } catch (DuplicateKeyException ex) {
+                // já existe: confere se ainda vale
+            }
+            List<RegistroIdempotencia> existentes = jdbcTemplate.query(
+                    "SELECT impressao, status, tipo_conteudo, local_recurso, corpo, expira_em FROM idempotencia WHERE chave = ?",
+                    MAPEADOR, chave);
+            if (existentes.isEmpty()) {
+                continue; // liberada entre o INSERT e o SELECT
+            }
+            RegistroIdempotencia existente = existentes.get(0);
+            if (!existente.venceuEm(agora)) {
+                return existente;
+            }
+            jdbcTemplate.update("DELETE FROM idempotencia WHERE chave = ? AND expira_em = ?",
+                    chave, instante(existente.expiraEm()));
+        }
+        // disputa contínua pela mesma chave: quem chamou trata como em andamento
+        return RegistroIdempotencia.emAndamento(agora);
+    }
+
+    @Override
+    public void concluir(String chave, RegistroIdempotencia resposta) {
+        jdbcTemplate.update("""
+                        UPDATE idempotencia
+                        SET impressao = ?, status = ?, tipo_conteudo = ?, local_recurso = ?, corpo = ?, expira_em = ?
+                        WHERE chave = ?""",
+                resposta.impressao(), resposta.status(), resposta.tipoConteudo(), resposta.localRecurso(),
+                resposta.corpo(), instante(relogio.get().plus(ttl)), chave);
+    }
+
+    @Override
+    public void liberar(String chave) {
+        jdbcTemplate.update("DELETE FROM idempotencia WHERE chave = ? AND status IS NULL", chave);
+    }
+
+    @Scheduled(fixedDelayString = "${crudpb.idempotencia.intervalo-limpeza:10m}",
+            initialDelayString = "${crudpb.idempotencia.intervalo-limpeza:10m}")
+    public int limparVencidos() {
+        int apagados = jdbcTemplate.update("DELETE FROM idempotencia WHERE expira_em <= ?", instante(relogio.get()));
+        log.debug("{} chaves de idempotência vencidas apagadas", apagados);
+        return apagados;
+    }
+
+    private static OffsetDateTime instante(Instant instante) {
+        return OffsetDateTime.ofInstant(instante, ZoneOffset.UTC);
+    }
+}
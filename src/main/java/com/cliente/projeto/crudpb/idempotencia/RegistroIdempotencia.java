@@ -0,0 +1,30 @@
+package com.cliente.projeto.crudpb.idempotencia;
+
+import java.time.Instant;
+
+/*
+ * O que ficou guardado para uma chave: a resposta da primeira requisição
+ * (status, Content-Type, Location e corpo) e a impressão do que ela enviou,
+ * para recusar a mesma chave com outro conteúdo. Status 0 = ainda em andamento.
+ */
+public record RegistroIdempotencia(String impressao, int status, String tipoConteudo, String localRecurso,
+                                   byte[] corpo, Instant expiraEm) {
+
+    static final int EM_ANDAMENTO = 0;
+
+    static RegistroIdempotencia emAndamento(Instant expiraEm) {
+        return new RegistroIdempotencia(null, EM_ANDAMENTO, null, null, null, expiraEm);
+    }
+
+    public boolean emAndamento() {
+        return status == EM_ANDAMENTO;
+    }
+
+    boolean venceuEm(Instant agora) {
+        return !expiraEm.isAfter(agora);
+    }
+
+    RegistroIdempotencia comExpiracao(Instant novaExpiracao) {
+        return new RegistroIdempotencia(impressao, status, tipoConteudo, localRecurso, corpo, novaExpiracao);
+    }
+}
@@ -0,0 +1,40 @@
+package com.cliente.projeto.crudpb.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
+
+/*
+ * Contadores de um usuário (hoje só o total de eventos criados por ele).
+ * Tabela à parte: os incrementos não tocam a linha de 'usuarios', então não
+ * mudam a versão (@Version/ETag) do usuário nem disputam a trava dela.
+ * A linha é apagada junto com o usuário (ON DELETE CASCADE na migração).
+ */
+@Entity
+@Table(name = "usuario_estatisticas")
+public class EstatisticaUsuario {
+
+    @Id
+    @Column(name = "usuario_id")
+    private Long usuarioId;
+
+    @ColumnDefault("0")
+    @Column(name = "total_eventos", nullable = false)
+    private long totalEventos;
+
+    // Construtores
+    protected EstatisticaUsuario() {}
+
+    public EstatisticaUsuario(Long usuarioId, long totalEventos) {
+        this.usuarioId = usuarioId;
+        this.totalEventos = totalEventos;
+    }
+
+    // Getters
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public long getTotalEventos() {
+        return totalEventos;
+    }
+}
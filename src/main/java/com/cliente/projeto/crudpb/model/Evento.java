@@ -4,13 +4,26 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "eventos")
+// A unicidade do nome é garantida pelo banco (a restrição também cria o índice usado nas buscas por nome)
+// O índice em 'atualizado_em' atende o max() da versão da tabela (ETag da listagem) sem varrer a tabela
+@Table(name = "eventos",
+        uniqueConstraints = @UniqueConstraint(name = Evento.RESTRICAO_NOME_UNICO, columnNames = "nome"),
+        indexes = @Index(name = "idx_eventos_atualizado_em", columnList = "atualizado_em"))
 public class Evento {
 
+    public static final String RESTRICAO_NOME_UNICO = "uk_eventos_nome";
+
+    // Sequência com alocação em blocos (pooled): o Hibernate reserva 50 IDs por ida ao banco
+    // e, ao contrário de IDENTITY, consegue agrupar os INSERTs em lotes JDBC (importação em massa).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_seq")
+    @SequenceGenerator(name = "eventos_seq", sequenceName = "eventos_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "O nome é obrigatório.")
@@ -35,6 +48,22 @@ public class Evento {
     @NotNull(message = "O criador (usuário) é obrigatório.")
     private Usuario usuario;
 
+    /*
+     * Controle de concorrência otimista: o Hibernate inclui "where versao = ?"
+     * no UPDATE e incrementa o valor. A mesma versão vira o ETag do registro
+     * (GET condicional e If-Match no PUT). O default 0 cobre linhas gravadas
+     * direto por SQL (importações, cargas de teste).
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    // Preenchido pelo Hibernate no INSERT e em cada UPDATE (Last-Modified)
+    @UpdateTimestamp
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;
+
     // Construtores
     public Evento() {}
 
@@ -73,4 +102,13 @@ public class Evento {
     public void setUsuario(Usuario usuario) {
         this.usuario = usuario;
     }
-}
\ No newline at end of file
+
+    // Versão e data são do banco: só leitura
+    public Long getVersao() {
+        return versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+}
@@ -4,11 +4,25 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.Instant;
 
 @Entity
-@Table(name = "usuarios")
+// A busca por prefixo do seletor de criador (lower(nome) LIKE 'abc%') usa o índice por expressão
+// da migração V7, que não dá para declarar aqui; o índice em 'nome' vem do esquema inicial.
+// A restrição única do e-mail tem nome fixo para o serviço reconhecer a violação.
+@Table(name = "usuarios",
+        uniqueConstraints = @UniqueConstraint(name = Usuario.RESTRICAO_EMAIL_UNICO, columnNames = "email"),
+        indexes = {
+                @Index(name = "idx_usuarios_nome", columnList = "nome"),
+                @Index(name = "idx_usuarios_atualizado_em", columnList = "atualizado_em")
+        })
 public class Usuario {
 
+    public static final String RESTRICAO_EMAIL_UNICO = "uk_usuarios_email";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -20,9 +34,19 @@ public class Usuario {
 
     @NotBlank(message = "O e-mail é obrigatório.")
     @Email(message = "Formato de e-mail inválido.")
-    @Column(nullable = false, unique = true, length = 100)
+    @Column(nullable = false, length = 100)
     private String email;
 
+    // Mesmo esquema de Evento: versão otimista (ETag/If-Match) e data da última alteração
+    @Version
+    @ColumnDefault("0")
+    @Column(name = "versao", nullable = false)
+    private Long versao;
+
+    @UpdateTimestamp
+    @Column(name = "atualizado_em")
+    private Instant atualizadoEm;
+
     // Construtores
     public Usuario() {}
 
@@ -55,4 +79,12 @@ public class Usuario {
     public void setEmail(String email) {
         this.email = email;
     }
-}
\ No newline at end of file
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public Instant getAtualizadoEm() {
+        return atualizadoEm;
+    }
+}
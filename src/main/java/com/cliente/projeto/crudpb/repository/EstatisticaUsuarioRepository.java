@@ -0,0 +1,82 @@
+package com.cliente.projeto.crudpb.repository;
+
+import com.cliente.projeto.crudpb.model.EstatisticaUsuario;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/*
+ * Os comandos de escrita exigem uma transação aberta (MANDATORY): o contador
+ * só pode mudar junto com o INSERT/UPDATE/DELETE do evento que ele conta.
+ */
+@Repository
+public interface EstatisticaUsuarioRepository extends JpaRepository<EstatisticaUsuario, Long> {
+
+    // INSERT direto (o save() de uma entidade com ID atribuído faria um SELECT antes)
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query(value = "insert into usuario_estatisticas (usuario_id, total_eventos) values (:usuarioId, :totalEventos)",
+            nativeQuery = true)
+    void inserir(Long usuarioId, long totalEventos);
+
+    // Incremento no próprio banco (sem ler o valor antes); 0 = o usuário ainda não tem linha
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("update EstatisticaUsuario s set s.totalEventos = s.totalEventos + :quantidade where s.usuarioId = :usuarioId")
+    int somarEventos(Long usuarioId, long quantidade);
+
+    // A exclusão é por ID, sem carregar o evento: o criador sai da subconsulta,
+    // ANTES do DELETE e na mesma transação
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("""
+            update EstatisticaUsuario s set s.totalEventos = s.totalEventos - 1
+            where s.usuarioId = (select e.usuario.id from Evento e where e.id = :eventoId)""")
+    int descontarEvento(Long eventoId);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("""
+            update EstatisticaUsuario s
+            set s.totalEventos = s.totalEventos
+                - (select count(e) from Evento e where e.usuario.id = s.usuarioId and e.id in :eventoIds)
+            where s.usuarioId in (select e.usuario.id from Evento e where e.id in :eventoIds)""")
+    int descontarEventos(Collection<Long> eventoIds);
+
+    // Reconciliação, por faixa de IDs de usuário
+    @Query("select coalesce(min(u.id), 0) from Usuario u")
+    long buscarMenorIdUsuario();
+
+    @Query("select coalesce(max(u.id), 0) from Usuario u")
+    long buscarMaiorIdUsuario();
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("""
+            insert into EstatisticaUsuario (usuarioId, totalEventos)
+            select u.id, 0L from Usuario u
+            where u.id between :primeiro and :ultimo
+              and not exists (select 1 from EstatisticaUsuario s where s.usuarioId = u.id)""")
+    int criarFaltantes(Long primeiro, Long ultimo);
+
+    // Trava as linhas da faixa (em ordem de ID) antes de recontar: ver EstatisticasUsuarioService.reconciliar
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from EstatisticaUsuario s where s.usuarioId between :primeiro and :ultimo order by s.usuarioId")
+    List<EstatisticaUsuario> travarFaixa(Long primeiro, Long ultimo);
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Modifying
+    @Query("""
+            update EstatisticaUsuario s
+            set s.totalEventos = (select count(e) from Evento e where e.usuario.id = s.usuarioId)
+            where s.usuarioId between :primeiro and :ultimo""")
+    int recontar(Long primeiro, Long ultimo);
+}
@@ -1,12 +1,92 @@
 package com.cliente.projeto.crudpb.repository;
 
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
 import com.cliente.projeto.crudpb.model.Evento;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EventoRepository extends JpaRepository<Evento, Long> {
-    Optional<Evento> findByNome(String nome);
-}
\ No newline at end of file
+    // Paginação keyset: "WHERE id > ? ORDER BY id LIMIT ?" usa o índice da PK,
+    // então o custo de cada página independe da profundidade e do tamanho da tabela.
+    // A projeção já traz o nome do criador pelo JOIN (uma única consulta por página).
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.EventoResumoDTO(e.id, e.nome, e.descricao, u.nome)
+            from Evento e join e.usuario u
+            where e.id > :id
+            order by e.id asc""")
+    List<EventoResumoDTO> listarResumosApos(Long id, Limit limite);
+
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.EventoResumoDTO(e.id, e.nome, e.descricao, u.nome)
+            from Evento e join e.usuario u
+            where e.id < :id
+            order by e.id desc""")
+    List<EventoResumoDTO> listarResumosAntes(Long id, Limit limite);
+
+    // Busca textual em memória: o índice devolve os IDs, esta consulta traz as linhas da página
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.EventoResumoDTO(e.id, e.nome, e.descricao, u.nome)
+            from Evento e join e.usuario u
+            where e.id in :ids""")
+    List<EventoResumoDTO> listarResumosPorIds(Collection<Long> ids);
+
+    // Importação em massa: descobre de uma vez quais nomes do lote já existem
+    @Query("select e.nome from Evento e where e.nome in :nomes")
+    List<String> buscarNomesExistentes(Collection<String> nomes);
+
+    // Exclusão em massa: trava e devolve os IDs do bloco que existem (o restante vai para o relatório).
+    // Com as linhas travadas, o DELETE da mesma transação exclui exatamente estas: uma exclusão
+    // concorrente espera o commit e não acha mais nada.
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select e.id from Evento e where e.id in :ids order by e.id") // em ordem de ID: sem deadlock entre blocos
+    List<Long> travarIdsExistentes(Collection<Long> ids);
+
+    // Exclusão em um único DELETE, sem carregar a entidade antes; devolve as linhas afetadas
+    // (0 = não existia). Não passa pelo @Version nem pelo contexto de persistência.
+    @Transactional
+    @Modifying
+    @Query("delete from Evento e where e.id = :id")
+    int excluirPorId(Long id);
+
+    @Transactional
+    @Modifying
+    @Query("delete from Evento e where e.id in :ids")
+    int excluirPorIds(Collection<Long> ids);
+
+    // Exportação: cursor só-para-frente, lido do banco em blocos de 1000 linhas.
+    // A projeção não passa pelo contexto de persistência, então a memória não cresce com a tabela.
+    // Deve ser consumido dentro de uma transação (no PostgreSQL o fetch size só vale sem autocommit).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.EventoResumoDTO(e.id, e.nome, e.descricao, u.nome)
+            from Evento e join e.usuario u
+            order by e.id asc""")
+    Stream<EventoResumoDTO> streamResumos();
+
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.VersaoRegistroDTO(e.versao, e.atualizadoEm)
+            from Evento e
+            where e.id = :id""")
+    Optional<VersaoRegistroDTO> buscarVersao(Long id);
+}
@@ -1,13 +1,88 @@
 package com.cliente.projeto.crudpb.repository;
 
+import com.cliente.projeto.crudpb.config.CacheConfig;
+import com.cliente.projeto.crudpb.dto.UsuarioListagemDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
 import com.cliente.projeto.crudpb.model.Usuario;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
 
-    Optional<Usuario> findByEmail(String email);
-}
\ No newline at end of file
+    // Busca por prefixo ("abc%") para o seletor do formulário de eventos.
+    // O padrão já chega em minúsculas e com '%'/'_' escapados pelo serviço.
+    // No PostgreSQL o filtro usa idx_usuarios_nome_minusculo (V7, lower(nome) varchar_pattern_ops).
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.UsuarioResumoDTO(u.id, u.nome, u.email)
+            from Usuario u
+            where lower(u.nome) like :padrao escape '\\'
+            order by lower(u.nome) asc""")
+    List<UsuarioResumoDTO> buscarPorPrefixoDoNome(String padrao, Limit limite);
+
+    // Listagem paginada por keyset (mesma ideia de EventoRepository.listarResumosApos/Antes).
+    // O total de eventos vem pelo LEFT JOIN com usuario_estatisticas, na mesma consulta.
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.UsuarioListagemDTO(u.id, u.nome, u.email, coalesce(s.totalEventos, 0L))
+            from Usuario u left join EstatisticaUsuario s on s.usuarioId = u.id
+            where u.id > :id
+            order by u.id asc""")
+    List<UsuarioListagemDTO> listarPaginaApos(Long id, Limit limite);
+
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.UsuarioListagemDTO(u.id, u.nome, u.email, coalesce(s.totalEventos, 0L))
+            from Usuario u left join EstatisticaUsuario s on s.usuarioId = u.id
+            where u.id < :id
+            order by u.id desc""")
+    List<UsuarioListagemDTO> listarPaginaAntes(Long id, Limit limite);
+
+    // Em cache por ID (o resumo é imutável); ID inexistente não é guardado.
+    // A evicção fica em UsuarioService.atualizarUsuario/deletarUsuario.
+    @Cacheable(cacheNames = CacheConfig.CACHE_USUARIOS, unless = "#result == null")
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.UsuarioResumoDTO(u.id, u.nome, u.email)
+            from Usuario u
+            where u.id = :id""")
+    Optional<UsuarioResumoDTO> buscarResumoPorId(Long id);
+
+    // Importação em massa: valida todos os criadores de um lote com uma única consulta
+    @Query("select u.id from Usuario u where u.id in :ids")
+    List<Long> buscarIdsExistentes(Collection<Long> ids);
+
+    // Um único DELETE (mesma ideia de EventoRepository.excluirPorId); 0 = não existia
+    @Transactional
+    @Modifying
+    @Query("delete from Usuario u where u.id = :id")
+    int excluirPorId(Long id);
+
+    // Exportação: mesmo cursor só-para-frente de EventoRepository.streamResumos()
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.UsuarioResumoDTO(u.id, u.nome, u.email)
+            from Usuario u
+            order by u.id asc""")
+    Stream<UsuarioResumoDTO> streamResumos();
+
+    @Query("""
+            select new com.cliente.projeto.crudpb.dto.VersaoRegistroDTO(u.versao, u.atualizadoEm)
+            from Usuario u
+            where u.id = :id""")
+    Optional<VersaoRegistroDTO> buscarVersao(Long id);
+}
@@ -0,0 +1,96 @@
+package com.cliente.projeto.crudpb.repository;
+
+import com.cliente.projeto.crudpb.roteamento.LeituraNaPrimaria;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.DatabaseMetaData;
+import java.util.Map;
+
+/*
+ * Versão de cada tabela exibida nas listagens (ETag de /eventos e /usuarios):
+ * uma sequência por tabela (migração V8). nextval não trava linha nenhuma e não
+ * volta no rollback, então as escritas concorrentes não se enfileiram aqui.
+ *
+ * O avanço acontece DEPOIS do commit (uma vez por tabela e por transação): quem
+ * lê a versão nova já enxerga os dados novos. Avançar antes deixaria uma leitura
+ * no meio do caminho guardar a página antiga com o ETag novo. Uma transação
+ * desfeita não avança nada. O nextval roda na mesma conexão, já sem commit pela
+ * frente (ver TransactionSynchronization.afterCommit): serve porque o avanço de
+ * uma sequência não é desfeito nem pelo rollback que o pool faz na devolução.
+ *
+ * A leitura vai sempre ao primário: numa réplica o valor da sequência só anda
+ * de 32 em 32 chamadas (é o que o PostgreSQL grava no WAL).
+ */
+@Repository
+public class VersaoTabelaRepository {
+
+    public static final String EVENTOS = "eventos";
+    public static final String USUARIOS = "usuarios";
+
+    private static final Map<String, String> SEQUENCIAS = Map.of(
+            EVENTOS, "versao_eventos_seq",
+            USUARIOS, "versao_usuarios_seq");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+
+    public VersaoTabelaRepository(JdbcTemplate jdbcTemplate, DataSource dataSource) throws MetaDataAccessException {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = "PostgreSQL".equals(
+                JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName));
+    }
+
+    public void avancar(String tabela) {
+        String sequencia = sequencia(tabela);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            incrementar(sequencia);
+            return;
+        }
+        String marca = getClass().getName() + "." + sequencia;
+        if (TransactionSynchronizationManager.hasResource(marca)) {
+            return; // já agendado nesta transação
+        }
+        TransactionSynchronizationManager.bindResource(marca, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                incrementar(sequencia);
+            }
+
+            @Override
+            public void afterCompletion(int situacao) {
+                TransactionSynchronizationManager.unbindResource(marca);
+            }
+        });
+    }
+
+    // Próximo valor da sequência: muda a cada avanço, sem consumir valor
+    public long buscarVersao(String tabela) {
+        String sequencia = sequencia(tabela);
+        try (LeituraNaPrimaria.Escopo escopo = LeituraNaPrimaria.abrir()) {
+            return postgres
+                    ? jdbcTemplate.queryForObject("SELECT CASE WHEN is_called THEN last_value + 1 ELSE last_value END FROM "
+                            + sequencia, Long.class)
+                    : jdbcTemplate.queryForObject("SELECT BASE_VALUE FROM INFORMATION_SCHEMA.SEQUENCES WHERE SEQUENCE_NAME = ?",
+                            Long.class, sequencia.toUpperCase());
+        }
+    }
+
+    private void incrementar(String sequencia) {
+        jdbcTemplate.queryForObject("SELECT nextval('" + sequencia + "')", Long.class);
+    }
+
+    private static String sequencia(String tabela) {
+        String sequencia = SEQUENCIAS.get(tabela);
+        if (sequencia == null) {
+            throw new IllegalArgumentException("Tabela sem versão: " + tabela);
+        }
+        return sequencia;
+    }
+}
@@ -0,0 +1,85 @@
+package com.cliente.projeto.crudpb.roteamento;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+/*
+ * "Ler as próprias escritas" com réplica assíncrona: quem acabou de gravar não
+ * pode ver a página antiga só porque a réplica ainda não recebeu a alteração.
+ *
+ * Toda escrita (mesma definição do AdmissaoEscritaFilter: método que não é de
+ * leitura ou GET /.../deletar/{id}) devolve o cookie COOKIE com o instante até
+ * quando esse cliente lê do primário ('janela', acima do atraso esperado da
+ * réplica). A própria escrita e as requisições com o cookie ainda válido rodam
+ * com LeituraNaPrimaria; os demais clientes continuam lendo da réplica.
+ * Sem login, "o cliente" é o navegador: o cookie cobre redirect, F5 e outras abas.
+ */
+public class LeituraDasPropriasEscritasFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "crudpb-escrita";
+
+    private static final Set<String> METODOS_LEITURA = Set.of(
+            HttpMethod.GET.name(), HttpMethod.HEAD.name(), HttpMethod.OPTIONS.name(), HttpMethod.TRACE.name());
+
+    private final long janelaMillis;
+    private final LongSupplier relogio;
+
+    // 'relogio' em epoch ms (System::currentTimeMillis): o prazo vai no cookie e vale entre instâncias
+    public LeituraDasPropriasEscritasFilter(Duration janela, LongSupplier relogio) {
+        this.janelaMillis = janela.toMillis();
+        this.relogio = relogio;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long agora = relogio.getAsLong();
+        boolean escrita = !METODOS_LEITURA.contains(request.getMethod()) || request.getRequestURI().contains("/deletar/");
+        if (escrita) {
+            // antes do chain: um redirect confirma a resposta e não aceitaria mais cabeçalhos
+            response.addCookie(cookie(request, agora + janelaMillis));
+        } else if (prazoDoCookie(request) <= agora) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (LeituraNaPrimaria.Escopo escopo = LeituraNaPrimaria.abrir()) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    private Cookie cookie(HttpServletRequest request, long prazo) {
+        Cookie cookie = new Cookie(COOKIE, Long.toString(prazo));
+        cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+        cookie.setMaxAge((int) Math.max(1, (janelaMillis + 999) / 1000));
+        cookie.setHttpOnly(true);
+        cookie.setAttribute("SameSite", "Lax");
+        return cookie;
+    }
+
+    // 0 sem cookie ou com valor inválido (= prazo vencido)
+    private static long prazoDoCookie(HttpServletRequest request) {
+        if (request.getCookies() == null) {
+            return 0;
+        }
+        for (Cookie cookie : request.getCookies()) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,40 @@
+package com.cliente.projeto.crudpb.roteamento;
+
+/*
+ * Marca a thread atual para que até as transações só-leitura usem o banco
+ * primário: leituras logo depois de uma escrita do mesmo cliente (a réplica
+ * pode ainda não ter recebido a alteração) e cargas que alimentam caches de
+ * longa duração. Sem réplica configurada não tem efeito.
+ *
+ *   try (LeituraNaPrimaria.Escopo escopo = LeituraNaPrimaria.abrir()) { ... }
+ */
+public final class LeituraNaPrimaria {
+
+    private static final ThreadLocal<Boolean> ATIVA = new ThreadLocal<>();
+
+    private LeituraNaPrimaria() {
+    }
+
+    public static boolean ativa() {
+        return Boolean.TRUE.equals(ATIVA.get());
+    }
+
+    // Escopos podem ser aninhados: fechar um restaura o estado anterior
+    public static Escopo abrir() {
+        Boolean anterior = ATIVA.get();
+        ATIVA.set(Boolean.TRUE);
+        return () -> {
+            if (anterior == null) {
+                ATIVA.remove();
+            } else {
+                ATIVA.set(anterior);
+            }
+        };
+    }
+
+    @FunctionalInterface
+    public interface Escopo extends AutoCloseable {
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,35 @@
+package com.cliente.projeto.crudpb.roteamento;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/*
+ * Transação só-leitura (@Transactional(readOnly = true), inclusive as dos
+ * métodos padrão do Spring Data) vai para a réplica; todo o resto, para o
+ * primário: escritas, trechos sem transação e LeituraNaPrimaria ativa.
+ *
+ * Precisa ficar atrás de um LazyConnectionDataSourceProxy: o JpaTransactionManager
+ * pede a conexão antes de marcar a transação como só-leitura, e o proxy adia a
+ * escolha até o primeiro comando SQL, quando a marca já existe.
+ */
+public class RoteamentoLeituraDataSource extends AbstractRoutingDataSource {
+
+    public enum Destino { PRIMARIA, REPLICA }
+
+    public RoteamentoLeituraDataSource(DataSource primaria, DataSource replica) {
+        setTargetDataSources(Map.of(Destino.PRIMARIA, primaria, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primaria);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Destino determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !LeituraNaPrimaria.ativa()
+                ? Destino.REPLICA
+                : Destino.PRIMARIA;
+    }
+}
@@ -0,0 +1,206 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.config.MetricasConfig;
+import com.cliente.projeto.crudpb.dto.AlteracaoEventoDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
+import com.cliente.projeto.crudpb.event.EventoAlteradoEvent;
+import com.cliente.projeto.crudpb.service.alteracoes.FilaAssinante;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Listagens de eventos "ao vivo": cada alteração confirmada (EventoAlteradoEvent,
+ * depois do commit) vai por Server-Sent Events a quem está com a página aberta,
+ * e o script da página corrige a linha no lugar. Uma aba aberta custa uma
+ * conexão parada, não um listarPagina a cada F5.
+ *
+ * Cada assinante tem a sua FilaAssinante (limitada, uma alteração por evento);
+ * o envio roda em threads próprias, uma tarefa por assinante por vez, então um
+ * cliente lento só atrasa a si mesmo e a thread do commit nunca espera rede.
+ *
+ * Posição: "<instância>.<sequência>", o ID de cada mensagem SSE. A página
+ * renderizada traz a posição em que foi lida; se ao conectar (ou reconectar,
+ * pelo Last-Event-ID) ela não for a atual, algo se perdeu no caminho e o
+ * assinante recebe "recarregar". Vale só para esta instância: com várias
+ * réplicas, cada uma avisa apenas as suas próprias alterações.
+ */
+@Service
+public class AlteracoesEventosService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AlteracoesEventosService.class);
+
+    static final String MENSAGEM_ALTERACAO = "alteracao";
+    static final String MENSAGEM_RECARREGAR = "recarregar";
+
+    private final String instancia = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong sequencia = new AtomicLong();
+    private final Map<SseEmitter, FilaAssinante> assinantes = new ConcurrentHashMap<>();
+    private final UsuarioService usuarioService;
+    private final int capacidadeFila;
+    private final long tempoConexao;
+    private final ExecutorService envio;
+    private final Counter recargas;
+    private volatile boolean ativo;
+
+    public AlteracoesEventosService(UsuarioService usuarioService,
+                                    @Value("${crudpb.alteracoes.capacidade-fila:256}") int capacidadeFila,
+                                    @Value("${crudpb.alteracoes.tempo-conexao:30m}") Duration tempoConexao,
+                                    @Value("${crudpb.alteracoes.threads-envio:2}") int threadsEnvio,
+                                    MeterRegistry registro) {
+        this.usuarioService = usuarioService;
+        this.capacidadeFila = capacidadeFila;
+        this.tempoConexao = tempoConexao.toMillis();
+        AtomicInteger numero = new AtomicInteger();
+        this.envio = Executors.newFixedThreadPool(threadsEnvio, tarefa -> {
+            Thread thread = new Thread(tarefa, "alteracoes-envio-" + numero.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.recargas = Counter.builder(MetricasConfig.METRICA_ALTERACOES + ".recargas")
+                .description("Listagens avisadas para recarregar (fila do assinante cheia ou alterações perdidas)")
+                .register(registro);
+        Gauge.builder(MetricasConfig.METRICA_ALTERACOES + ".assinantes", assinantes, Map::size)
+                .description("Listagens de eventos abertas recebendo alterações")
+                .register(registro);
+    }
+
+    // Lida antes das linhas da página: uma alteração entre as duas leituras causa no máximo um "recarregar" a mais
+    public String posicaoAtual() {
+        return instancia + "." + sequencia.get();
+    }
+
+    /*
+     * 'desde' é a posição que o cliente já tem (a da página ou o Last-Event-ID).
+     * O assinante entra antes da comparação: uma alteração concorrente ou chega
+     * pela fila, ou já avançou a posição e vira "recarregar".
+     */
+    public SseEmitter assinar(String desde) {
+        SseEmitter emissor = new SseEmitter(tempoConexao);
+        FilaAssinante fila = new FilaAssinante(capacidadeFila);
+        assinantes.put(emissor, fila);
+        emissor.onCompletion(() -> assinantes.remove(emissor));
+        emissor.onTimeout(() -> assinantes.remove(emissor)); // o EventSource reconecta sozinho
+        emissor.onError(erro -> assinantes.remove(emissor));
+        if (!posicaoAtual().equals(desde)) {
+            recargas.increment();
+            enviarRecarregar(emissor);
+        }
+        return emissor;
+    }
+
+    // fallbackExecution: exclusões sem transação em volta também são avisadas
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarEvento(EventoAlteradoEvent alteracao) {
+        long posicao = sequencia.incrementAndGet();
+        if (assinantes.isEmpty()) {
+            return; // ninguém olhando: nem o nome do criador é buscado
+        }
+        AlteracaoEventoDTO mensagem = new AlteracaoEventoDTO(posicao, alteracao.tipo(), alteracao.id(),
+                alteracao.nome(), alteracao.descricao(), nomeCriador(alteracao.usuarioId()));
+        assinantes.forEach((emissor, fila) -> {
+            if (fila.oferecer(mensagem)) {
+                agendarEnvio(emissor, fila);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${crudpb.alteracoes.intervalo-pulso:30s}")
+    public void pulsar() {
+        assinantes.forEach((emissor, fila) -> {
+            if (fila.pulsar()) {
+                agendarEnvio(emissor, fila);
+            }
+        });
+    }
+
+    public int quantidadeAssinantes() {
+        return assinantes.size();
+    }
+
+    @Override
+    public void start() {
+        ativo = true;
+    }
+
+    // Fase padrão: para antes do desligamento gracioso do servidor, que senão esperaria as conexões abertas
+    @Override
+    public void stop() {
+        ativo = false;
+        assinantes.keySet().forEach(SseEmitter::complete);
+        assinantes.clear();
+        envio.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    private String nomeCriador(Long usuarioId) {
+        return usuarioService.buscarResumo(usuarioId).map(UsuarioResumoDTO::nome).orElse(null);
+    }
+
+    private void agendarEnvio(SseEmitter emissor, FilaAssinante fila) {
+        try {
+            envio.execute(() -> esvaziar(emissor, fila));
+        } catch (RejectedExecutionException ex) {
+            log.debug("Envio de alterações recusado: aplicação encerrando");
+        }
+    }
+
+    private void esvaziar(SseEmitter emissor, FilaAssinante fila) {
+        FilaAssinante.Lote lote;
+        while ((lote = fila.retirar()) != null) {
+            if (lote.recarregar()) {
+                recargas.increment();
+                enviarRecarregar(emissor);
+                return; // fila em estado final: não é reagendada
+            }
+            try {
+                for (AlteracaoEventoDTO alteracao : lote.alteracoes()) {
+                    emissor.send(SseEmitter.event()
+                            .id(instancia + "." + alteracao.sequencia())
+                            .name(MENSAGEM_ALTERACAO)
+                            .data(alteracao, MediaType.APPLICATION_JSON));
+                }
+                if (lote.pulso()) {
+                    emissor.send(SseEmitter.event().comment("pulso"));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // cliente saiu ou a conexão já foi encerrada; o próprio contêiner finaliza a requisição
+                assinantes.remove(emissor);
+                return;
+            }
+        }
+    }
+
+    private void enviarRecarregar(SseEmitter emissor) {
+        assinantes.remove(emissor);
+        try {
+            emissor.send(SseEmitter.event().id(posicaoAtual()).name(MENSAGEM_RECARREGAR).data(""));
+            emissor.complete();
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Aviso de recarregar não entregue: cliente já desconectado", ex);
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.config.MetricasConfig;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Entidade;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Operacao;
+import com.cliente.projeto.crudpb.event.EventoAlteradoEvent;
+import com.cliente.projeto.crudpb.event.UsuarioAlteradoEvent;
+import com.cliente.projeto.crudpb.service.auditoria.AnelAuditoria;
+import com.cliente.projeto.crudpb.service.auditoria.DiarioAuditoria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Auditoria de Evento/Usuario: quem (IP da requisição), quando e o quê.
+ *
+ * As alterações chegam pelos EventoAlteradoEvent/UsuarioAlteradoEvent depois do
+ * commit (um rollback não deixa rastro) e vão para o AnelAuditoria: a thread da
+ * requisição só faz um CAS, nunca espera disco. Uma thread própria drena o anel
+ * para o DiarioAuditoria (segmentos mapeados em memória) e força o lote ao disco.
+ * Com o anel cheio o registro é descartado e contado (crudpb.auditoria{resultado=descartado}).
+ *
+ * Fase do ciclo de vida abaixo da do servidor web: o gravador sobe antes e para
+ * depois dele, drenando o que as últimas requisições deixaram no anel.
+ */
+@Service
+public class AuditoriaService implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditoriaService.class);
+
+    static final String AUTOR_SISTEMA = "sistema";
+    private static final int LOTE = 512;
+    private static final long ESPERA_ANEL_VAZIO = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final AnelAuditoria anel;
+    private final DiarioAuditoria diario;
+    private final Counter gravados;
+    private final Counter descartados;
+    private final Counter falhas;
+    private volatile boolean ativo;
+    private Thread gravador;
+
+    public AuditoriaService(@Value("${crudpb.auditoria.diretorio:auditoria}") Path diretorio,
+                            @Value("${crudpb.auditoria.tamanho-segmento:16777216}") int tamanhoSegmento,
+                            @Value("${crudpb.auditoria.segmentos-retidos:64}") int segmentosRetidos,
+                            @Value("${crudpb.auditoria.capacidade-anel:8192}") int capacidadeAnel,
+                            MeterRegistry registro) throws IOException {
+        this.anel = new AnelAuditoria(capacidadeAnel);
+        this.diario = new DiarioAuditoria(diretorio, tamanhoSegmento, segmentosRetidos);
+        this.gravados = contador(registro, "gravado");
+        this.descartados = contador(registro, "descartado");
+        this.falhas = contador(registro, "falha");
+        Gauge.builder(MetricasConfig.METRICA_AUDITORIA + ".pendentes", anel, AnelAuditoria::pendentes)
+                .description("Registros de auditoria na fila, ainda não gravados")
+                .register(registro);
+        log.info("Diário de auditoria em {} (última sequência {})", diretorio.toAbsolutePath(), diario.ultimaSequencia());
+    }
+
+    // fallbackExecution: exclusões sem transação em volta também são auditadas
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarEvento(EventoAlteradoEvent alteracao) {
+        Map<String, String> dados = new LinkedHashMap<>();
+        colocar(dados, "nome", alteracao.nome());
+        colocar(dados, "descricao", alteracao.descricao());
+        colocar(dados, "usuarioId", alteracao.usuarioId());
+        Operacao operacao = switch (alteracao.tipo()) {
+            case CRIADO -> Operacao.CRIACAO;
+            case ATUALIZADO -> Operacao.ATUALIZACAO;
+            case REMOVIDO -> Operacao.EXCLUSAO;
+        };
+        registrar(Entidade.EVENTO, operacao, alteracao.id(), dados);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarUsuario(UsuarioAlteradoEvent alteracao) {
+        Map<String, String> dados = new LinkedHashMap<>();
+        colocar(dados, "nome", alteracao.nome());
+        colocar(dados, "email", alteracao.email());
+        Operacao operacao = switch (alteracao.tipo()) {
+            case CRIADO -> Operacao.CRIACAO;
+            case ATUALIZADO -> Operacao.ATUALIZACAO;
+            case REMOVIDO -> Operacao.EXCLUSAO;
+        };
+        registrar(Entidade.USUARIO, operacao, alteracao.id(), dados);
+    }
+
+    // Histórico gravado no diário (o que ainda está no anel aparece em alguns milissegundos)
+    public List<RegistroAuditoriaDTO> historico(Entidade entidade, long entidadeId) {
+        return diario.historico(entidade, entidadeId);
+    }
+
+    @Override
+    public void start() {
+        ativo = true;
+        gravador = new Thread(this::gravarContinuamente, "auditoria-gravador");
+        gravador.setDaemon(true);
+        gravador.start();
+    }
+
+    @Override
+    public void stop() {
+        ativo = false;
+        LockSupport.unpark(gravador);
+        try {
+            gravador.join(TimeUnit.SECONDS.toMillis(10));
+            diario.close();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (IOException ex) {
+            log.error("Falha ao fechar o diário de auditoria", ex);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096; // servidor web: DEFAULT_PHASE - 2048
+    }
+
+    private void registrar(Entidade entidade, Operacao operacao, Long id, Map<String, String> dados) {
+        RegistroAuditoriaDTO registro = new RegistroAuditoriaDTO(0, Instant.now(), entidade, operacao, id, autor(), dados);
+        if (!anel.oferecer(registro)) {
+            descartados.increment();
+            log.warn("Fila de auditoria cheia ({}): {} {} {} descartado", anel.capacidade(), operacao, entidade, id);
+        }
+    }
+
+    // Depois de parar ainda drena o que ficou no anel
+    private void gravarContinuamente() {
+        while (ativo || anel.pendentes() > 0) {
+            int drenados = anel.drenar(this::gravar, LOTE);
+            if (drenados > 0) {
+                diario.forcar();
+            } else if (ativo) {
+                LockSupport.parkNanos(ESPERA_ANEL_VAZIO);
+            } else {
+                break; // parado, e a posição pendente nunca foi publicada
+            }
+        }
+    }
+
+    private void gravar(RegistroAuditoriaDTO registro) {
+        try {
+            diario.anexar(registro);
+            gravados.increment();
+        } catch (IOException | RuntimeException ex) {
+            falhas.increment();
+            log.error("Falha ao gravar a auditoria de {} {} {}", registro.operacao(), registro.entidade(), registro.entidadeId(), ex);
+        }
+    }
+
+    private static String autor() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes atributos
+                ? atributos.getRequest().getRemoteAddr()
+                : AUTOR_SISTEMA;
+    }
+
+    private static void colocar(Map<String, String> dados, String campo, Object valor) {
+        if (valor != null) {
+            dados.put(campo, valor.toString());
+        }
+    }
+
+    private static Counter contador(MeterRegistry registro, String resultado) {
+        return Counter.builder(MetricasConfig.METRICA_AUDITORIA)
+                .description("Registros de auditoria gravados, descartados (fila cheia) e com falha")
+                .tag("resultado", resultado)
+                .register(registro);
+    }
+}
@@ -0,0 +1,89 @@
+package com.cliente.projeto.crudpb.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+ * Leitura e escrita de registros CSV (RFC 4180 simplificado): separador ',',
+ * campos entre aspas podem conter vírgulas, aspas duplicadas ("") e quebras de
+ * linha. Um registro com quebra de linha ocupa várias linhas físicas; na leitura
+ * a quebra volta como '\n' (um "\r\n" dentro do campo vira "\n").
+ */
+final class Csv {
+
+    // Registro maior que isso para de juntar linhas: aspas nunca fechadas não consomem o resto do arquivo
+    static final int MAXIMO_REGISTRO = 64 * 1024;
+
+    private Csv() {}
+
+    // Registro que começa em 'linha': com aspas abertas, junta as linhas seguintes do leitor
+    static String completarRegistro(String linha, BufferedReader leitor) throws IOException {
+        if (!aspasImpares(linha)) {
+            return linha;
+        }
+        StringBuilder registro = new StringBuilder(linha);
+        boolean abertas = true;
+        String proxima;
+        while (abertas && registro.length() <= MAXIMO_REGISTRO && (proxima = leitor.readLine()) != null) {
+            registro.append('\n').append(proxima);
+            abertas ^= aspasImpares(proxima);
+        }
+        return registro.toString(); // ainda abertas: dividir() recusa o registro
+    }
+
+    static List<String> dividir(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("aspas não fechadas");
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    // Campo pronto para escrita: entre aspas só quando necessário; nulo vira campo vazio
+    static String escapar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0 && valor.indexOf('\r') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+
+    // Aspas duplicadas ("") contam duas vezes: número ímpar = um campo abriu e não fechou
+    private static boolean aspasImpares(String texto) {
+        boolean impar = false;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '"') {
+                impar = !impar;
+            }
+        }
+        return impar;
+    }
+}
@@ -0,0 +1,146 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.config.MetricasConfig;
+import com.cliente.projeto.crudpb.dto.VersaoTabelaDTO;
+import com.cliente.projeto.crudpb.repository.EstatisticaUsuarioRepository;
+import com.cliente.projeto.crudpb.repository.VersaoTabelaRepository;
+import io.micrometer.core.annotation.Timed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/*
+ * Total de eventos por usuário, mantido de forma incremental (tabela usuario_estatisticas).
+ *
+ * Os ajustes rodam dentro da transação de quem grava o evento (EventoService,
+ * EventoImportacaoService): o contador e o evento são confirmados ou desfeitos juntos.
+ * A reconciliação recalcula tudo do zero, por faixas de IDs em paralelo, para
+ * corrigir o que tiver sido gravado por fora (SQL direto, cargas, restauração).
+ */
+@Service
+@Timed(MetricasConfig.METRICA_SERVICOS) // um timer por método público (tags class/method/exception)
+public class EstatisticasUsuarioService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasUsuarioService.class);
+
+    private final EstatisticaUsuarioRepository estatisticaRepository;
+    private final VersaoTabelaRepository versoes;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor executor;
+    private final int tamanhoFaixa;
+    private final int paralelismo;
+
+    public EstatisticasUsuarioService(EstatisticaUsuarioRepository estatisticaRepository,
+                                      VersaoTabelaRepository versoes,
+                                      PlatformTransactionManager transactionManager,
+                                      @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME) TaskExecutor executor,
+                                      @Value("${crudpb.estatisticas.reconciliacao.tamanho-faixa:1000}") int tamanhoFaixa,
+                                      @Value("${crudpb.estatisticas.reconciliacao.paralelismo:4}") int paralelismo) {
+        this.estatisticaRepository = estatisticaRepository;
+        this.versoes = versoes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = executor;
+        this.tamanhoFaixa = Math.max(1, tamanhoFaixa);
+        this.paralelismo = Math.max(1, paralelismo);
+    }
+
+    // Os totais (lidos na listagem de usuários, UsuarioRepository.listarPaginaApos/Antes) mudam
+    // junto com a tabela de eventos: a versão dela vale para eles (ETag).
+    // A reconciliação, que corrige totais sem tocar em eventos, também a avança.
+    public VersaoTabelaDTO versaoTotais() {
+        return new VersaoTabelaDTO(versoes.buscarVersao(VersaoTabelaRepository.EVENTOS));
+    }
+
+    // Usuário novo já nasce com a linha zerada (na transação do INSERT do usuário)
+    public void registrarUsuario(Long usuarioId) {
+        estatisticaRepository.inserir(usuarioId, 0);
+    }
+
+    /*
+     * Usuários gravados por fora do serviço (SQL direto) podem não ter a linha:
+     * ela é criada aqui. Dois primeiros eventos simultâneos de um usuário assim
+     * podem colidir na chave; o caminho normal (criarUsuario) não passa por isso.
+     */
+    public void somarEventos(Long usuarioId, long quantidade) {
+        if (estatisticaRepository.somarEventos(usuarioId, quantidade) == 0) {
+            estatisticaRepository.inserir(usuarioId, quantidade);
+        }
+    }
+
+    // Troca de criador: sempre na ordem crescente de ID, a mesma das travas da reconciliação
+    public void trocarCriador(Long anterior, Long novo) {
+        if (Objects.equals(anterior, novo)) {
+            return;
+        }
+        if (anterior < novo) {
+            somarEventos(anterior, -1);
+            somarEventos(novo, 1);
+        } else {
+            somarEventos(novo, 1);
+            somarEventos(anterior, -1);
+        }
+    }
+
+    // Chamado ANTES do DELETE: depois dele a subconsulta não acha mais o criador
+    public void descontarEvento(Long eventoId) {
+        estatisticaRepository.descontarEvento(eventoId);
+    }
+
+    public void descontarEventos(Collection<Long> eventoIds) {
+        estatisticaRepository.descontarEventos(eventoIds);
+    }
+
+    /*
+     * Recalcula os contadores de todos os usuários. As faixas de 'tamanhoFaixa' IDs
+     * são distribuídas entre 'paralelismo' tarefas no executor da aplicação; cada
+     * faixa é uma transação: cria as linhas que faltam, trava as da faixa e reconta.
+     * A trava é o que torna seguro rodar com a aplicação no ar: quem criou/excluiu
+     * um evento e já ajustou o contador termina antes da recontagem (que então vê
+     * o evento), e quem ainda não ajustou espera a recontagem e ajusta depois.
+     */
+    @Scheduled(cron = "${crudpb.estatisticas.reconciliacao.cron:0 30 3 * * *}")
+    public int reconciliar() {
+        long menorId = estatisticaRepository.buscarMenorIdUsuario();
+        long maiorId = estatisticaRepository.buscarMaiorIdUsuario();
+        AtomicLong proximaFaixa = new AtomicLong(menorId);
+        AtomicInteger recontados = new AtomicInteger();
+
+        List<CompletableFuture<Void>> tarefas = new ArrayList<>(paralelismo);
+        for (int i = 0; i < paralelismo; i++) {
+            tarefas.add(CompletableFuture.runAsync(() -> {
+                long primeiro;
+                while ((primeiro = proximaFaixa.getAndAdd(tamanhoFaixa)) <= maiorId) {
+                    recontarFaixa(primeiro, primeiro + tamanhoFaixa - 1, recontados);
+                }
+            }, executor));
+        }
+        CompletableFuture.allOf(tarefas.toArray(CompletableFuture[]::new)).join();
+
+        log.info("Estatísticas de usuários reconciliadas: {} usuários (IDs {} a {})", recontados.get(), menorId, maiorId);
+        return recontados.get();
+    }
+
+    private void recontarFaixa(long primeiro, long ultimo, AtomicInteger recontados) {
+        transactionTemplate.executeWithoutResult(status -> {
+            estatisticaRepository.criarFaltantes(primeiro, ultimo);
+            estatisticaRepository.travarFaixa(primeiro, ultimo);
+            recontados.addAndGet(estatisticaRepository.recontar(primeiro, ultimo));
+            versoes.avancar(VersaoTabelaRepository.EVENTOS);
+        });
+    }
+}
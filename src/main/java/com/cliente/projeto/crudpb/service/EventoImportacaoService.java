@@ -0,0 +1,293 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.dto.ErroLinhaDTO;
+import com.cliente.projeto.crudpb.dto.EventoDTO;
+import com.cliente.projeto.crudpb.dto.RelatorioImportacaoDTO;
+import com.cliente.projeto.crudpb.event.EventoAlteradoEvent;
+import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.exception.ViolacaoRestricao;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.repository.EventoRepository;
+import com.cliente.projeto.crudpb.repository.UsuarioRepository;
+import com.cliente.projeto.crudpb.repository.VersaoTabelaRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/*
+ * Importação em massa de eventos (CSV ou NDJSON).
+ *
+ * O corpo é lido linha a linha, sem carregar o arquivo inteiro em memória.
+ * Cada linha é validada com as mesmas regras do EventoDTO; as válidas são
+ * acumuladas em lotes e cada lote:
+ *   1. confere todos os criadores com UMA consulta (id in ...);
+ *   2. confere todos os nomes com UMA consulta (nome in ...);
+ *   3. é inserido em uma transação própria, em lotes JDBC.
+ * Um lote rejeitado pelo banco (ex.: nome gravado por outra requisição no
+ * meio do caminho) é refeito linha a linha, para que só as linhas culpadas
+ * entrem no relatório de erros.
+ * Cada evento gravado publica um EventoAlteradoEvent, entregue só se o
+ * lote (ou a linha) for confirmado. Os contadores de eventos dos criadores
+ * sobem na mesma transação: um UPDATE por criador do lote, não por linha.
+ */
+@Service
+public class EventoImportacaoService {
+
+    static final int MAXIMO_ERROS_RELATADOS = 1000;
+    private static final List<String> COLUNAS_CSV = List.of("nome", "descricao", "usuarioid");
+
+    private static final Logger log = LoggerFactory.getLogger(EventoImportacaoService.class);
+
+    private final EventoRepository eventoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher publicador;
+    private final EstatisticasUsuarioService estatisticas;
+    private final VersaoTabelaRepository versoes;
+    private final int tamanhoLote;
+
+    public EventoImportacaoService(EventoRepository eventoRepository,
+                                   UsuarioRepository usuarioRepository,
+                                   EntityManager entityManager,
+                                   PlatformTransactionManager transactionManager,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   ApplicationEventPublisher publicador,
+                                   EstatisticasUsuarioService estatisticas,
+                                   VersaoTabelaRepository versoes,
+                                   @Value("${crudpb.importacao.tamanho-lote:500}") int tamanhoLote) {
+        this.eventoRepository = eventoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.publicador = publicador;
+        this.estatisticas = estatisticas;
+        this.versoes = versoes;
+        this.tamanhoLote = Math.max(1, tamanhoLote);
+    }
+
+    public RelatorioImportacaoDTO importar(InputStream corpo, FormatoArquivo formato) throws IOException {
+        Relatorio relatorio = new Relatorio();
+        List<LinhaImportada> lote = new ArrayList<>(tamanhoLote);
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8));
+
+        long numeroLinha = 0;
+        int[] posicoes = null; // CSV: posição de cada coluna conforme o cabeçalho
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            long linhaRegistro = numeroLinha; // erros citam a primeira linha física do registro
+            if (formato == FormatoArquivo.CSV) {
+                // campo entre aspas com quebra de linha: o registro continua nas linhas seguintes
+                linha = Csv.completarRegistro(linha, leitor);
+                numeroLinha += linha.chars().filter(c -> c == '\n').count();
+            }
+            if (linha.isBlank()) {
+                continue;
+            }
+            if (formato == FormatoArquivo.CSV && posicoes == null) {
+                posicoes = lerCabecalho(linha);
+                continue;
+            }
+            relatorio.linhasLidas++;
+
+            EventoDTO dto;
+            try {
+                dto = formato == FormatoArquivo.CSV ? lerLinhaCsv(linha, posicoes) : objectMapper.readValue(linha, EventoDTO.class);
+            } catch (IOException | IllegalArgumentException ex) {
+                String motivo = ex instanceof JsonProcessingException json ? json.getOriginalMessage() : ex.getMessage();
+                relatorio.erro(linhaRegistro, "Linha mal formatada: " + motivo);
+                continue;
+            }
+
+            Set<ConstraintViolation<EventoDTO>> violacoes = validator.validate(dto);
+            if (!violacoes.isEmpty()) {
+                relatorio.erro(linhaRegistro, violacoes.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+
+            lote.add(new LinhaImportada(linhaRegistro, dto));
+            if (lote.size() == tamanhoLote) {
+                gravarLote(lote, relatorio);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravarLote(lote, relatorio);
+        }
+
+        log.info("Importação de eventos: {} linhas lidas, {} importadas, {} com erro",
+                relatorio.linhasLidas, relatorio.importados, relatorio.totalErros);
+        return relatorio.paraDTO();
+    }
+
+    private void gravarLote(List<LinhaImportada> lote, Relatorio relatorio) {
+        // Consultas por conjunto: 2 SELECTs por lote, não 2 por linha
+        Set<Long> criadoresExistentes = new HashSet<>(usuarioRepository.buscarIdsExistentes(
+                lote.stream().map(l -> l.dto().usuarioId()).collect(Collectors.toSet())));
+        Set<String> nomesEmUso = new HashSet<>(eventoRepository.buscarNomesExistentes(
+                lote.stream().map(l -> l.dto().nome()).collect(Collectors.toSet())));
+
+        List<LinhaImportada> aceitas = new ArrayList<>(lote.size());
+        for (LinhaImportada linha : lote) {
+            if (!criadoresExistentes.contains(linha.dto().usuarioId())) {
+                relatorio.erro(linha.numero(), "Usuário não encontrado com ID: " + linha.dto().usuarioId());
+            } else if (!nomesEmUso.add(linha.dto().nome())) {
+                // add() falso = já existia no banco ou apareceu antes neste mesmo lote
+                relatorio.erro(linha.numero(), mensagemNomeEmUso(linha.dto().nome()));
+            } else {
+                aceitas.add(linha);
+            }
+        }
+        if (aceitas.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> inserirEmLote(aceitas));
+            relatorio.importados += aceitas.size();
+        } catch (PersistenceException | DataAccessException ex) {
+            log.warn("Lote de importação rejeitado pelo banco ({}); regravando linha a linha", ex.getMessage());
+            for (LinhaImportada linha : aceitas) {
+                gravarLinha(linha, relatorio);
+            }
+        }
+    }
+
+    private void inserirEmLote(List<LinhaImportada> linhas) {
+        // O tamanho do lote JDBC acompanha o lote de importação (vale só para esta sessão)
+        entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+        for (LinhaImportada linha : linhas) {
+            Evento evento = novoEvento(linha.dto());
+            entityManager.persist(evento);
+            publicador.publishEvent(EventoAlteradoEvent.criado(evento));
+        }
+        entityManager.flush();
+        entityManager.clear(); // não acumula entidades gerenciadas entre lotes
+
+        // Em ordem de ID do criador, como as demais atualizações de contadores
+        linhas.stream()
+                .collect(Collectors.groupingBy(l -> l.dto().usuarioId(), TreeMap::new, Collectors.counting()))
+                .forEach(estatisticas::somarEventos);
+        versoes.avancar(VersaoTabelaRepository.EVENTOS); // após o commit do lote
+    }
+
+    private void gravarLinha(LinhaImportada linha, Relatorio relatorio) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                Evento evento = eventoRepository.saveAndFlush(novoEvento(linha.dto()));
+                estatisticas.somarEventos(linha.dto().usuarioId(), 1);
+                versoes.avancar(VersaoTabelaRepository.EVENTOS);
+                publicador.publishEvent(EventoAlteradoEvent.criado(evento));
+            });
+            relatorio.importados++;
+        } catch (DataIntegrityViolationException ex) {
+            if (ViolacaoRestricao.envolve(ex, Evento.RESTRICAO_NOME_UNICO)) {
+                relatorio.erro(linha.numero(), mensagemNomeEmUso(linha.dto().nome()));
+            } else {
+                relatorio.erro(linha.numero(), "Linha rejeitada pelo banco de dados.");
+            }
+        }
+    }
+
+    private Evento novoEvento(EventoDTO dto) {
+        Evento evento = dto.toEntity();
+        // Referência sem SELECT: a existência do criador já foi conferida pelo lote
+        evento.setUsuario(entityManager.getReference(Usuario.class, dto.usuarioId()));
+        return evento;
+    }
+
+    private int[] lerCabecalho(String linha) {
+        List<String> colunas = Csv.dividir(linha).stream()
+                .map(coluna -> coluna.trim().toLowerCase(Locale.ROOT))
+                .toList();
+        int[] posicoes = new int[COLUNAS_CSV.size()];
+        for (int i = 0; i < COLUNAS_CSV.size(); i++) {
+            posicoes[i] = colunas.indexOf(COLUNAS_CSV.get(i));
+            if (posicoes[i] < 0) {
+                throw new ValidacaoException("O cabeçalho do CSV deve conter as colunas nome, descricao e usuarioId.");
+            }
+        }
+        return posicoes;
+    }
+
+    private EventoDTO lerLinhaCsv(String linha, int[] posicoes) {
+        List<String> campos = Csv.dividir(linha);
+        String usuarioId = campo(campos, posicoes[2]);
+        try {
+            return new EventoDTO(
+                    campo(campos, posicoes[0]),
+                    campo(campos, posicoes[1]),
+                    usuarioId == null || usuarioId.isBlank() ? null : Long.valueOf(usuarioId.trim()));
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("usuarioId inválido '" + usuarioId + "'");
+        }
+    }
+
+    private static String campo(List<String> campos, int posicao) {
+        return posicao < campos.size() ? campos.get(posicao) : null;
+    }
+
+    private static String mensagemNomeEmUso(String nome) {
+        return "O nome '" + nome + "' já está em uso por outro evento.";
+    }
+
+    private record LinhaImportada(long numero, EventoDTO dto) {}
+
+    // Acumulador mutável do relatório; guarda no máximo MAXIMO_ERROS_RELATADOS mensagens
+    private static final class Relatorio {
+        private long linhasLidas;
+        private long importados;
+        private long totalErros;
+        private final List<ErroLinhaDTO> erros = new ArrayList<>();
+
+        void erro(long linha, String mensagem) {
+            totalErros++;
+            if (erros.size() < MAXIMO_ERROS_RELATADOS) {
+                erros.add(new ErroLinhaDTO(linha, mensagem));
+            }
+        }
+
+        RelatorioImportacaoDTO paraDTO() {
+            // Erros de lote chegam depois dos de leitura; o relatório sai na ordem do arquivo
+            erros.sort(Comparator.comparingLong(ErroLinhaDTO::linha));
+            return new RelatorioImportacaoDTO(linhasLidas, importados, List.copyOf(erros), totalErros - erros.size());
+        }
+    }
+}
@@ -1,73 +1,279 @@
 package com.cliente.projeto.crudpb.service;
 
+import com.cliente.projeto.crudpb.config.MetricasConfig;
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
+import com.cliente.projeto.crudpb.dto.RelatorioExclusaoDTO;
+import com.cliente.projeto.crudpb.dto.ResultadoBuscaDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
+import com.cliente.projeto.crudpb.dto.VersaoTabelaDTO;
+import com.cliente.projeto.crudpb.event.EventoAlteradoEvent;
+import com.cliente.projeto.crudpb.exception.ConflitoVersaoException;
 import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
 import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.exception.ViolacaoRestricao;
 import com.cliente.projeto.crudpb.model.Evento;
 import com.cliente.projeto.crudpb.model.Usuario;
 import com.cliente.projeto.crudpb.repository.EventoRepository;
+import com.cliente.projeto.crudpb.repository.VersaoTabelaRepository;
+import com.cliente.projeto.crudpb.service.busca.BuscaEventos;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.Set;
 
+/*
+ * Cada operação pública é uma transação só. O padrão da classe é só-leitura
+ * (uma conexão por chamada, da réplica quando houver; sessão com flush MANUAL e
+ * entidades sem cópia para dirty checking); as escritas sobrescrevem com @Transactional.
+ */
 @Service
+@Timed(MetricasConfig.METRICA_SERVICOS) // um timer por método público (tags class/method/exception)
+@Transactional(readOnly = true)
 public class EventoService {
+    public static final int TAMANHO_PAGINA_PADRAO = 20;
+    public static final int TAMANHO_PAGINA_MAXIMO = 100;
+    // IDs por DELETE na exclusão em massa: mantém o "in (...)" bem abaixo do limite de parâmetros do driver
+    static final int TAMANHO_BLOCO_EXCLUSAO = 1000;
+    static final String MENSAGEM_CONFLITO_VERSAO =
+            "O evento foi alterado por outra pessoa. Recarregue a página e refaça a alteração.";
+
     private final EventoRepository eventoRepository;
     private final UsuarioService usuarioService;
+    private final BuscaEventos buscaEventos;
+    private final ApplicationEventPublisher publicador;
+    private final EstatisticasUsuarioService estatisticas;
+    private final VersaoTabelaRepository versoes;
+    private final TransactionTemplate transactionTemplate;
 
-    public EventoService(EventoRepository eventoRepository, UsuarioService usuarioService) {
+    public EventoService(EventoRepository eventoRepository,
+                         UsuarioService usuarioService,
+                         BuscaEventos buscaEventos,
+                         ApplicationEventPublisher publicador,
+                         EstatisticasUsuarioService estatisticas,
+                         VersaoTabelaRepository versoes,
+                         PlatformTransactionManager transactionManager) {
         this.eventoRepository = eventoRepository;
         this.usuarioService = usuarioService;
+        this.buscaEventos = buscaEventos;
+        this.publicador = publicador;
+        this.estatisticas = estatisticas;
+        this.versoes = versoes;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     public List<Evento> listarTodos() {
         return eventoRepository.findAll();
     }
 
+    /*
+     * Listagem paginada por keyset. Sem cursores devolve a primeira página;
+     * com 'apos' avança e com 'antes' volta uma página.
+     * Busca uma linha a mais que o tamanho pedido só para saber se existe
+     * página seguinte na direção da navegação.
+     */
+    public PaginaDTO<EventoResumoDTO> listarPagina(Long apos, Long antes, int tamanho) {
+        int tamanhoPagina = Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+        Limit limite = Limit.of(tamanhoPagina + 1);
+
+        if (antes != null) {
+            List<EventoResumoDTO> linhas = new ArrayList<>(eventoRepository.listarResumosAntes(antes, limite));
+            boolean temAnterior = linhas.size() > tamanhoPagina;
+            if (temAnterior) {
+                linhas.remove(linhas.size() - 1);
+            }
+            Collections.reverse(linhas);
+            return PaginaDTO.de(linhas, temAnterior, true, EventoResumoDTO::id);
+        }
+
+        List<EventoResumoDTO> linhas = new ArrayList<>(
+                eventoRepository.listarResumosApos(apos != null ? apos : 0L, limite));
+        boolean temProximo = linhas.size() > tamanhoPagina;
+        if (temProximo) {
+            linhas.remove(linhas.size() - 1);
+        }
+        return PaginaDTO.de(linhas, apos != null, temProximo, EventoResumoDTO::id);
+    }
+
+    /*
+     * Busca textual em nome e descrição, por relevância. A ordem do ranking
+     * não serve de cursor, então aqui a paginação é por número de página.
+     */
+    public ResultadoBuscaDTO buscarTexto(String termos, int pagina, int tamanho) {
+        String consulta = termos == null ? "" : termos.trim();
+        int numeroPagina = Math.max(0, pagina);
+        if (consulta.isEmpty()) {
+            return new ResultadoBuscaDTO(List.of(), consulta, numeroPagina, false);
+        }
+        int tamanhoPagina = Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+        List<EventoResumoDTO> linhas = new ArrayList<>(
+                buscaEventos.buscar(consulta, numeroPagina * tamanhoPagina, tamanhoPagina + 1));
+        boolean temProxima = linhas.size() > tamanhoPagina;
+        if (temProxima) {
+            linhas.remove(linhas.size() - 1);
+        }
+        return new ResultadoBuscaDTO(linhas, consulta, numeroPagina, temProxima);
+    }
+
     public Evento buscarPorId(Long id) {
         return eventoRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Evento não encontrado com ID: " + id));
     }
 
-    public Evento criarEvento(Evento evento, Long usuarioId) {
-        // 1. Validação de regra de negócio (nome duplicado)
-        validarNomeDuplicado(evento.getNome(), null);
+    // Versão da tabela para o ETag da listagem (valor da sequência, sem ler eventos)
+    public VersaoTabelaDTO versaoTabela() {
+        return new VersaoTabelaDTO(versoes.buscarVersao(VersaoTabelaRepository.EVENTOS));
+    }
+
+    public VersaoRegistroDTO versao(Long id) {
+        return eventoRepository.buscarVersao(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Evento não encontrado com ID: " + id));
+    }
 
-        // 2. Busca e associa o usuário (Integração)
-        Usuario criador = usuarioService.buscarPorId(usuarioId);
+    // Evento e contador do criador na mesma transação; a versão da tabela avança após o commit
+    @Transactional
+    public Evento criarEvento(Evento evento, Long usuarioId) {
+        // 1. Associa o usuário (Integração): referência via cache, sem SELECT
+        Usuario criador = usuarioService.referenciaPorId(usuarioId);
         evento.setUsuario(criador);
 
-        // 3. Salva o evento
-        return eventoRepository.save(evento);
+        // 2. Salva o evento (o nome duplicado é barrado pela restrição única do banco)
+        Evento salvo = salvar(evento);
+        estatisticas.somarEventos(usuarioId, 1);
+        versoes.avancar(VersaoTabelaRepository.EVENTOS);
+        publicador.publishEvent(EventoAlteradoEvent.criado(salvo));
+        return salvo;
     }
 
+    @Transactional
     public Evento atualizarEvento(Long id, Evento eventoAtualizado, Long usuarioId) {
-        // 1. Busca o evento (ou falha com 404)
+        return atualizarEvento(id, eventoAtualizado, usuarioId, null);
+    }
+
+    /*
+     * 'versaoEsperada' é a versão que o cliente leu (If-Match / campo oculto
+     * do formulário); nula = sem checagem. Mesmo assim o @Version protege a
+     * janela entre o SELECT e o UPDATE: o merge recusa uma versão já superada.
+     */
+    @Transactional
+    public Evento atualizarEvento(Long id, Evento eventoAtualizado, Long usuarioId, Long versaoEsperada) {
+        // 1. Busca o evento (ou falha com 404) e confere a versão
         Evento eventoExistente = buscarPorId(id);
+        if (versaoEsperada != null && !Objects.equals(versaoEsperada, eventoExistente.getVersao())) {
+            throw new ConflitoVersaoException(MENSAGEM_CONFLITO_VERSAO);
+        }
 
-        // 2. Validação de nome duplicado (ignorando o próprio ID)
-        validarNomeDuplicado(eventoAtualizado.getNome(), id);
+        // 2. Nada mudou (ex.: formulário reenviado): sem UPDATE, sem nova versão e sem EventoAlteradoEvent.
+        //    O ID do criador anterior vem do proxy, sem SELECT em usuarios.
+        Long criadorAnterior = eventoExistente.getUsuario().getId();
+        if (Objects.equals(eventoExistente.getNome(), eventoAtualizado.getNome())
+                && Objects.equals(eventoExistente.getDescricao(), eventoAtualizado.getDescricao())
+                && Objects.equals(criadorAnterior, usuarioId)) {
+            return eventoExistente;
+        }
 
-        // 3. Busca e associa o novo usuário (ou o mesmo)
-        Usuario criador = usuarioService.buscarPorId(usuarioId);
+        // 3. Associa o novo usuário (ou o mesmo), também só pela referência.
+        Usuario criador = usuarioService.referenciaPorId(usuarioId);
         eventoExistente.setUsuario(criador);
 
         // 4. Atualiza os dados
         eventoExistente.setNome(eventoAtualizado.getNome());
         eventoExistente.setDescricao(eventoAtualizado.getDescricao());
 
-        return eventoRepository.save(eventoExistente);
+        Evento salvo = salvar(eventoExistente);
+        estatisticas.trocarCriador(criadorAnterior, usuarioId);
+        versoes.avancar(VersaoTabelaRepository.EVENTOS);
+        publicador.publishEvent(EventoAlteradoEvent.atualizado(salvo));
+        return salvo;
     }
 
+    // Um único DELETE por ID: a contagem de linhas afetadas decide o 404.
+    // O contador do criador é descontado antes, na mesma transação (ID inexistente não desconta nada).
+    @Transactional
     public void deletarEvento(Long id) {
-        Evento eventoParaDeletar = buscarPorId(id);
-        eventoRepository.delete(eventoParaDeletar);
+        estatisticas.descontarEvento(id);
+        if (eventoRepository.excluirPorId(id) == 0) {
+            throw new RecursoNaoEncontradoException("Evento não encontrado com ID: " + id);
+        }
+        versoes.avancar(VersaoTabelaRepository.EVENTOS);
+        publicador.publishEvent(EventoAlteradoEvent.removido(id));
+    }
+
+    /*
+     * Exclusão em massa, em blocos de TAMANHO_BLOCO_EXCLUSAO IDs: por bloco,
+     * numa transação só, um SELECT ... FOR UPDATE dos IDs existentes, o desconto
+     * nos contadores dos criadores e um DELETE ... IN desses IDs.
+     * Cada bloco é confirmado sozinho. Como as linhas ficam travadas do SELECT ao
+     * commit, o relatório e os avisos de REMOVIDO trazem só o que este bloco excluiu:
+     * um ID excluído antes por outra requisição vai para os não encontrados.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // as transações são as dos blocos
+    public RelatorioExclusaoDTO excluirEventos(Collection<Long> ids) {
+        List<Long> distintos = new ArrayList<>(new LinkedHashSet<>(ids));
+        distintos.removeIf(Objects::isNull);
+
+        int excluidos = 0;
+        List<Long> naoEncontrados = new ArrayList<>();
+        for (int inicio = 0; inicio < distintos.size(); inicio += TAMANHO_BLOCO_EXCLUSAO) {
+            List<Long> bloco = distintos.subList(inicio, Math.min(inicio + TAMANHO_BLOCO_EXCLUSAO, distintos.size()));
+            Set<Long> existentes = excluirBloco(bloco);
+            excluidos += existentes.size();
+            for (Long id : bloco) {
+                if (existentes.contains(id)) {
+                    publicador.publishEvent(EventoAlteradoEvent.removido(id));
+                } else {
+                    naoEncontrados.add(id);
+                }
+            }
+        }
+        return new RelatorioExclusaoDTO(distintos.size(), excluidos, naoEncontrados);
+    }
+
+    // Devolve os IDs excluídos pelo bloco
+    private Set<Long> excluirBloco(List<Long> bloco) {
+        return transactionTemplate.execute(status -> {
+            Set<Long> existentes = new HashSet<>(eventoRepository.travarIdsExistentes(bloco));
+            if (!existentes.isEmpty()) {
+                estatisticas.descontarEventos(existentes);
+                eventoRepository.excluirPorIds(existentes);
+                versoes.avancar(VersaoTabelaRepository.EVENTOS);
+            }
+            return existentes;
+        });
     }
 
-    private void validarNomeDuplicado(String nome, Long idExcecao) {
-        Optional<Evento> conflito = eventoRepository.findByNome(nome);
-        if (conflito.isPresent() && (idExcecao == null || !conflito.get().getId().equals(idExcecao))) {
-            throw new ValidacaoException("O nome '" + nome + "' já está em uso por outro evento.");
+    /*
+     * Insere/atualiza em um único comando, sem o "SELECT por nome" antes.
+     * Consultar e depois inserir era sujeito a corrida (duas requisições
+     * simultâneas passavam na checagem); agora quem decide é a restrição
+     * única do banco, e a violação vira a mesma ValidacaoException de antes.
+     * O flush imediato garante que a violação apareça aqui, e não no commit.
+     */
+    private Evento salvar(Evento evento) {
+        try {
+            return eventoRepository.saveAndFlush(evento);
+        } catch (OptimisticLockingFailureException ex) {
+            throw new ConflitoVersaoException(MENSAGEM_CONFLITO_VERSAO);
+        } catch (DataIntegrityViolationException ex) {
+            if (ViolacaoRestricao.envolve(ex, Evento.RESTRICAO_NOME_UNICO)) {
+                throw new ValidacaoException("O nome '" + evento.getNome() + "' já está em uso por outro evento.");
+            }
+            throw ex;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,85 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
+import com.cliente.projeto.crudpb.repository.EventoRepository;
+import com.cliente.projeto.crudpb.repository.UsuarioRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/*
+ * Exportação em massa (CSV ou NDJSON) escrita direto no OutputStream da resposta.
+ * Cada linha vai do cursor do banco para o buffer de saída e é descartada:
+ * nada é acumulado, então o consumo de memória é o mesmo para 1 mil ou 10 milhões de linhas.
+ */
+@Service
+public class ExportacaoService {
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final EventoRepository eventoRepository;
+    private final UsuarioRepository usuarioRepository;
+    private final ObjectWriter escritorJson;
+
+    public ExportacaoService(EventoRepository eventoRepository,
+                             UsuarioRepository usuarioRepository,
+                             ObjectMapper objectMapper) {
+        this.eventoRepository = eventoRepository;
+        this.usuarioRepository = usuarioRepository;
+        this.escritorJson = objectMapper.writer();
+    }
+
+    // O stream precisa da transação aberta do início ao fim da leitura
+    @Transactional(readOnly = true)
+    public long exportarEventos(FormatoArquivo formato, OutputStream saida) throws IOException {
+        try (Stream<EventoResumoDTO> eventos = eventoRepository.streamResumos()) {
+            return escrever(eventos, formato, saida, List.of("id", "nome", "descricao", "criadorNome"),
+                    e -> Arrays.asList(String.valueOf(e.id()), e.nome(), e.descricao(), e.criadorNome()));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public long exportarUsuarios(FormatoArquivo formato, OutputStream saida) throws IOException {
+        try (Stream<UsuarioResumoDTO> usuarios = usuarioRepository.streamResumos()) {
+            return escrever(usuarios, formato, saida, List.of("id", "nome", "email"),
+                    u -> Arrays.asList(String.valueOf(u.id()), u.nome(), u.email()));
+        }
+    }
+
+    private <T> long escrever(Stream<T> linhas, FormatoArquivo formato, OutputStream saida,
+                              List<String> cabecalho, Function<T, List<String>> colunas) throws IOException {
+        // Arrays.asList aceita colunas nulas (ex.: descrição vazia); Csv.escapar as trata
+        // Sem close(): quem abriu o OutputStream (a resposta ou o GZIP) é quem o fecha
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+        if (formato == FormatoArquivo.CSV) {
+            escritor.write(String.join(",", cabecalho));
+            escritor.write('\n');
+        }
+
+        long total = 0;
+        for (T linha : (Iterable<T>) linhas::iterator) {
+            if (formato == FormatoArquivo.CSV) {
+                escritor.write(String.join(",", colunas.apply(linha).stream().map(Csv::escapar).toList()));
+            } else {
+                escritor.write(escritorJson.writeValueAsString(linha));
+            }
+            escritor.write('\n');
+            total++;
+        }
+        escritor.flush();
+        return total;
+    }
+}
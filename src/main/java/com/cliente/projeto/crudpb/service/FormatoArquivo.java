@@ -0,0 +1,38 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.exception.ValidacaoException;
+
+import java.util.Locale;
+
+// Formatos de arquivo aceitos na importação e gerados na exportação em massa
+public enum FormatoArquivo {
+
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String tipoConteudo;
+    private final String extensao;
+
+    FormatoArquivo(String tipoConteudo, String extensao) {
+        this.tipoConteudo = tipoConteudo;
+        this.extensao = extensao;
+    }
+
+    public String tipoConteudo() {
+        return tipoConteudo;
+    }
+
+    public String extensao() {
+        return extensao;
+    }
+
+    // Converte o parâmetro da requisição ("csv", "ndjson"), sem diferenciar maiúsculas
+    public static FormatoArquivo de(String valor) {
+        for (FormatoArquivo formato : values()) {
+            if (formato.extensao.equals(valor == null ? null : valor.trim().toLowerCase(Locale.ROOT))) {
+                return formato;
+            }
+        }
+        throw new ValidacaoException("Formato '" + valor + "' não suportado. Use csv ou ndjson.");
+    }
+}
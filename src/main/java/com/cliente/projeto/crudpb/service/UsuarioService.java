@@ -1,67 +1,222 @@
 package com.cliente.projeto.crudpb.service;
 
+import com.cliente.projeto.crudpb.config.CacheConfig;
+import com.cliente.projeto.crudpb.config.MetricasConfig;
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioListagemDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
+import com.cliente.projeto.crudpb.dto.VersaoTabelaDTO;
+import com.cliente.projeto.crudpb.event.UsuarioAlteradoEvent;
+import com.cliente.projeto.crudpb.exception.ConflitoVersaoException;
 import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
 import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.exception.ViolacaoRestricao;
 import com.cliente.projeto.crudpb.model.Usuario;
 import com.cliente.projeto.crudpb.repository.UsuarioRepository;
+import com.cliente.projeto.crudpb.repository.VersaoTabelaRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
 import java.util.Optional;
 
+// Transações: mesma regra de EventoService (só-leitura por padrão, escritas com @Transactional)
 @Service
+@Timed(MetricasConfig.METRICA_SERVICOS) // um timer por método público (tags class/method/exception)
+@Transactional(readOnly = true)
 public class UsuarioService {
 
+    public static final int LIMITE_BUSCA_MAXIMO = 20;
+    public static final int TAMANHO_PAGINA_PADRAO = 20;
+    public static final int TAMANHO_PAGINA_MAXIMO = 100;
+    static final String MENSAGEM_CONFLITO_VERSAO =
+            "O usuário foi alterado por outra pessoa. Recarregue a página e refaça a alteração.";
+
     private final UsuarioRepository usuarioRepository;
+    private final EstatisticasUsuarioService estatisticas;
+    private final VersaoTabelaRepository versoes;
+    private final ApplicationEventPublisher publicador;
 
     // Injeção de Dependência via Construtor (Clean Code)
-    public UsuarioService(UsuarioRepository usuarioRepository) {
+    public UsuarioService(UsuarioRepository usuarioRepository,
+                          EstatisticasUsuarioService estatisticas,
+                          VersaoTabelaRepository versoes,
+                          ApplicationEventPublisher publicador) {
         this.usuarioRepository = usuarioRepository;
+        this.estatisticas = estatisticas;
+        this.versoes = versoes;
+        this.publicador = publicador;
     }
 
     public List<Usuario> listarTodos() {
         return usuarioRepository.findAll();
     }
 
+    // Listagem paginada por keyset, com o total de eventos de cada usuário (mesmas regras de EventoService.listarPagina)
+    public PaginaDTO<UsuarioListagemDTO> listarPagina(Long apos, Long antes, int tamanho) {
+        int tamanhoPagina = Math.max(1, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+        Limit limite = Limit.of(tamanhoPagina + 1);
+
+        if (antes != null) {
+            List<UsuarioListagemDTO> linhas = new ArrayList<>(usuarioRepository.listarPaginaAntes(antes, limite));
+            boolean temAnterior = linhas.size() > tamanhoPagina;
+            if (temAnterior) {
+                linhas.remove(linhas.size() - 1);
+            }
+            Collections.reverse(linhas);
+            return PaginaDTO.de(linhas, temAnterior, true, UsuarioListagemDTO::id);
+        }
+
+        List<UsuarioListagemDTO> linhas = new ArrayList<>(
+                usuarioRepository.listarPaginaApos(apos != null ? apos : 0L, limite));
+        boolean temProximo = linhas.size() > tamanhoPagina;
+        if (temProximo) {
+            linhas.remove(linhas.size() - 1);
+        }
+        return PaginaDTO.de(linhas, apos != null, temProximo, UsuarioListagemDTO::id);
+    }
+
+    /*
+     * Busca por prefixo do nome para o seletor "type-ahead" do formulário de eventos.
+     * Devolve no máximo LIMITE_BUSCA_MAXIMO resultados, sem carregar entidades.
+     */
+    public List<UsuarioResumoDTO> buscarPorPrefixo(String prefixo, int limite) {
+        if (prefixo == null || prefixo.isBlank()) {
+            return List.of();
+        }
+        String padrao = escaparLike(prefixo.trim().toLowerCase(Locale.ROOT)) + "%";
+        int quantidade = Math.max(1, Math.min(limite, LIMITE_BUSCA_MAXIMO));
+        return usuarioRepository.buscarPorPrefixoDoNome(padrao, Limit.of(quantidade));
+    }
+
+    // Usado para pré-carregar apenas o usuário já selecionado no formulário.
+    // Fora do só-leitura de propósito (SUPPORTS: sem transação própria, lê do primário): preenche
+    // o cache de resumos, que não pode guardar uma cópia atrasada da réplica.
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public Optional<UsuarioResumoDTO> buscarResumo(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return usuarioRepository.buscarResumoPorId(id);
+    }
+
     public Usuario buscarPorId(Long id) {
         return usuarioRepository.findById(id)
                 .orElseThrow(() -> new RecursoNaoEncontradoException("Usuário não encontrado com ID: " + id));
     }
 
+    /*
+     * Para associar um usuário a outra entidade (ex.: criador do evento) basta a
+     * referência: a existência é conferida no cache de resumos e o getReferenceById
+     * devolve um proxy sem SELECT — no INSERT/UPDATE só o ID é usado.
+     */
+    public Usuario referenciaPorId(Long id) {
+        if (buscarResumo(id).isEmpty()) {
+            throw new RecursoNaoEncontradoException("Usuário não encontrado com ID: " + id);
+        }
+        return usuarioRepository.getReferenceById(id);
+    }
+
+    // Versões para o GET condicional (ETag/Last-Modified), sem carregar entidades
+    public VersaoTabelaDTO versaoTabela() {
+        return new VersaoTabelaDTO(versoes.buscarVersao(VersaoTabelaRepository.USUARIOS));
+    }
+
+    public VersaoRegistroDTO versao(Long id) {
+        return usuarioRepository.buscarVersao(id)
+                .orElseThrow(() -> new RecursoNaoEncontradoException("Usuário não encontrado com ID: " + id));
+    }
+
+    // Usuário e linha de estatísticas (zerada) na mesma transação; a versão da tabela avança após o commit
+    @Transactional
     public Usuario criarUsuario(Usuario usuario) {
-        // Regra de negócio (não pode ter e-mail duplicado)
-        validarEmailDuplicado(usuario.getEmail(), null);
-        return usuarioRepository.save(usuario);
+        // Regra de negócio (não pode ter e-mail duplicado): garantida pela restrição única do banco
+        Usuario salvo = salvar(usuario);
+        estatisticas.registrarUsuario(salvo.getId());
+        versoes.avancar(VersaoTabelaRepository.USUARIOS);
+        publicador.publishEvent(UsuarioAlteradoEvent.criado(salvo));
+        return salvo;
     }
 
+    // Uma transação só: a entidade lida no findById continua gerenciada e o
+    // flush emite apenas o UPDATE (sem o SELECT extra do merge)
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CACHE_USUARIOS, key = "#id")
     public Usuario atualizarUsuario(Long id, Usuario usuarioAtualizado) {
-        // Busca o usuário (ou falha com 404)
+        return atualizarUsuario(id, usuarioAtualizado, null);
+    }
+
+    // 'versaoEsperada' nula = sem checagem (mesma regra de EventoService.atualizarEvento)
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CACHE_USUARIOS, key = "#id")
+    public Usuario atualizarUsuario(Long id, Usuario usuarioAtualizado, Long versaoEsperada) {
+        // Busca o usuário (ou falha com 404) e confere a versão
         Usuario usuarioExistente = buscarPorId(id);
+        if (versaoEsperada != null && !Objects.equals(versaoEsperada, usuarioExistente.getVersao())) {
+            throw new ConflitoVersaoException(MENSAGEM_CONFLITO_VERSAO);
+        }
 
-        // Validação de e-mail duplicado (ignorando o próprio ID)
-        validarEmailDuplicado(usuarioAtualizado.getEmail(), id);
+        // Nada mudou: sem UPDATE, sem nova versão e sem UsuarioAlteradoEvent
+        if (Objects.equals(usuarioExistente.getNome(), usuarioAtualizado.getNome())
+                && Objects.equals(usuarioExistente.getEmail(), usuarioAtualizado.getEmail())) {
+            return usuarioExistente;
+        }
 
         // Atualiza os dados
         usuarioExistente.setNome(usuarioAtualizado.getNome());
         usuarioExistente.setEmail(usuarioAtualizado.getEmail());
 
-        return usuarioRepository.save(usuarioExistente);
+        // E-mail duplicado (de outro usuário) é barrado pela restrição única
+        Usuario salvo = salvar(usuarioExistente);
+        versoes.avancar(VersaoTabelaRepository.USUARIOS);
+        publicador.publishEvent(UsuarioAlteradoEvent.atualizado(salvo));
+        return salvo;
     }
 
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.CACHE_USUARIOS, key = "#id")
     public void deletarUsuario(Long id) {
-        // Verifica se existe antes de deletar (ou falha com 404)
-        Usuario usuarioParaDeletar = buscarPorId(id);
-        usuarioRepository.delete(usuarioParaDeletar);
+        // Um único DELETE; nenhuma linha afetada = não existia (404)
+        if (usuarioRepository.excluirPorId(id) == 0) {
+            throw new RecursoNaoEncontradoException("Usuário não encontrado com ID: " + id);
+        }
+        versoes.avancar(VersaoTabelaRepository.USUARIOS);
+        publicador.publishEvent(UsuarioAlteradoEvent.removido(id));
     }
 
-    // Método de validação privado (Clean Code)
-    private void validarEmailDuplicado(String email, Long idExcecao) {
-        Optional<Usuario> conflito = usuarioRepository.findByEmail(email);
+    // Escapa os curingas do LIKE para que "50%" seja buscado literalmente
+    private String escaparLike(String texto) {
+        return texto.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 
-        // Se encontrou um usuário com o mesmo e-mail E
-        // (se o ID desse usuário for diferente do ID que estamos atualizando)
-        if (conflito.isPresent() && (idExcecao == null || !conflito.get().getId().equals(idExcecao))) {
-            throw new ValidacaoException("O e-mail '" + email + "' já está em uso por outro usuário.");
+    /*
+     * Grava em um único comando, sem carregar antes o usuário dono do e-mail.
+     * Se o e-mail já pertence a outro usuário o banco recusa (uk_usuarios_email)
+     * e a violação vira a mesma ValidacaoException de antes. O próprio usuário
+     * mantendo o seu e-mail não viola a restrição.
+     */
+    private Usuario salvar(Usuario usuario) {
+        try {
+            return usuarioRepository.saveAndFlush(usuario);
+        } catch (OptimisticLockingFailureException ex) {
+            throw new ConflitoVersaoException(MENSAGEM_CONFLITO_VERSAO);
+        } catch (DataIntegrityViolationException ex) {
+            if (ViolacaoRestricao.envolve(ex, Usuario.RESTRICAO_EMAIL_UNICO)) {
+                throw new ValidacaoException("O e-mail '" + usuario.getEmail() + "' já está em uso por outro usuário.");
+            }
+            throw ex;
         }
     }
-}
\ No newline at end of file
+}
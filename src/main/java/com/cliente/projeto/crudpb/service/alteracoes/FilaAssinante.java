@@ -0,0 +1,84 @@
+package com.cliente.projeto.crudpb.service.alteracoes;
+
+import com.cliente.projeto.crudpb.dto.AlteracaoEventoDTO;
+import com.cliente.projeto.crudpb.event.EventoAlteradoEvent.Tipo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/*
+ * O que ainda não foi enviado a uma listagem aberta. Limitada e "coalescente":
+ * guarda no máximo uma alteração por evento (a mais recente), então um assinante
+ * lento recebe o estado final das linhas, não o caminho até ele. Passando de
+ * 'capacidade' eventos distintos, a fila é descartada e o assinante só recebe
+ * o aviso para recarregar a página (estado final: depois dele nada mais é aceito).
+ *
+ * Quem oferece nunca espera o envio: quando oferecer/pulsar devolve true, cabe
+ * a ele agendar o esvaziamento (uma tarefa por vez por assinante), que chama
+ * retirar() até receber null.
+ */
+public class FilaAssinante {
+
+    private final int capacidade;
+    private final LinkedHashMap<Long, AlteracaoEventoDTO> pendentes = new LinkedHashMap<>();
+    private boolean recarregar;
+    private boolean pulso;
+    private boolean agendada;
+
+    public FilaAssinante(int capacidade) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade da fila de alterações deve ser positiva: " + capacidade);
+        }
+        this.capacidade = capacidade;
+    }
+
+    // true = quem chamou deve agendar o esvaziamento
+    public synchronized boolean oferecer(AlteracaoEventoDTO alteracao) {
+        if (recarregar) {
+            return false; // a página será recarregada de qualquer forma
+        }
+        // remove + put: a linha vai para o fim, então as sequências saem em ordem crescente
+        AlteracaoEventoDTO anterior = pendentes.remove(alteracao.id());
+        boolean criacaoNaoEnviada = anterior != null && anterior.tipo() == Tipo.CRIADO && alteracao.tipo() == Tipo.ATUALIZADO;
+        pendentes.put(alteracao.id(), criacaoNaoEnviada ? alteracao.comTipo(Tipo.CRIADO) : alteracao);
+        if (pendentes.size() > capacidade) {
+            pendentes.clear();
+            recarregar = true;
+        }
+        return agendar();
+    }
+
+    // Comentário SSE periódico: mantém a conexão viva nos proxies e revela clientes que já saíram
+    public synchronized boolean pulsar() {
+        pulso = true;
+        return agendar();
+    }
+
+    // Tudo o que está pendente, de uma vez; null (e fila desagendada) quando não há nada
+    public synchronized Lote retirar() {
+        if (pendentes.isEmpty() && !recarregar && !pulso) {
+            agendada = false;
+            return null;
+        }
+        Lote lote = new Lote(new ArrayList<>(pendentes.values()), recarregar, pulso);
+        pendentes.clear();
+        pulso = false;
+        return lote;
+    }
+
+    public synchronized int pendentes() {
+        return pendentes.size();
+    }
+
+    private boolean agendar() {
+        if (agendada) {
+            return false;
+        }
+        agendada = true;
+        return true;
+    }
+
+    public record Lote(List<AlteracaoEventoDTO> alteracoes, boolean recarregar, boolean pulso) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.cliente.projeto.crudpb.service.auditoria;
+
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/*
+ * Fila circular de tamanho fixo, sem trava: vários produtores (threads das
+ * requisições) e um único consumidor (o gravador do diário).
+ *
+ * O produtor reserva uma posição com CAS em 'proximaEscrita' e publica o
+ * registro com uma escrita volátil na posição. O consumidor lê em ordem,
+ * esvazia a posição e só então avança 'proximaLeitura', liberando-a para a
+ * próxima volta. Fila cheia não espera: oferecer() devolve false na hora.
+ */
+public class AnelAuditoria {
+
+    private final AtomicReferenceArray<RegistroAuditoriaDTO> posicoes;
+    private final int mascara;
+    private final AtomicLong proximaEscrita = new AtomicLong();
+    private final AtomicLong proximaLeitura = new AtomicLong(); // só o consumidor altera
+
+    // A capacidade é arredondada para a próxima potência de 2 (índice = sequência & máscara)
+    public AnelAuditoria(int capacidade) {
+        int tamanho = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(2, capacidade) - 1));
+        this.posicoes = new AtomicReferenceArray<>(tamanho);
+        this.mascara = tamanho - 1;
+    }
+
+    public boolean oferecer(RegistroAuditoriaDTO registro) {
+        long posicao;
+        do {
+            posicao = proximaEscrita.get();
+            if (posicao - proximaLeitura.get() >= posicoes.length()) {
+                return false;
+            }
+        } while (!proximaEscrita.compareAndSet(posicao, posicao + 1));
+        posicoes.set((int) posicao & mascara, registro);
+        return true;
+    }
+
+    /*
+     * Entrega ao destino até 'maximo' registros, na ordem de reserva. Para na
+     * primeira posição reservada e ainda não publicada: ela sai na próxima chamada.
+     * Só o consumidor (uma thread) pode chamar.
+     */
+    public int drenar(Consumer<RegistroAuditoriaDTO> destino, int maximo) {
+        long leitura = proximaLeitura.get();
+        int entregues = 0;
+        while (entregues < maximo) {
+            int indice = (int) leitura & mascara;
+            RegistroAuditoriaDTO registro = posicoes.get(indice);
+            if (registro == null) {
+                break;
+            }
+            posicoes.set(indice, null);
+            proximaLeitura.set(++leitura);
+            destino.accept(registro);
+            entregues++;
+        }
+        return entregues;
+    }
+
+    public int capacidade() {
+        return posicoes.length();
+    }
+
+    // Reservados e ainda não drenados (aproximado sob concorrência)
+    public long pendentes() {
+        return Math.max(0, proximaEscrita.get() - proximaLeitura.get());
+    }
+}
@@ -0,0 +1,415 @@
+package com.cliente.projeto.crudpb.service.auditoria;
+
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Entidade;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Operacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/*
+ * Diário de auditoria em disco: arquivos de tamanho fixo ("segmentos") mapeados
+ * em memória, só com acréscimos. Cheio o segmento, abre-se outro; o nome de cada
+ * um é a sequência do seu primeiro registro (auditoria-00000000000000000001.seg).
+ *
+ * Formato de cada registro (big-endian):
+ *   int tamanho do corpo (0 = fim dos dados do segmento) | int CRC32 do corpo |
+ *   long sequência | long instante (epoch ms) | byte entidade | byte operação |
+ *   long ID da entidade | texto autor | byte nº de campos | (texto chave, texto valor)...
+ * onde texto = unsigned short com o nº de bytes + UTF-8.
+ *
+ * O tamanho é gravado por último: um registro pela metade (queda no meio da
+ * escrita) falha no CRC, e a leitura e a recuperação param nele. Gravação: uma
+ * thread só (o gravador do AuditoriaService). Leitura: qualquer thread, só com
+ * leituras absolutas nos mapeamentos compartilhados. Um arquivo de trava impede
+ * dois processos no mesmo diretório.
+ *
+ * Índice: o do segmento atual fica em memória (entidade -> deslocamentos dos
+ * registros dela). Na rotação ele vai para um arquivo ao lado do segmento
+ * (auditoria-...idx), com entradas de 13 bytes ordenadas por entidade e ID
+ * (byte entidade | long ID | int deslocamento), e o histórico acha as entradas
+ * por busca binária. Segmentos fechados ficam mapeados só para leitura uma vez,
+ * e a recuperação só percorre o último segmento (ou um fechado sem índice, que
+ * tem o índice refeito). Passado o limite de segmentos retidos, os mais antigos
+ * são apagados.
+ */
+public class DiarioAuditoria implements Closeable {
+
+    static final String PREFIXO = "auditoria-";
+    static final String SUFIXO = ".seg";
+    static final String SUFIXO_INDICE = ".idx";
+    private static final int CABECALHO = 8; // tamanho + CRC
+    private static final int MAXIMO_TEXTO = 0xFFFF;
+    private static final int MAXIMO_CAMPOS = 0xFF;
+    private static final int ENTRADA_INDICE = 1 + 8 + 4; // entidade + ID + deslocamento
+    private static final Comparator<Chave> ORDEM_INDICE =
+            Comparator.comparing(Chave::entidade).thenComparingLong(Chave::entidadeId);
+
+    private final Path diretorio;
+    private final int tamanhoSegmento;
+    private final int segmentosRetidos;
+    private final FileChannel canalTrava;
+    private final FileLock trava;
+    // Chave = sequência inicial do segmento
+    private final ConcurrentNavigableMap<Long, SegmentoFechado> fechados = new ConcurrentSkipListMap<>();
+    private volatile SegmentoAtual atual; // nulo até a primeira gravação em um diretório vazio
+    private MappedByteBuffer segmentoAtual; // mapeamento de escrita, só do gravador
+    private long proximaSequencia = 1;
+
+    public DiarioAuditoria(Path diretorio, int tamanhoSegmento, int segmentosRetidos) throws IOException {
+        if (segmentosRetidos < 1) {
+            throw new IllegalArgumentException("É preciso reter ao menos um segmento (recebido " + segmentosRetidos + ")");
+        }
+        this.diretorio = diretorio;
+        this.tamanhoSegmento = tamanhoSegmento;
+        this.segmentosRetidos = segmentosRetidos;
+        Files.createDirectories(diretorio);
+        this.canalTrava = FileChannel.open(diretorio.resolve("diario.lock"),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.trava = travar();
+        recuperar();
+    }
+
+    // Grava o registro com a próxima sequência e devolve essa sequência
+    public long anexar(RegistroAuditoriaDTO registro) throws IOException {
+        if (registro.dados().size() > MAXIMO_CAMPOS) {
+            throw new IllegalArgumentException("Registro com " + registro.dados().size() + " campos (máximo " + MAXIMO_CAMPOS + ")");
+        }
+        byte[] autor = texto(registro.autor());
+        List<byte[]> campos = new ArrayList<>(registro.dados().size() * 2);
+        int tamanho = 8 + 8 + 1 + 1 + 8 + 2 + autor.length + 1;
+        for (Map.Entry<String, String> campo : registro.dados().entrySet()) {
+            byte[] chave = texto(campo.getKey());
+            byte[] valor = texto(campo.getValue());
+            campos.add(chave);
+            campos.add(valor);
+            tamanho += 2 + chave.length + 2 + valor.length;
+        }
+        if (CABECALHO + tamanho > tamanhoSegmento) {
+            throw new IllegalArgumentException("Registro de " + tamanho + " bytes não cabe em um segmento de " + tamanhoSegmento);
+        }
+        if (segmentoAtual == null || segmentoAtual.remaining() < CABECALHO + tamanho) {
+            rotacionar();
+        }
+
+        long sequencia = proximaSequencia;
+        int inicio = segmentoAtual.position();
+        ByteBuffer corpo = segmentoAtual.slice(inicio + CABECALHO, tamanho);
+        corpo.putLong(sequencia)
+                .putLong(registro.instante().toEpochMilli())
+                .put((byte) registro.entidade().ordinal())
+                .put((byte) registro.operacao().ordinal())
+                .putLong(registro.entidadeId());
+        colocarTexto(corpo, autor);
+        corpo.put((byte) registro.dados().size());
+        campos.forEach(bytes -> colocarTexto(corpo, bytes));
+
+        segmentoAtual.putInt(inicio + 4, crc(segmentoAtual.slice(inicio + CABECALHO, tamanho)));
+        segmentoAtual.putInt(inicio, tamanho);
+        segmentoAtual.position(inicio + CABECALHO + tamanho);
+        indexar(atual.indice(), registro.entidade(), registro.entidadeId(), inicio);
+        proximaSequencia++;
+        return sequencia;
+    }
+
+    // Leva ao disco o que foi gravado no segmento atual (os anteriores já foram na rotação)
+    public void forcar() {
+        if (segmentoAtual != null) {
+            segmentoAtual.force();
+        }
+    }
+
+    // Todas as alterações de uma entidade, da mais antiga para a mais recente
+    public List<RegistroAuditoriaDTO> historico(Entidade entidade, long entidadeId) {
+        Chave chave = new Chave(entidade, entidadeId);
+        // O atual é lido antes: na rotação o segmento entra em 'fechados' antes de 'atual' mudar,
+        // então cada segmento é lido uma vez só, pelo índice em arquivo ou pelo em memória
+        SegmentoAtual instantaneo = atual;
+        List<RegistroAuditoriaDTO> historico = new ArrayList<>();
+        long limite = instantaneo == null ? Long.MAX_VALUE : instantaneo.inicio();
+        for (SegmentoFechado fechado : fechados.headMap(limite).values()) {
+            for (int deslocamento : fechado.deslocamentos(chave)) {
+                historico.add(lerRegistro(fechado.registros(), deslocamento));
+            }
+        }
+        if (instantaneo != null) {
+            for (int deslocamento : instantaneo.indice().getOrDefault(chave, List.of())) {
+                historico.add(lerRegistro(instantaneo.leitura(), deslocamento));
+            }
+        }
+        return historico;
+    }
+
+    public long ultimaSequencia() {
+        return proximaSequencia - 1;
+    }
+
+    @Override
+    public void close() throws IOException {
+        forcar();
+        trava.release();
+        canalTrava.close();
+    }
+
+    private FileLock travar() throws IOException {
+        FileLock obtida;
+        try {
+            obtida = canalTrava.tryLock();
+        } catch (OverlappingFileLockException ex) {
+            obtida = null; // outro diário desta mesma JVM
+        }
+        if (obtida == null) {
+            canalTrava.close();
+            throw new IllegalStateException("O diário de auditoria em " + diretorio + " já está aberto por outro processo");
+        }
+        return obtida;
+    }
+
+    // Abre os segmentos fechados pelo índice em arquivo e continua do último registro válido
+    // do último segmento (o resto dele é descartado)
+    private void recuperar() throws IOException {
+        List<Path> segmentos = segmentos();
+        if (segmentos.isEmpty()) {
+            return;
+        }
+        int excedentes = Math.max(0, segmentos.size() - segmentosRetidos);
+        for (Path segmento : segmentos.subList(0, excedentes)) {
+            apagar(segmento);
+        }
+        for (Path segmento : segmentos.subList(excedentes, segmentos.size() - 1)) {
+            fechar(segmento, null);
+        }
+        Path caminho = segmentos.get(segmentos.size() - 1);
+        segmentoAtual = mapear(caminho, FileChannel.MapMode.READ_WRITE);
+        Map<Chave, List<Integer>> indice = new ConcurrentHashMap<>();
+        long[] ultimaSequencia = {sequenciaInicial(caminho) - 1};
+        segmentoAtual.position(percorrer(segmentoAtual, (registro, posicao) -> {
+            indexar(indice, registro.entidade(), registro.entidadeId(), posicao);
+            ultimaSequencia[0] = registro.sequencia();
+        }));
+        atual = new SegmentoAtual(sequenciaInicial(caminho), caminho, segmentoAtual.asReadOnlyBuffer(), indice);
+        proximaSequencia = ultimaSequencia[0] + 1;
+    }
+
+    // Uma thread grava; as listas copy-on-write deixam o histórico ler enquanto isso
+    private static void indexar(Map<Chave, List<Integer>> indice, Entidade entidade, long entidadeId, int deslocamento) {
+        indice.computeIfAbsent(new Chave(entidade, entidadeId), chave -> new CopyOnWriteArrayList<>())
+                .add(deslocamento);
+    }
+
+    private void rotacionar() throws IOException {
+        forcar();
+        SegmentoAtual anterior = atual;
+        if (anterior != null) {
+            fechar(anterior.caminho(), anterior);
+        }
+        Path novo = diretorio.resolve(String.format("%s%020d%s", PREFIXO, proximaSequencia, SUFIXO));
+        try (FileChannel canal = FileChannel.open(novo,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            segmentoAtual = canal.map(FileChannel.MapMode.READ_WRITE, 0, tamanhoSegmento);
+        }
+        atual = new SegmentoAtual(proximaSequencia, novo, segmentoAtual.asReadOnlyBuffer(), new ConcurrentHashMap<>());
+        while (fechados.size() >= segmentosRetidos) {
+            Map.Entry<Long, SegmentoFechado> maisAntigo = fechados.firstEntry();
+            apagar(maisAntigo.getValue().caminho());
+            fechados.remove(maisAntigo.getKey());
+        }
+    }
+
+    // Grava o índice do segmento (o do segmento recém-cheio, ou refeito lendo o segmento quando
+    // não há arquivo válido) e deixa o segmento mapeado para leitura no mapa dos fechados
+    private void fechar(Path segmento, SegmentoAtual cheio) throws IOException {
+        Path arquivoIndice = caminhoIndice(segmento);
+        ByteBuffer registros;
+        if (cheio != null) {
+            registros = cheio.leitura();
+            gravarIndice(arquivoIndice, cheio.indice());
+        } else {
+            registros = mapear(segmento, FileChannel.MapMode.READ_ONLY);
+            if (!Files.exists(arquivoIndice) || Files.size(arquivoIndice) % ENTRADA_INDICE != 0) {
+                Map<Chave, List<Integer>> indice = new HashMap<>();
+                percorrer(registros, (registro, posicao) ->
+                        indexar(indice, registro.entidade(), registro.entidadeId(), posicao));
+                gravarIndice(arquivoIndice, indice);
+            }
+        }
+        fechados.put(sequenciaInicial(segmento),
+                new SegmentoFechado(segmento, registros, mapear(arquivoIndice, FileChannel.MapMode.READ_ONLY)));
+    }
+
+    // Arquivo temporário + troca atômica: uma queda no meio deixa o índice antigo (ou nenhum), nunca um pela metade
+    private static void gravarIndice(Path arquivoIndice, Map<Chave, List<Integer>> indice) throws IOException {
+        int entradas = indice.values().stream().mapToInt(List::size).sum();
+        ByteBuffer conteudo = ByteBuffer.allocate(entradas * ENTRADA_INDICE);
+        indice.keySet().stream().sorted(ORDEM_INDICE).forEach(chave -> {
+            for (int deslocamento : indice.get(chave)) {
+                conteudo.put((byte) chave.entidade().ordinal()).putLong(chave.entidadeId()).putInt(deslocamento);
+            }
+        });
+        conteudo.flip();
+        Path temporario = arquivoIndice.resolveSibling(arquivoIndice.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporario, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (conteudo.hasRemaining()) {
+                canal.write(conteudo);
+            }
+            canal.force(true);
+        }
+        Files.move(temporario, arquivoIndice, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // Índice primeiro: uma queda entre as duas exclusões deixa um segmento sem índice, que a recuperação refaz
+    private static void apagar(Path segmento) throws IOException {
+        Files.deleteIfExists(caminhoIndice(segmento));
+        Files.delete(segmento);
+    }
+
+    private static Path caminhoIndice(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return segmento.resolveSibling(nome.substring(0, nome.length() - SUFIXO.length()) + SUFIXO_INDICE);
+    }
+
+    // Só entram nos índices registros já validados (gravados aqui ou conferidos na recuperação)
+    private static RegistroAuditoriaDTO lerRegistro(ByteBuffer segmento, int deslocamento) {
+        return ler(segmento.slice(deslocamento + CABECALHO, segmento.getInt(deslocamento)));
+    }
+
+    private List<Path> segmentos() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos
+                    .filter(arquivo -> arquivo.getFileName().toString().startsWith(PREFIXO)
+                            && arquivo.getFileName().toString().endsWith(SUFIXO))
+                    .sorted() // sequência com zeros à esquerda: ordem do nome = ordem de gravação
+                    .toList();
+        }
+    }
+
+    private static long sequenciaInicial(Path segmento) {
+        String nome = segmento.getFileName().toString();
+        return Long.parseLong(nome.substring(PREFIXO.length(), nome.length() - SUFIXO.length()));
+    }
+
+    // O mapeamento continua válido depois que o canal é fechado
+    private static MappedByteBuffer mapear(Path segmento, FileChannel.MapMode modo) throws IOException {
+        StandardOpenOption[] opcoes = modo == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[] {StandardOpenOption.READ}
+                : new StandardOpenOption[] {StandardOpenOption.READ, StandardOpenOption.WRITE};
+        try (FileChannel canal = FileChannel.open(segmento, opcoes)) {
+            return canal.map(modo, 0, canal.size());
+        }
+    }
+
+    // Entrega os registros válidos do segmento (com a posição de cada um) e devolve a posição logo após o último
+    private static int percorrer(ByteBuffer segmento, ObjIntConsumer<RegistroAuditoriaDTO> destino) {
+        int posicao = 0;
+        while (posicao + CABECALHO <= segmento.limit()) {
+            int tamanho = segmento.getInt(posicao);
+            if (tamanho <= 0 || posicao + CABECALHO + tamanho > segmento.limit()) {
+                break;
+            }
+            ByteBuffer corpo = segmento.slice(posicao + CABECALHO, tamanho);
+            if (crc(corpo.duplicate()) != segmento.getInt(posicao + 4)) {
+                break;
+            }
+            destino.accept(ler(corpo), posicao);
+            posicao += CABECALHO + tamanho;
+        }
+        return posicao;
+    }
+
+    private static RegistroAuditoriaDTO ler(ByteBuffer corpo) {
+        long sequencia = corpo.getLong();
+        Instant instante = Instant.ofEpochMilli(corpo.getLong());
+        Entidade entidade = Entidade.values()[corpo.get()];
+        Operacao operacao = Operacao.values()[corpo.get()];
+        long entidadeId = corpo.getLong();
+        String autor = lerTexto(corpo);
+        int quantidade = Byte.toUnsignedInt(corpo.get());
+        Map<String, String> dados = new LinkedHashMap<>();
+        for (int i = 0; i < quantidade; i++) {
+            dados.put(lerTexto(corpo), lerTexto(corpo));
+        }
+        return new RegistroAuditoriaDTO(sequencia, instante, entidade, operacao, entidadeId, autor, dados);
+    }
+
+    private static int crc(ByteBuffer corpo) {
+        CRC32 crc = new CRC32();
+        crc.update(corpo);
+        return (int) crc.getValue();
+    }
+
+    private static byte[] texto(String valor) {
+        byte[] bytes = valor.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAXIMO_TEXTO) {
+            throw new IllegalArgumentException("Texto de " + bytes.length + " bytes excede o limite do registro de auditoria");
+        }
+        return bytes;
+    }
+
+    private static void colocarTexto(ByteBuffer corpo, byte[] bytes) {
+        corpo.putShort((short) bytes.length).put(bytes);
+    }
+
+    private static String lerTexto(ByteBuffer corpo) {
+        byte[] bytes = new byte[Short.toUnsignedInt(corpo.getShort())];
+        corpo.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private record Chave(Entidade entidade, long entidadeId) {
+    }
+
+    // 'leitura' é uma visão só de leitura do mapeamento de escrita; o índice é o deste segmento
+    private record SegmentoAtual(long inicio, Path caminho, ByteBuffer leitura, Map<Chave, List<Integer>> indice) {
+    }
+
+    private record SegmentoFechado(Path caminho, ByteBuffer registros, ByteBuffer indice) {
+
+        // Busca binária pela primeira entrada da chave; as dela vêm em seguida, na ordem de gravação
+        List<Integer> deslocamentos(Chave chave) {
+            int inicio = 0;
+            int fim = indice.limit() / ENTRADA_INDICE;
+            while (inicio < fim) {
+                int meio = (inicio + fim) >>> 1;
+                if (ORDEM_INDICE.compare(entrada(meio), chave) < 0) {
+                    inicio = meio + 1;
+                } else {
+                    fim = meio;
+                }
+            }
+            List<Integer> deslocamentos = new ArrayList<>();
+            for (int i = inicio; i < indice.limit() / ENTRADA_INDICE && entrada(i).equals(chave); i++) {
+                deslocamentos.add(indice.getInt(i * ENTRADA_INDICE + 9));
+            }
+            return deslocamentos;
+        }
+
+        private Chave entrada(int i) {
+            return new Chave(Entidade.values()[indice.get(i * ENTRADA_INDICE)], indice.getLong(i * ENTRADA_INDICE + 1));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.cliente.projeto.crudpb.service.busca;
+
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+
+import java.util.List;
+
+/*
+ * Busca textual em nome e descrição dos eventos, em ordem de relevância
+ * (o nome pesa mais que a descrição). A implementação é escolhida pelo
+ * banco em uso: tsvector + GIN no PostgreSQL, índice invertido em memória
+ * nos demais (H2). Veja BuscaConfig.
+ */
+public interface BuscaEventos {
+
+    // Devolve até 'quantidade' resultados a partir da posição 'deslocamento' do ranking
+    List<EventoResumoDTO> buscar(String termos, int deslocamento, int quantidade);
+}
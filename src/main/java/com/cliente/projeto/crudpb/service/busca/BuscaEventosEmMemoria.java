@@ -0,0 +1,84 @@
+package com.cliente.projeto.crudpb.service.busca;
+
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.event.EventoAlteradoEvent;
+import com.cliente.projeto.crudpb.repository.EventoRepository;
+import com.cliente.projeto.crudpb.roteamento.LeituraNaPrimaria;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/*
+ * Busca para bancos sem full-text utilizável (H2): índice invertido na JVM,
+ * montado uma vez na subida a partir do banco e mantido em dia pelos
+ * EventoAlteradoEvent, aplicados só depois do commit.
+ *
+ * O índice devolve apenas os IDs da página; as linhas vêm de uma consulta
+ * por PK (WHERE id IN ...), então os dados exibidos são sempre os do banco.
+ */
+public class BuscaEventosEmMemoria implements BuscaEventos {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaEventosEmMemoria.class);
+
+    private final IndiceInvertido indice = new IndiceInvertido();
+    private final EventoRepository eventoRepository;
+    private final TransactionTemplate transacaoLeitura;
+
+    public BuscaEventosEmMemoria(EventoRepository eventoRepository, PlatformTransactionManager transactionManager) {
+        this.eventoRepository = eventoRepository;
+        this.transacaoLeitura = new TransactionTemplate(transactionManager);
+        this.transacaoLeitura.setReadOnly(true);
+    }
+
+    // Lê a tabela inteira pelo cursor da exportação (sem acumular entidades).
+    // Do primário mesmo com réplica: o que faltasse aqui só voltaria a entrar no índice na próxima alteração.
+    public void carregar() {
+        try (LeituraNaPrimaria.Escopo escopo = LeituraNaPrimaria.abrir()) {
+            transacaoLeitura.executeWithoutResult(status -> {
+                try (Stream<EventoResumoDTO> eventos = eventoRepository.streamResumos()) {
+                    eventos.forEach(evento -> indice.indexar(evento.id(), evento.nome(), evento.descricao()));
+                }
+            });
+        }
+        log.info("Índice de busca em memória carregado com {} eventos", indice.tamanho());
+    }
+
+    // fallbackExecution: quem publica fora de transação (ex.: saveAndFlush sozinho) também é ouvido
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoAlterarEvento(EventoAlteradoEvent alteracao) {
+        if (alteracao.tipo() == EventoAlteradoEvent.Tipo.REMOVIDO) {
+            indice.remover(alteracao.id());
+        } else {
+            indice.indexar(alteracao.id(), alteracao.nome(), alteracao.descricao());
+        }
+    }
+
+    @Override
+    public List<EventoResumoDTO> buscar(String termos, int deslocamento, int quantidade) {
+        List<Long> ids = indice.buscar(termos, deslocamento, quantidade);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, EventoResumoDTO> porId = new HashMap<>();
+        for (EventoResumoDTO resumo : eventoRepository.listarResumosPorIds(ids)) {
+            porId.put(resumo.id(), resumo);
+        }
+        // Recoloca na ordem do ranking; um ID removido entre as duas leituras simplesmente some
+        List<EventoResumoDTO> resultado = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            EventoResumoDTO resumo = porId.get(id);
+            if (resumo != null) {
+                resultado.add(resumo);
+            }
+        }
+        return resultado;
+    }
+}
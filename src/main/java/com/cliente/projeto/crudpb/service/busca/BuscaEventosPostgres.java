@@ -0,0 +1,45 @@
+package com.cliente.projeto.crudpb.service.busca;
+
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+/*
+ * Busca textual do PostgreSQL: coluna tsvector GERADA a partir de nome (peso A)
+ * e descrição (peso B), com índice GIN. Por ser coluna gerada, o banco a mantém
+ * em todo INSERT/UPDATE — inclusive os da importação em massa — sem código aqui.
+ * A coluna e o índice vêm da migração db/migration/postgresql/V3__busca_textual.sql.
+ *
+ * A consulta usa websearch_to_tsquery (aceita o que o usuário digita, com
+ * aspas e "-termo"). O GIN acha as linhas do "@@" sem varrer a tabela; todas
+ * elas são ranqueadas (ts_rank lê o tsvector de cada uma), e o ORDER BY com
+ * LIMIT vira um top-N heapsort: só OFFSET + LIMIT linhas ficam em memória,
+ * não o conjunto todo. Assim a página 1 é de fato a mais relevante, e toda
+ * página é alcançável.
+ */
+public class BuscaEventosPostgres implements BuscaEventos {
+
+    private static final String SQL_BUSCA = """
+            SELECT e.id, e.nome, e.descricao, u.nome AS criador_nome
+            FROM eventos e
+            JOIN usuarios u ON u.id = e.usuario_id,
+                 websearch_to_tsquery('portuguese', ?) consulta
+            WHERE e.busca @@ consulta
+            ORDER BY ts_rank(e.busca, consulta) DESC, e.id
+            OFFSET ? LIMIT ?""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BuscaEventosPostgres(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<EventoResumoDTO> buscar(String termos, int deslocamento, int quantidade) {
+        return jdbcTemplate.query(SQL_BUSCA,
+                (rs, linha) -> new EventoResumoDTO(rs.getLong("id"), rs.getString("nome"),
+                        rs.getString("descricao"), rs.getString("criador_nome")),
+                termos, deslocamento, quantidade);
+    }
+}
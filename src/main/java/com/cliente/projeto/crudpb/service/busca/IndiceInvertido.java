@@ -0,0 +1,204 @@
+package com.cliente.projeto.crudpb.service.busca;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/*
+ * Índice invertido em memória: para cada termo, a lista dos documentos que o
+ * contêm (IDs ordenados) com o peso do termo em cada um. Tudo em arrays
+ * primitivos para caber um milhão de eventos sem um objeto por ocorrência.
+ *
+ * A consulta exige todos os termos (como o websearch_to_tsquery) e percorre
+ * só a lista do termo mais raro, procurando os demais por busca binária.
+ * A pontuação é a soma de peso x idf de cada termo; o nome pesa PESO_NOME
+ * vezes mais que a descrição, como o setweight 'A'/'B' do PostgreSQL.
+ *
+ * Leituras concorrentes, escritas exclusivas (ReentrantReadWriteLock).
+ */
+class IndiceInvertido {
+
+    static final float PESO_NOME = 2.0f;
+    static final float PESO_DESCRICAO = 1.0f;
+
+    private final Map<String, Integer> dicionario = new HashMap<>();
+    private final List<Ocorrencias> ocorrencias = new ArrayList<>();
+    // Os termos de cada documento, para remover/reindexar sem precisar do texto antigo
+    private final Map<Long, int[]> termosPorDocumento = new HashMap<>();
+    private final ReentrantReadWriteLock trava = new ReentrantReadWriteLock();
+
+    void indexar(long id, String nome, String descricao) {
+        Map<Integer, Float> pesos = new HashMap<>();
+        acumular(pesos, nome, PESO_NOME);
+        acumular(pesos, descricao, PESO_DESCRICAO);
+
+        trava.writeLock().lock();
+        try {
+            removerSemTrava(id);
+            int[] termos = new int[pesos.size()];
+            int i = 0;
+            for (Map.Entry<Integer, Float> peso : pesos.entrySet()) {
+                ocorrencias.get(peso.getKey()).adicionar(id, peso.getValue());
+                termos[i++] = peso.getKey();
+            }
+            termosPorDocumento.put(id, termos);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    void remover(long id) {
+        trava.writeLock().lock();
+        try {
+            removerSemTrava(id);
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    int tamanho() {
+        trava.readLock().lock();
+        try {
+            return termosPorDocumento.size();
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    // IDs dos documentos com todos os termos, do mais ao menos relevante (empate: menor ID primeiro)
+    List<Long> buscar(String consulta, int deslocamento, int quantidade) {
+        LinkedHashSet<String> termos = new LinkedHashSet<>(Tokenizador.termos(consulta));
+        if (termos.isEmpty() || quantidade <= 0) {
+            return List.of();
+        }
+        int limite = deslocamento + quantidade;
+
+        trava.readLock().lock();
+        try {
+            Ocorrencias[] listas = new Ocorrencias[termos.size()];
+            int i = 0;
+            for (String termo : termos) {
+                Integer termoId = dicionario.get(termo);
+                if (termoId == null || ocorrencias.get(termoId).tamanho == 0) {
+                    return List.of(); // algum termo não aparece em nenhum documento
+                }
+                listas[i++] = ocorrencias.get(termoId);
+            }
+            Arrays.sort(listas, Comparator.comparingInt(lista -> lista.tamanho));
+
+            int totalDocumentos = termosPorDocumento.size();
+            float[] idf = new float[listas.length];
+            for (int t = 0; t < listas.length; t++) {
+                idf[t] = (float) Math.log(1.0 + (double) totalDocumentos / listas[t].tamanho);
+            }
+
+            // Heap de mínimo com os 'limite' melhores até agora
+            PriorityQueue<Resultado> melhores = new PriorityQueue<>(limite + 1, ORDEM_RELEVANCIA.reversed());
+            Ocorrencias maisRara = listas[0];
+            for (int p = 0; p < maisRara.tamanho; p++) {
+                long id = maisRara.ids[p];
+                float pontuacao = maisRara.pesos[p] * idf[0];
+                boolean temTodos = true;
+                for (int t = 1; t < listas.length && temTodos; t++) {
+                    int posicao = listas[t].posicao(id);
+                    if (posicao < 0) {
+                        temTodos = false;
+                    } else {
+                        pontuacao += listas[t].pesos[posicao] * idf[t];
+                    }
+                }
+                if (temTodos) {
+                    melhores.add(new Resultado(id, pontuacao));
+                    if (melhores.size() > limite) {
+                        melhores.poll();
+                    }
+                }
+            }
+
+            List<Resultado> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(ORDEM_RELEVANCIA);
+            List<Long> ids = new ArrayList<>(Math.max(0, ordenados.size() - deslocamento));
+            for (int r = deslocamento; r < ordenados.size(); r++) {
+                ids.add(ordenados.get(r).id());
+            }
+            return ids;
+        } finally {
+            trava.readLock().unlock();
+        }
+    }
+
+    private void acumular(Map<Integer, Float> pesos, String texto, float peso) {
+        for (String termo : Tokenizador.termos(texto)) {
+            pesos.merge(termoId(termo), peso, Float::sum);
+        }
+    }
+
+    // O dicionário só cresce; é compartilhado, então a criação de termo também usa a trava de escrita
+    private int termoId(String termo) {
+        trava.writeLock().lock();
+        try {
+            return dicionario.computeIfAbsent(termo, novo -> {
+                ocorrencias.add(new Ocorrencias());
+                return ocorrencias.size() - 1;
+            });
+        } finally {
+            trava.writeLock().unlock();
+        }
+    }
+
+    private void removerSemTrava(long id) {
+        int[] termos = termosPorDocumento.remove(id);
+        if (termos != null) {
+            for (int termoId : termos) {
+                ocorrencias.get(termoId).remover(id);
+            }
+        }
+    }
+
+    private static final Comparator<Resultado> ORDEM_RELEVANCIA =
+            Comparator.comparingDouble(Resultado::pontuacao).reversed().thenComparingLong(Resultado::id);
+
+    private record Resultado(long id, float pontuacao) {
+    }
+
+    // Lista de ocorrências de um termo: IDs em ordem crescente e o peso correspondente
+    private static final class Ocorrencias {
+        private long[] ids = new long[4];
+        private float[] pesos = new float[4];
+        private int tamanho;
+
+        int posicao(long id) {
+            return Arrays.binarySearch(ids, 0, tamanho, id);
+        }
+
+        void adicionar(long id, float peso) {
+            if (tamanho == ids.length) {
+                int novaCapacidade = ids.length + (ids.length >> 1) + 1;
+                ids = Arrays.copyOf(ids, novaCapacidade);
+                pesos = Arrays.copyOf(pesos, novaCapacidade);
+            }
+            // IDs novos vêm da sequência, quase sempre maiores que o último: inserção no fim
+            int posicao = tamanho == 0 || ids[tamanho - 1] < id ? tamanho : -(posicao(id) + 1);
+            System.arraycopy(ids, posicao, ids, posicao + 1, tamanho - posicao);
+            System.arraycopy(pesos, posicao, pesos, posicao + 1, tamanho - posicao);
+            ids[posicao] = id;
+            pesos[posicao] = peso;
+            tamanho++;
+        }
+
+        void remover(long id) {
+            int posicao = posicao(id);
+            if (posicao >= 0) {
+                System.arraycopy(ids, posicao + 1, ids, posicao, tamanho - posicao - 1);
+                System.arraycopy(pesos, posicao + 1, pesos, posicao, tamanho - posicao - 1);
+                tamanho--;
+            }
+        }
+    }
+}
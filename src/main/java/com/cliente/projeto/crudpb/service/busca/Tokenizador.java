@@ -0,0 +1,41 @@
+package com.cliente.projeto.crudpb.service.busca;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/*
+ * Quebra o texto em termos para o índice invertido: minúsculas, sem acentos,
+ * separando em tudo que não é letra ou dígito e descartando termos de uma
+ * letra e as palavras vazias mais comuns do português. É o equivalente (sem
+ * radicalização) do to_tsvector('portuguese', ...) usado no PostgreSQL.
+ */
+final class Tokenizador {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "um", "uma", "de", "da", "do", "das", "dos", "e", "em", "no", "na",
+            "nos", "nas", "para", "por", "com", "ao", "aos", "que", "se");
+
+    private Tokenizador() {
+    }
+
+    static List<String> termos(String texto) {
+        List<String> termos = new ArrayList<>();
+        if (texto == null || texto.isBlank()) {
+            return termos;
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String termo : SEPARADORES.split(normalizado)) {
+            if (termo.length() > 1 && !PALAVRAS_VAZIAS.contains(termo)) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+}
@@ -0,0 +1,28 @@
+-- Esquema equivalente ao que o Hibernate gerava com ddl-auto=update.
+-- Bancos criados daquele jeito entram com baseline na versão 1 (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE usuarios (
+    id            BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    nome          VARCHAR(100) NOT NULL,
+    email         VARCHAR(100) NOT NULL,
+    versao        BIGINT DEFAULT 0 NOT NULL,
+    atualizado_em TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_usuarios_email UNIQUE (email)
+);
+
+CREATE INDEX idx_usuarios_nome ON usuarios (nome);
+
+-- Alocação em blocos de 50 (allocationSize do @SequenceGenerator de Evento)
+CREATE SEQUENCE eventos_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE eventos (
+    id            BIGINT PRIMARY KEY,
+    nome          VARCHAR(100) NOT NULL,
+    descricao     VARCHAR(255),
+    usuario_id    BIGINT NOT NULL,
+    versao        BIGINT DEFAULT 0 NOT NULL,
+    atualizado_em TIMESTAMP(6) WITH TIME ZONE,
+    -- A restrição única também é o índice das buscas por nome
+    CONSTRAINT uk_eventos_nome UNIQUE (nome),
+    CONSTRAINT fk_eventos_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id)
+);
@@ -0,0 +1,11 @@
+-- Versão das tabelas exibidas nas listagens, para o ETag de /eventos e /usuarios.
+-- Avançada na mesma transação de cada escrita (VersaoTabelaRepository.avancar):
+-- muda a cada commit que altera a tabela, ao contrário de count + max(atualizado_em),
+-- que exigia varrer a tabela e não mudava com relógios atrasados ou alterações no mesmo instante.
+CREATE TABLE versao_tabelas (
+    tabela VARCHAR(30) PRIMARY KEY,
+    versao BIGINT NOT NULL
+);
+
+INSERT INTO versao_tabelas (tabela, versao) VALUES ('eventos', 1);
+INSERT INTO versao_tabelas (tabela, versao) VALUES ('usuarios', 1);
@@ -0,0 +1,6 @@
+-- Equivalente H2 do índice de V7 do PostgreSQL. O H2 não tem índice por expressão nem
+-- operator class: a coluna gerada materializa lower(nome) e o índice fica sobre ela.
+-- O otimizador do H2 não troca lower(nome) pela coluna gerada, então a busca do seletor
+-- continua varrendo usuarios no H2 (banco de desenvolvimento e testes); o índice que vale é o do PostgreSQL.
+ALTER TABLE usuarios ADD COLUMN IF NOT EXISTS nome_minusculo VARCHAR(100) GENERATED ALWAYS AS (LOWER(nome));
+CREATE INDEX IF NOT EXISTS idx_usuarios_nome_minusculo ON usuarios (nome_minusculo);
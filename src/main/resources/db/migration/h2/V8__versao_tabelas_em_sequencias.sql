@@ -0,0 +1,9 @@
+-- A versão das tabelas (ETag das listagens) passa da tabela versao_tabelas para sequências:
+-- o UPDATE da linha única travava toda escrita de eventos até o commit (VersaoTabelaRepository).
+-- As sequências continuam de onde a tabela parou, para um ETag antigo não voltar a valer.
+CREATE SEQUENCE versao_eventos_seq;
+CREATE SEQUENCE versao_usuarios_seq;
+ALTER SEQUENCE versao_eventos_seq RESTART WITH (SELECT versao + 1 FROM versao_tabelas WHERE tabela = 'eventos');
+ALTER SEQUENCE versao_usuarios_seq RESTART WITH (SELECT versao + 1 FROM versao_tabelas WHERE tabela = 'usuarios');
+
+DROP TABLE versao_tabelas;
@@ -0,0 +1,5 @@
+-- A coluna gerada e o índice de V7 nunca eram usados: o otimizador do H2 não troca lower(nome)
+-- pela coluna, e a busca do seletor filtra por lower(nome) nos dois bancos. No H2 (desenvolvimento
+-- e testes) a busca varre usuarios; o índice que vale é o de V7 no PostgreSQL.
+DROP INDEX IF EXISTS idx_usuarios_nome_minusculo;
+ALTER TABLE usuarios DROP COLUMN IF EXISTS nome_minusculo;
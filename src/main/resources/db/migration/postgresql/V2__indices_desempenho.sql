@@ -0,0 +1,8 @@
+-- Índices que o ddl-auto nunca criou. IF NOT EXISTS: bancos com baseline podem já ter parte deles.
+
+-- FK de eventos -> usuarios: exclusão de usuário e contagens por criador sem varrer eventos
+CREATE INDEX IF NOT EXISTS idx_eventos_usuario_id ON eventos (usuario_id);
+
+-- max(atualizado_em) do ETag das listagens
+CREATE INDEX IF NOT EXISTS idx_eventos_atualizado_em ON eventos (atualizado_em);
+CREATE INDEX IF NOT EXISTS idx_usuarios_atualizado_em ON usuarios (atualizado_em);
@@ -0,0 +1,10 @@
+-- Busca textual (BuscaEventosPostgres): tsvector gerado de nome (peso A) e descrição (peso B).
+-- Por ser coluna gerada, o banco a mantém em todo INSERT/UPDATE, inclusive na importação em massa.
+ALTER TABLE eventos ADD COLUMN IF NOT EXISTS busca tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('portuguese', coalesce(nome, '')), 'A') ||
+        setweight(to_tsvector('portuguese', coalesce(descricao, '')), 'B')
+    ) STORED;
+
+-- O GIN resolve o "@@" sem varrer a tabela
+CREATE INDEX IF NOT EXISTS idx_eventos_busca ON eventos USING GIN (busca);
@@ -0,0 +1,12 @@
+-- Total de eventos por criador, mantido na mesma transação que grava/exclui o evento
+-- (EstatisticasUsuarioService). A listagem de usuários lê daqui, sem COUNT ... GROUP BY.
+CREATE TABLE usuario_estatisticas (
+    usuario_id    BIGINT PRIMARY KEY,
+    total_eventos BIGINT DEFAULT 0 NOT NULL,
+    CONSTRAINT fk_usuario_estatisticas_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id) ON DELETE CASCADE
+);
+
+-- Carga inicial a partir dos eventos já gravados
+INSERT INTO usuario_estatisticas (usuario_id, total_eventos)
+SELECT u.id, (SELECT COUNT(*) FROM eventos e WHERE e.usuario_id = u.id)
+FROM usuarios u;
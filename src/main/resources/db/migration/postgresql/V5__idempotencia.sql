@@ -0,0 +1,14 @@
+-- Respostas das criações repetidas com o mesmo Idempotency-Key (IdempotenciaJdbc).
+-- status nulo = primeira requisição ainda em andamento.
+CREATE TABLE idempotencia (
+    chave         VARCHAR(512) PRIMARY KEY,
+    impressao     VARCHAR(64),
+    status        INTEGER,
+    tipo_conteudo VARCHAR(255),
+    local_recurso VARCHAR(2048),
+    corpo         BYTEA,
+    expira_em     TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Limpeza periódica dos vencidos
+CREATE INDEX idx_idempotencia_expira_em ON idempotencia (expira_em);
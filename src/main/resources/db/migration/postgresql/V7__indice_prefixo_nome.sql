@@ -0,0 +1,5 @@
+-- Busca por prefixo do seletor de criador: lower(nome) LIKE 'abc%' (UsuarioRepository.buscarPorPrefixoDoNome).
+-- O índice de V1 em (nome) não serve a lower(nome), e um btree com a collation do banco (não "C")
+-- não resolve LIKE por faixa; varchar_pattern_ops compara por caractere e resolve.
+-- A ordenação por lower(nome) é feita sobre as linhas do prefixo, já limitadas pelo índice.
+CREATE INDEX IF NOT EXISTS idx_usuarios_nome_minusculo ON usuarios (lower(nome) varchar_pattern_ops);
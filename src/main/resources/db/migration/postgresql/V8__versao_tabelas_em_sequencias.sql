@@ -0,0 +1,9 @@
+-- A versão das tabelas (ETag das listagens) passa da tabela versao_tabelas para sequências:
+-- o UPDATE da linha única travava toda escrita de eventos até o commit (VersaoTabelaRepository).
+-- As sequências continuam de onde a tabela parou, para um ETag antigo não voltar a valer.
+CREATE SEQUENCE versao_eventos_seq;
+CREATE SEQUENCE versao_usuarios_seq;
+SELECT setval('versao_eventos_seq', (SELECT versao + 1 FROM versao_tabelas WHERE tabela = 'eventos'), false);
+SELECT setval('versao_usuarios_seq', (SELECT versao + 1 FROM versao_tabelas WHERE tabela = 'usuarios'), false);
+
+DROP TABLE versao_tabelas;
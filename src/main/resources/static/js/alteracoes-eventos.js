@@ -0,0 +1,87 @@
+/*
+ * Listagem de eventos ao vivo: recebe as alterações confirmadas por
+ * Server-Sent Events (/eventos/alteracoes) e corrige as linhas no lugar,
+ * sem recarregar a página.
+ *  - criado: entra no fim da tabela, só na última página (a ordem é por ID);
+ *  - atualizado: a linha exibida é reescrita; fora da página, nada a fazer;
+ *  - removido: a linha some.
+ * "recarregar" (alterações perdidas ou fila cheia no servidor) mostra o aviso
+ * e encerra a conexão: a partir daí só uma nova leitura da página acerta a lista.
+ */
+(function () {
+    var tabela = document.getElementById('tabelaEventos');
+    var aviso = document.getElementById('alteracoesAviso');
+    if (!tabela || !aviso || !tabela.getAttribute('data-alteracoes') || !window.EventSource) {
+        return; // busca (ordem por relevância) ou navegador sem SSE: a página fica como veio
+    }
+
+    var corpo = tabela.tBodies[0];
+    var base = tabela.getAttribute('data-base');
+    var ultimaPagina = tabela.getAttribute('data-ultima-pagina') === 'true';
+    var fonte = new EventSource(tabela.getAttribute('data-alteracoes'));
+
+    function linhaDe(id) {
+        return corpo.querySelector('tr[data-id="' + id + '"]');
+    }
+
+    function preencher(linha, alteracao) {
+        var celulas = linha.cells;
+        celulas[1].textContent = alteracao.nome;
+        celulas[2].textContent = alteracao.descricao;
+        celulas[3].textContent = alteracao.criadorNome;
+    }
+
+    function botao(rotulo, classe, href) {
+        var link = document.createElement('a');
+        link.href = href;
+        link.className = 'btn ' + classe + ' btn-sm';
+        link.textContent = rotulo;
+        return link;
+    }
+
+    function novaLinha(alteracao) {
+        var linha = document.createElement('tr');
+        linha.setAttribute('data-id', alteracao.id);
+        for (var i = 0; i < 4; i++) {
+            linha.appendChild(document.createElement('td'));
+        }
+        linha.cells[0].textContent = alteracao.id;
+        preencher(linha, alteracao);
+
+        var acoes = document.createElement('td');
+        var deletar = botao('Deletar', 'btn-danger', base + '/deletar/' + alteracao.id);
+        deletar.addEventListener('click', function (evento) {
+            if (!confirm('Tem certeza que deseja deletar este evento?')) {
+                evento.preventDefault();
+            }
+        });
+        acoes.appendChild(botao('Editar', 'btn-warning', base + '/editar/' + alteracao.id));
+        acoes.appendChild(document.createTextNode(' '));
+        acoes.appendChild(deletar);
+        linha.appendChild(acoes);
+        return linha;
+    }
+
+    fonte.addEventListener('alteracao', function (mensagem) {
+        var alteracao = JSON.parse(mensagem.data);
+        var linha = linhaDe(alteracao.id);
+        if (alteracao.tipo === 'REMOVIDO') {
+            if (linha) {
+                corpo.removeChild(linha);
+            }
+        } else if (linha) {
+            preencher(linha, alteracao);
+        } else if (alteracao.tipo === 'CRIADO' && ultimaPagina) {
+            var vazio = document.getElementById('eventosVazio');
+            if (vazio) {
+                corpo.removeChild(vazio);
+            }
+            corpo.appendChild(novaLinha(alteracao));
+        }
+    });
+
+    fonte.addEventListener('recarregar', function () {
+        fonte.close();
+        aviso.classList.remove('d-none');
+    });
+})();
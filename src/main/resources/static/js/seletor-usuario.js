@@ -0,0 +1,97 @@
+/*
+ * Seletor de criador com busca por prefixo (type-ahead).
+ * Consulta /usuarios/buscar enquanto o usuário digita e grava o ID
+ * escolhido no campo oculto 'usuarioId' enviado pelo formulário.
+ */
+(function () {
+    var campoBusca = document.getElementById('usuarioBusca');
+    var campoId = document.getElementById('usuarioId');
+    var lista = document.getElementById('usuarioSugestoes');
+    if (!campoBusca || !campoId || !lista) {
+        return;
+    }
+
+    var url = campoBusca.getAttribute('data-url');
+    var temporizador = null;
+    var requisicaoAtual = null;
+
+    function limparSugestoes() {
+        lista.innerHTML = '';
+    }
+
+    function selecionar(usuario) {
+        campoId.value = usuario.id;
+        campoBusca.value = usuario.nome + ' (' + usuario.email + ')';
+        limparSugestoes();
+    }
+
+    function mostrar(usuarios) {
+        limparSugestoes();
+        if (usuarios.length === 0) {
+            var vazio = document.createElement('div');
+            vazio.className = 'list-group-item text-muted';
+            vazio.textContent = 'Nenhum usuário encontrado.';
+            lista.appendChild(vazio);
+            return;
+        }
+        usuarios.forEach(function (usuario) {
+            var item = document.createElement('button');
+            item.type = 'button';
+            item.className = 'list-group-item list-group-item-action';
+            item.textContent = usuario.nome + ' (' + usuario.email + ')';
+            item.addEventListener('click', function () {
+                selecionar(usuario);
+            });
+            lista.appendChild(item);
+        });
+    }
+
+    function buscar(prefixo) {
+        if (requisicaoAtual) {
+            requisicaoAtual.abort(); // descarta a busca anterior ainda em andamento
+        }
+        requisicaoAtual = new AbortController();
+        fetch(url + '?limite=10&q=' + encodeURIComponent(prefixo), {
+            headers: {'Accept': 'application/json'},
+            signal: requisicaoAtual.signal
+        })
+            .then(function (resposta) {
+                return resposta.ok ? resposta.json() : [];
+            })
+            .then(mostrar)
+            .catch(function (erro) {
+                if (erro.name !== 'AbortError') {
+                    limparSugestoes();
+                }
+            });
+    }
+
+    campoBusca.addEventListener('input', function () {
+        // Texto alterado: a seleção anterior deixa de valer até escolher de novo
+        campoId.value = '';
+        clearTimeout(temporizador);
+        var prefixo = campoBusca.value.trim();
+        if (prefixo.length < 2) {
+            limparSugestoes();
+            return;
+        }
+        temporizador = setTimeout(function () {
+            buscar(prefixo);
+        }, 250);
+    });
+
+    campoBusca.addEventListener('keydown', function (evento) {
+        if (evento.key === 'Escape') {
+            limparSugestoes();
+        } else if (evento.key === 'Enter' && lista.firstElementChild && lista.firstElementChild.tagName === 'BUTTON') {
+            evento.preventDefault(); // Enter escolhe a primeira sugestão em vez de enviar o formulário
+            lista.firstElementChild.click();
+        }
+    });
+
+    document.addEventListener('click', function (evento) {
+        if (evento.target !== campoBusca && !lista.contains(evento.target)) {
+            limparSugestoes();
+        }
+    });
+})();
@@ -0,0 +1,83 @@
+package com.cliente.projeto.crudpb.admissao;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/*
+ * Filtro de admissão na frente dos controllers reais. Cada teste usa um IP
+ * próprio, já que os baldes vivem no contexto compartilhado; o corpo vazio
+ * faz a escrita admitida parar na validação (400) sem tocar no banco.
+ */
+@SpringBootTest(properties = {
+        "crudpb.admissao.fichas-por-cliente=2",
+        "crudpb.admissao.recarga-por-segundo=0.01",
+        "crudpb.admissao.max-concorrentes=1",
+        "crudpb.admissao.espera-maxima=0ms"
+})
+@AutoConfigureMockMvc
+class AdmissaoEscritaFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ControleAdmissao controle;
+
+    @Test
+    void deveResponder429ComRetryAfter_QuandoOClienteEsgotaAsFichas() throws Exception {
+        mockMvc.perform(criarUsuario("10.0.0.1")).andExpect(status().isBadRequest());
+        mockMvc.perform(criarUsuario("10.0.0.1")).andExpect(status().isBadRequest());
+
+        mockMvc.perform(criarUsuario("10.0.0.1"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"))
+                .andExpect(jsonPath("$.status").value(429))
+                .andExpect(jsonPath("$.path").value("/api/usuarios"));
+        // exclusão pela tela também é escrita
+        mockMvc.perform(get("/eventos/deletar/1").with(ip("10.0.0.1"))).andExpect(status().isTooManyRequests());
+
+        // leituras do mesmo cliente e escritas de outro seguem normais
+        mockMvc.perform(get("/api/usuarios").with(ip("10.0.0.1"))).andExpect(status().isOk());
+        mockMvc.perform(criarUsuario("10.0.0.2")).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveResponder503_QuandoNaoHaVagaParaEscrever() throws Exception {
+        controle.entrar(); // a única vaga fica com uma escrita "lenta"
+        try {
+            for (int i = 0; i < 3; i++) {
+                mockMvc.perform(criarUsuario("10.0.0.3"))
+                        .andExpect(status().isServiceUnavailable())
+                        .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                        .andExpect(jsonPath("$.error").value("Serviço Sobrecarregado"));
+            }
+        } finally {
+            controle.sair();
+        }
+        // os 503 devolveram as fichas: as duas da rajada continuam disponíveis
+        mockMvc.perform(criarUsuario("10.0.0.3")).andExpect(status().isBadRequest());
+        mockMvc.perform(criarUsuario("10.0.0.3")).andExpect(status().isBadRequest());
+    }
+
+    private static MockHttpServletRequestBuilder criarUsuario(String ip) {
+        return post("/api/usuarios").contentType(MediaType.APPLICATION_JSON).content("{}").with(ip(ip));
+    }
+
+    private static RequestPostProcessor ip(String ip) {
+        return request -> {
+            request.setRemoteAddr(ip);
+            return request;
+        };
+    }
+}
@@ -0,0 +1,89 @@
+package com.cliente.projeto.crudpb.admissao;
+
+import com.cliente.projeto.crudpb.config.MetricasConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ControleAdmissaoTest {
+
+    private final AtomicLong relogio = new AtomicLong();
+    private final SimpleMeterRegistry registro = new SimpleMeterRegistry();
+
+    @Test
+    void deveLiberarARajadaERecarregarComOTempo() {
+        // 3 fichas de rajada, 1 nova a cada 2 s
+        ControleAdmissao controle = new ControleAdmissao(3, 0.5, 8, Duration.ZERO, 100, relogio::get, registro);
+
+        assertEquals(0, controle.reservarFicha("a"));
+        assertEquals(0, controle.reservarFicha("a"));
+        assertEquals(0, controle.reservarFicha("a"));
+        assertEquals(2, controle.reservarFicha("a")); // Retry-After
+        assertEquals(0, controle.reservarFicha("b")); // outro cliente, outro balde
+
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(1500));
+        assertEquals(1, controle.reservarFicha("a")); // faltam 0,5 s: arredonda para cima
+        relogio.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, controle.reservarFicha("a"));
+
+        assertEquals(2.0, registro.get(MetricasConfig.METRICA_ADMISSAO).tag("resultado", "limite_cliente").counter().count());
+    }
+
+    @Test
+    void deveRecusarSemEsperar_QuandoAsVagasAcabam() {
+        ControleAdmissao controle = new ControleAdmissao(10, 1, 2, Duration.ZERO, 100, relogio::get, registro);
+
+        assertTrue(controle.entrar());
+        assertTrue(controle.entrar());
+        assertFalse(controle.entrar());
+        assertEquals(2.0, registro.get(MetricasConfig.METRICA_ADMISSAO + ".em.execucao").gauge().value());
+
+        controle.sair();
+        assertTrue(controle.entrar());
+
+        assertEquals(3.0, registro.get(MetricasConfig.METRICA_ADMISSAO).tag("resultado", "admitida").counter().count());
+        assertEquals(1.0, registro.get(MetricasConfig.METRICA_ADMISSAO).tag("resultado", "sobrecarga").counter().count());
+    }
+
+    @Test
+    void deveDevolverAFicha_QuandoARequisicaoNaoExecuta() {
+        // 2 fichas de rajada, 1 nova a cada 2 s
+        ControleAdmissao controle = new ControleAdmissao(2, 0.5, 8, Duration.ZERO, 100, relogio::get, registro);
+
+        assertEquals(0, controle.reservarFicha("a"));
+        assertEquals(0, controle.reservarFicha("a"));
+        controle.devolverFicha("a");
+        assertEquals(0, controle.reservarFicha("a"));
+        assertTrue(controle.reservarFicha("a") > 0);
+
+        // a devolução não passa da capacidade do balde, e cliente sem balde é ignorado
+        controle.devolverFicha("a");
+        controle.devolverFicha("a");
+        controle.devolverFicha("a");
+        controle.devolverFicha("desconhecido");
+        assertEquals(0, controle.reservarFicha("a"));
+        assertEquals(0, controle.reservarFicha("a"));
+        assertTrue(controle.reservarFicha("a") > 0);
+    }
+
+    @Test
+    void deveRecusarAVagaSemBloquear_QuandoAThreadFoiInterrompida() {
+        ControleAdmissao controle = new ControleAdmissao(10, 1, 1, Duration.ofSeconds(30), 100, relogio::get, registro);
+        assertTrue(controle.entrar());
+
+        Thread.currentThread().interrupt();
+        assertFalse(controle.entrar());
+        assertTrue(Thread.interrupted()); // o sinal é preservado (e limpo aqui)
+    }
+
+    @Test
+    void deveExigirRecargaPositiva() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ControleAdmissao(10, 0, 1, Duration.ZERO, 100, relogio::get, registro));
+    }
+}
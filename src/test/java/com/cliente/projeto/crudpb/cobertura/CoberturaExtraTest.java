@@ -1,13 +1,21 @@
 package test.java.com.cliente.projeto.crudpb.cobertura;
 
+import com.cliente.projeto.crudpb.config.ExecucaoConfig;
 import com.cliente.projeto.crudpb.dto.ErroDTO;
 import com.cliente.projeto.crudpb.dto.EventoDTO;
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
 import com.cliente.projeto.crudpb.dto.UsuarioDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
 import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
 import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.exception.ViolacaoRestricao;
 import com.cliente.projeto.crudpb.model.Evento;
 import com.cliente.projeto.crudpb.model.Usuario;
 import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -65,6 +73,13 @@ class CoberturaExtraTest {
         assertEquals("User", uDto.nome());
         assertNotNull(uDto.toEntity());
 
+        UsuarioResumoDTO resumo = new UsuarioResumoDTO(1L, "User", "email@email.com");
+        assertEquals("User (email@email.com)", resumo.rotulo());
+
+        PaginaDTO<String> pagina = new PaginaDTO<>(List.of("a"), 1L, null);
+        assertTrue(pagina.temAnterior());
+        assertFalse(pagina.temProximo());
+
         ErroDTO erro = new ErroDTO("time", 400, "Bad Request", "Msg", "/path");
         assertEquals("Msg", erro.message());
         assertEquals(400, erro.status());
@@ -79,4 +94,26 @@ class CoberturaExtraTest {
         ValidacaoException ex2 = new ValidacaoException("Erro validação");
         assertEquals("Erro validação", ex2.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testarViolacaoRestricao() {
+        // Pelo nome da restrição informado pelo Hibernate...
+        DataIntegrityViolationException porNome = new DataIntegrityViolationException("falha",
+                new org.hibernate.exception.ConstraintViolationException("insert", new SQLException("x"), "PUBLIC.UK_EVENTOS_NOME"));
+        assertTrue(ViolacaoRestricao.envolve(porNome, "uk_eventos_nome"));
+        assertFalse(ViolacaoRestricao.envolve(porNome, "uk_usuarios_email"));
+
+        // ...ou, sem ele, pela mensagem de alguma causa
+        DataIntegrityViolationException semNome = new DataIntegrityViolationException("falha",
+                new org.hibernate.exception.ConstraintViolationException("insert", new SQLException("viola uk_usuarios_email"), null));
+        assertTrue(ViolacaoRestricao.envolve(semNome, "uk_usuarios_email"));
+        assertFalse(ViolacaoRestricao.envolve(new DataIntegrityViolationException(null), "uk_eventos_nome"));
+    }
+
+    @Test
+    void testarExecucaoConfig() {
+        // Só registra aviso quando as threads virtuais são pedidas num JDK sem suporte
+        assertDoesNotThrow(() -> new ExecucaoConfig(false));
+        assertDoesNotThrow(() -> new ExecucaoConfig(true));
+    }
+}
@@ -5,6 +5,9 @@ import com.cliente.projeto.crudpb.controller.UsuarioController;
 import com.cliente.projeto.crudpb.dto.ErroDTO;
 import com.cliente.projeto.crudpb.dto.EventoDTO;
 import com.cliente.projeto.crudpb.dto.UsuarioDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
+import com.cliente.projeto.crudpb.dto.VersaoTabelaDTO;
 import com.cliente.projeto.crudpb.exception.GlobalExceptionHandler;
 import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
 import com.cliente.projeto.crudpb.exception.ValidacaoException;
@@ -12,8 +15,12 @@ import com.cliente.projeto.crudpb.model.Evento;
 import com.cliente.projeto.crudpb.model.Usuario;
 import com.cliente.projeto.crudpb.repository.EventoRepository;
 import com.cliente.projeto.crudpb.repository.UsuarioRepository;
+import com.cliente.projeto.crudpb.repository.VersaoTabelaRepository;
+import com.cliente.projeto.crudpb.service.AlteracoesEventosService;
+import com.cliente.projeto.crudpb.service.EstatisticasUsuarioService;
 import com.cliente.projeto.crudpb.service.EventoService;
 import com.cliente.projeto.crudpb.service.UsuarioService;
+import com.cliente.projeto.crudpb.service.busca.BuscaEventos;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -22,12 +29,18 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.quality.Strictness;
 import org.mockito.junit.jupiter.MockitoSettings; // Importante
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.ui.ConcurrentModel;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.springframework.web.servlet.mvc.support.RedirectAttributesModelMap;
 
@@ -44,6 +57,12 @@ class CoberturaTotalTest {
 
     @Mock EventoRepository eventoRepository;
     @Mock UsuarioRepository usuarioRepository;
+    @Mock BuscaEventos buscaEventos;
+    @Mock ApplicationEventPublisher publicador;
+    @Mock EstatisticasUsuarioService estatisticas;
+    @Mock AlteracoesEventosService alteracoes;
+    @Mock VersaoTabelaRepository versoes;
+    @Mock PlatformTransactionManager transactionManager;
     @Mock BindingResult bindingResult;
     @Mock HttpServletRequest request;
     @Mock MethodArgumentNotValidException methodArgumentNotValidException;
@@ -56,11 +75,19 @@ class CoberturaTotalTest {
 
     @BeforeEach
     void setup() {
-        usuarioService = new UsuarioService(usuarioRepository);
-        eventoService = new EventoService(eventoRepository, usuarioService);
-        eventoController = new EventoController(eventoService, usuarioService);
-        usuarioController = new UsuarioController(usuarioService);
+        usuarioService = new UsuarioService(usuarioRepository, estatisticas, versoes, publicador);
+        eventoService = new EventoService(eventoRepository, usuarioService, buscaEventos, publicador, estatisticas, versoes, transactionManager);
+        eventoController = new EventoController(eventoService, usuarioService, alteracoes);
+        usuarioController = new UsuarioController(usuarioService, estatisticas);
         exceptionHandler = new GlobalExceptionHandler();
+        when(versoes.buscarVersao(any())).thenReturn(1L);
+        when(estatisticas.versaoTotais()).thenReturn(new VersaoTabelaDTO(1L));
+        when(eventoRepository.buscarVersao(any())).thenReturn(Optional.of(new VersaoRegistroDTO(0L, null)));
+        when(usuarioRepository.buscarVersao(any())).thenReturn(Optional.of(new VersaoRegistroDTO(0L, null)));
+    }
+
+    private ServletWebRequest requisicao() {
+        return new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse());
     }
 
     @Test
@@ -81,7 +108,7 @@ class CoberturaTotalTest {
         when(eventoRepository.findById(10L)).thenReturn(Optional.of(eventoMock));
         
         // Testar LISTAR
-        String viewListar = eventoController.listarEventos(model);
+        String viewListar = eventoController.listarEventos(null, null, model, requisicao());
         assertEquals("lista-eventos", viewListar);
 
         // Testar NOVO
@@ -89,11 +116,11 @@ class CoberturaTotalTest {
         assertEquals("form-evento", viewNovo);
 
         // Testar EDITAR
-        String viewEditar = eventoController.mostrarFormularioEditar(10L, model);
+        String viewEditar = eventoController.mostrarFormularioEditar(10L, model, requisicao());
         assertEquals("form-evento", viewEditar);
 
         // Testar DELETAR
-        when(eventoRepository.existsById(10L)).thenReturn(true);
+        when(eventoRepository.excluirPorId(10L)).thenReturn(1);
         String viewDelete = eventoController.deletarEvento(10L, redirect);
         assertEquals("redirect:/eventos", viewDelete);
     }
@@ -112,14 +139,15 @@ class CoberturaTotalTest {
         // Cenário 2: Sucesso
         when(bindingResult.hasErrors()).thenReturn(false);
         Usuario u = new Usuario(); u.setId(1L);
-        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(u));
-        when(eventoRepository.save(any())).thenReturn(new Evento());
+        when(usuarioRepository.buscarResumoPorId(1L)).thenReturn(Optional.of(new UsuarioResumoDTO(1L, "User", "user@teste.com")));
+        when(usuarioRepository.getReferenceById(1L)).thenReturn(u);
+        when(eventoRepository.saveAndFlush(any())).thenReturn(new Evento());
         
         String viewSucesso = eventoController.salvarEvento(dto, bindingResult, model, redirect);
         assertEquals("redirect:/eventos", viewSucesso);
 
-        // Cenário 3: Exceção de Negócio
-        when(eventoRepository.findByNome("Nome")).thenReturn(Optional.of(new Evento())); 
+        // Cenário 3: Exceção de Negócio (nome duplicado barrado pela restrição única)
+        when(eventoRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_eventos_nome"));
         
         String viewException = eventoController.salvarEvento(dto, bindingResult, model, redirect);
         assertEquals("form-evento", viewException);
@@ -134,26 +162,29 @@ class CoberturaTotalTest {
 
         // Cenário 1: Erro de Validação
         when(bindingResult.hasErrors()).thenReturn(true);
-        String viewErro = eventoController.atualizarEvento(idEvento, dto, bindingResult, model, redirect);
+        String viewErro = eventoController.atualizarEvento(idEvento, dto, bindingResult, null, model, redirect);
         assertEquals("form-evento", viewErro);
 
         // Cenário 2: Sucesso
         when(bindingResult.hasErrors()).thenReturn(false);
         Evento eventoExistente = new Evento(); eventoExistente.setId(idEvento);
         Usuario u = new Usuario(); u.setId(1L);
+        eventoExistente.setUsuario(u);
         
         when(eventoRepository.findById(idEvento)).thenReturn(Optional.of(eventoExistente));
-        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(u));
-        when(eventoRepository.save(any())).thenReturn(eventoExistente);
+        when(usuarioRepository.buscarResumoPorId(1L)).thenReturn(Optional.of(new UsuarioResumoDTO(1L, "User", "user@teste.com")));
+        when(usuarioRepository.getReferenceById(1L)).thenReturn(u);
+        when(eventoRepository.saveAndFlush(any())).thenReturn(eventoExistente);
 
-        String viewSucesso = eventoController.atualizarEvento(idEvento, dto, bindingResult, model, redirect);
+        String viewSucesso = eventoController.atualizarEvento(idEvento, dto, bindingResult, null, model, redirect);
         assertEquals("redirect:/eventos", viewSucesso);
 
-        // Cenário 3: Exceção de Negócio
-        Evento outroEvento = new Evento(); outroEvento.setId(99L);
-        when(eventoRepository.findByNome("Nome")).thenReturn(Optional.of(outroEvento));
+        // Cenário 3: Exceção de Negócio (nome já usado por outro evento).
+        // Outro nome: reenviar os dados que o evento já tem não chega a gravar nada.
+        when(eventoRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("uk_eventos_nome"));
         
-        String viewException = eventoController.atualizarEvento(idEvento, dto, bindingResult, model, redirect);
+        String viewException = eventoController.atualizarEvento(idEvento, new EventoDTO("Nome Repetido", "Desc", 1L),
+                bindingResult, null, model, redirect);
         assertEquals("form-evento", viewException);
     }
 
@@ -168,11 +199,12 @@ class CoberturaTotalTest {
 
         when(usuarioRepository.findAll()).thenReturn(List.of(u));
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(u));
-        when(usuarioRepository.save(any())).thenReturn(u);
+        when(usuarioRepository.saveAndFlush(any())).thenReturn(u);
+        when(usuarioRepository.excluirPorId(1L)).thenReturn(1);
 
-        usuarioController.listarUsuarios(model);
+        usuarioController.listarUsuarios(null, null, model, requisicao());
         usuarioController.mostrarFormularioNovo(model);
-        usuarioController.mostrarFormularioEditar(1L, model);
+        usuarioController.mostrarFormularioEditar(1L, model, requisicao());
         usuarioController.deletarUsuario(1L, redirect);
 
         when(bindingResult.hasErrors()).thenReturn(false);
@@ -206,7 +238,7 @@ class CoberturaTotalTest {
         usuarioService.listarTodos();
         assertThrows(RecursoNaoEncontradoException.class, () -> usuarioService.buscarPorId(99L));
         
-        when(eventoRepository.existsById(99L)).thenReturn(false);
+        when(eventoRepository.excluirPorId(99L)).thenReturn(0);
         assertThrows(RecursoNaoEncontradoException.class, () -> eventoService.deletarEvento(99L));
     }
 }
\ No newline at end of file
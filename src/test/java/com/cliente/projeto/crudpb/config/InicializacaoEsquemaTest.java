@@ -0,0 +1,119 @@
+package com.cliente.projeto.crudpb.config;
+
+import com.cliente.projeto.crudpb.CrudPbApplication;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/*
+ * Compara a subida da aplicação com o esquema gerenciado de três formas, sobre um
+ * banco que já existe e divide o catálogo com outras tabelas (TABELAS_ALHEIAS):
+ *   - update: o modo antigo, sem Flyway;
+ *   - validate e none: com as migrações do Flyway.
+ *
+ * O tempo de relógio no H2 em memória é ruído (o catálogo está no mesmo processo),
+ * então ele só vai para o log. O que se afirma é o trabalho feito no catálogo:
+ * update e validate leem as colunas de TODAS as tabelas do esquema, e none não lê
+ * nenhuma. Em um PostgreSQL remoto essas linhas são o custo que cresce com o banco.
+ */
+class InicializacaoEsquemaTest {
+
+    private static final Logger log = LoggerFactory.getLogger(InicializacaoEsquemaTest.class);
+
+    private static final int TABELAS_ALHEIAS = 200;
+
+    @Test
+    void deveSubirSemLerOCatalogo_SoComDdlAutoNone() throws SQLException {
+        Medida update = medir("update");
+        Medida validate = medir("validate");
+        Medida none = medir("none");
+
+        // cada tabela alheia tem 3 colunas: quem inspeciona o esquema passa por todas elas
+        assertThat(update.linhasCatalogo()).isGreaterThan(3L * TABELAS_ALHEIAS);
+        assertThat(validate.linhasCatalogo()).isGreaterThan(3L * TABELAS_ALHEIAS);
+        assertThat(none.linhasCatalogo()).isLessThan(TABELAS_ALHEIAS / 4);
+    }
+
+    private Medida medir(String modo) throws SQLException {
+        String url = "jdbc:h2:mem:inicializacao-" + modo + ";DB_CLOSE_DELAY=-1";
+        // primeira subida: cria o esquema (pelo Hibernate ou pelas migrações)
+        subir(modo, url, new AtomicLong()).close();
+        try (Connection conexao = DriverManager.getConnection(url, "sa", "");
+             Statement comando = conexao.createStatement()) {
+            for (int i = 0; i < TABELAS_ALHEIAS; i++) {
+                comando.execute("CREATE TABLE alheia_" + i + " (id BIGINT PRIMARY KEY, nome VARCHAR(50), valor INT)");
+            }
+        }
+
+        AtomicLong linhasCatalogo = new AtomicLong();
+        long inicio = System.nanoTime();
+        subir(modo, url, linhasCatalogo).close();
+        Medida medida = new Medida((System.nanoTime() - inicio) / 1_000_000, linhasCatalogo.get());
+        log.info("Subida com ddl-auto={}: {} ms, {} linhas lidas do catálogo", modo, medida.milissegundos(), medida.linhasCatalogo());
+        return medida;
+    }
+
+    private ConfigurableApplicationContext subir(String modo, String url, AtomicLong linhasCatalogo) {
+        // argumentos de linha de comando: vencem o esquema.properties carregado por EsquemaConfig
+        return new SpringApplicationBuilder(CrudPbApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(aplicacao -> aplicacao.getBeanFactory()
+                        .addBeanPostProcessor(new ContadorCatalogo(linhasCatalogo)))
+                .run("--spring.datasource.url=" + url,
+                        "--spring.flyway.enabled=" + !"update".equals(modo),
+                        "--spring.jpa.hibernate.ddl-auto=" + modo,
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN",
+                        "--logging.level.com.cliente.projeto.crudpb.config=INFO");
+    }
+
+    private record Medida(long milissegundos, long linhasCatalogo) {
+    }
+
+    // Envolve o DataSource e conta as linhas percorridas nos ResultSets do DatabaseMetaData
+    private record ContadorCatalogo(AtomicLong linhas) implements BeanPostProcessor {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String nome) {
+            return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource, false) : bean;
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> T proxy(Class<T> tipo, T alvo, boolean doCatalogo) {
+            return (T) Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[] {tipo}, (p, metodo, argumentos) -> {
+                Object resultado;
+                try {
+                    resultado = metodo.invoke(alvo, argumentos);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+                Class<?> retorno = metodo.getReturnType();
+                if (doCatalogo && "next".equals(metodo.getName()) && Boolean.TRUE.equals(resultado)) {
+                    linhas.incrementAndGet();
+                } else if (resultado != null && (retorno == Connection.class || retorno == DatabaseMetaData.class)) {
+                    return proxy((Class<Object>) retorno, resultado, false);
+                } else if (resultado != null && retorno == ResultSet.class && alvo instanceof DatabaseMetaData) {
+                    return proxy(ResultSet.class, (ResultSet) resultado, true);
+                }
+                return resultado;
+            });
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.cliente.projeto.crudpb.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/*
+ * As páginas referenciam só arquivos locais, com o hash do conteúdo na URL,
+ * e esses arquivos voltam com cache imutável e, para quem aceita, em gzip.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class RecursosEstaticosConfigTest {
+
+    private static final Pattern CSS_BOOTSTRAP = Pattern.compile("/vendor/bootstrap/css/bootstrap\\.min-[0-9a-f]{32}\\.css");
+    private static final Pattern CSS_APLICACAO = Pattern.compile("/css/style-[0-9a-f]{32}\\.css");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void devePaginaReferenciarArquivosLocaisVersionadosPeloConteudo() throws Exception {
+        String html = mockMvc.perform(get("/eventos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(CSS_BOOTSTRAP.matcher(html).find(), "Bootstrap local com hash na URL");
+        assertTrue(CSS_APLICACAO.matcher(html).find(), "style.css com hash na URL");
+        assertTrue(Pattern.compile("/vendor/bootstrap/js/bootstrap\\.bundle\\.min-[0-9a-f]{32}\\.js").matcher(html).find());
+        assertFalse(html.contains("cdn.jsdelivr.net"), "Nenhum recurso externo");
+    }
+
+    @Test
+    void deveServirComCacheImutavelEGzip() throws Exception {
+        String html = mockMvc.perform(get("/eventos")).andReturn().getResponse().getContentAsString();
+        Matcher bootstrap = CSS_BOOTSTRAP.matcher(html);
+        assertTrue(bootstrap.find());
+
+        mockMvc.perform(get(bootstrap.group()).header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)));
+
+        // sem Accept-Encoding: o arquivo original
+        mockMvc.perform(get(bootstrap.group()))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().string(containsString("Bootstrap  v5.3.3")));
+    }
+
+    @Test
+    void deveServirOEstiloDaAplicacao_NoCaminhoQueAsPaginasUsam() throws Exception {
+        // antes o link apontava para /css/style.css, mas o arquivo estava em static/style.css (404)
+        mockMvc.perform(get("/css/style.css"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(".sugestoes-usuario")));
+    }
+}
@@ -0,0 +1,35 @@
+package com.cliente.projeto.crudpb.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CondicionalTest {
+
+    @Test
+    void versaoEsperada_DeveAceitarETagForteEFraco_EIgnorarAusenteOuCuringa() {
+        assertEquals(3L, Condicional.versaoEsperada("\"3\""));
+        assertEquals(3L, Condicional.versaoEsperada("W/\"3\""));
+        assertEquals(3L, Condicional.versaoEsperada(" 3 "));
+        assertNull(Condicional.versaoEsperada(null));
+        assertNull(Condicional.versaoEsperada(" "));
+        assertNull(Condicional.versaoEsperada("*"));
+    }
+
+    @Test
+    void versaoEsperada_ComValorQueNaoEhVersao_NuncaDeveCasar() {
+        assertEquals(-1L, Condicional.versaoEsperada("\"abc\""));
+        assertEquals(-1L, Condicional.versaoEsperada("\""));
+    }
+
+    @Test
+    void naoModificado_SemResposta_DeveApenasCompararOETag() {
+        MockHttpServletRequest requisicao = new MockHttpServletRequest("GET", "/eventos");
+        requisicao.addHeader("If-None-Match", "\"1\"");
+
+        assertTrue(Condicional.naoModificado(new ServletWebRequest(requisicao), "\"1\"", null));
+        assertFalse(Condicional.naoModificado(new ServletWebRequest(requisicao), "\"2\"", null));
+    }
+}
@@ -1,6 +1,13 @@
 package com.cliente.projeto.crudpb.controller;
 
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
+import com.cliente.projeto.crudpb.dto.ResultadoBuscaDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
+import com.cliente.projeto.crudpb.dto.VersaoTabelaDTO;
+import com.cliente.projeto.crudpb.model.Evento;
 import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.AlteracoesEventosService;
 import com.cliente.projeto.crudpb.service.EventoService;
 import com.cliente.projeto.crudpb.service.UsuarioService; 
 import org.junit.jupiter.api.Test;
@@ -11,10 +18,17 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Collections;
+import java.util.List;
 
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when; 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -31,6 +45,9 @@ class EventoControllerIntegrationTest {
     @MockBean
     private UsuarioService usuarioService;
 
+    @MockBean
+    private AlteracoesEventosService alteracoes;
+
     /**
      * Exemplo de Teste Parametrizado
      * Testa múltiplas entradas inválidas no formulário de criação.
@@ -72,4 +89,123 @@ class EventoControllerIntegrationTest {
                 .andExpect(redirectedUrl("/eventos"))
                 .andExpect(flash().attributeExists("mensagemSucesso"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveListarEventosPaginados_ComLinkParaProximaPagina() throws Exception {
+        EventoResumoDTO evento = new EventoResumoDTO(7L, "Evento Paginado", "Desc", "Criador Teste");
+        when(eventoService.listarPagina(null, 8L, EventoService.TAMANHO_PAGINA_PADRAO))
+                .thenReturn(new PaginaDTO<>(List.of(evento), null, 7L));
+        when(eventoService.versaoTabela()).thenReturn(new VersaoTabelaDTO(1L));
+        when(usuarioService.versaoTabela()).thenReturn(new VersaoTabelaDTO(1L));
+
+        mockMvc.perform(get("/eventos").param("antes", "8"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("lista-eventos"))
+                .andExpect(model().attributeExists("pagina"))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Criador Teste")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("/eventos?apos=7")));
+    }
+
+    @Test
+    void deveResponder304_QuandoEventosEUsuariosNaoMudaram() throws Exception {
+        when(eventoService.versaoTabela()).thenReturn(new VersaoTabelaDTO(5L));
+        when(usuarioService.versaoTabela()).thenReturn(new VersaoTabelaDTO(2L));
+        when(eventoService.listarPagina(null, null, EventoService.TAMANHO_PAGINA_PADRAO))
+                .thenReturn(new PaginaDTO<>(Collections.emptyList(), null, null));
+
+        String etag = mockMvc.perform(get("/eventos"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/eventos").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(eventoService, times(1)).listarPagina(null, null, EventoService.TAMANHO_PAGINA_PADRAO);
+
+        // Renomear um usuário muda o nome do criador exibido: a página deixa de valer
+        when(usuarioService.versaoTabela()).thenReturn(new VersaoTabelaDTO(3L));
+        mockMvc.perform(get("/eventos").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveResponder304NoFormularioDeEdicao_SemCarregarOEvento() throws Exception {
+        Usuario criador = new Usuario("Criador", "criador@teste.com");
+        criador.setId(1L);
+        Evento evento = new Evento("Evento Editado", "Desc");
+        evento.setUsuario(criador);
+        when(eventoService.versao(7L)).thenReturn(new VersaoRegistroDTO(2L, null));
+        when(usuarioService.versaoTabela()).thenReturn(new VersaoTabelaDTO(4L));
+        when(eventoService.buscarPorId(7L)).thenReturn(evento);
+
+        String etag = mockMvc.perform(get("/eventos/editar/7"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("form-evento"))
+                .andReturn().getResponse().getHeader("ETag");
+        clearInvocations(eventoService);
+
+        mockMvc.perform(get("/eventos/editar/7").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        verify(eventoService, never()).buscarPorId(7L);
+
+        // Outra versão da linha (edição concorrente) = formulário novo
+        when(eventoService.versao(7L)).thenReturn(new VersaoRegistroDTO(3L, null));
+        mockMvc.perform(get("/eventos/editar/7").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void deveResponder200_QuandoOFluxoDeAlteracoesAvancou() throws Exception {
+        when(eventoService.versaoTabela()).thenReturn(new VersaoTabelaDTO(5L));
+        when(usuarioService.versaoTabela()).thenReturn(new VersaoTabelaDTO(2L));
+        when(eventoService.listarPagina(null, null, EventoService.TAMANHO_PAGINA_PADRAO))
+                .thenReturn(new PaginaDTO<>(Collections.emptyList(), null, null));
+        when(alteracoes.posicaoAtual()).thenReturn("k1.4");
+
+        String etag = mockMvc.perform(get("/eventos"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("data-alteracoes=\"/eventos/alteracoes?desde=k1.4\"")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("data-ultima-pagina=\"true\"")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // a página guardada no navegador conectaria com uma posição velha
+        when(alteracoes.posicaoAtual()).thenReturn("k1.5");
+        mockMvc.perform(get("/eventos").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("desde=k1.5")));
+    }
+
+    @Test
+    void deveAssinarAlteracoes_PeloLastEventIdNaReconexao() throws Exception {
+        when(alteracoes.assinar(org.mockito.ArgumentMatchers.any())).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/eventos/alteracoes").param("desde", "k1.4"))
+                .andExpect(request().asyncStarted());
+        mockMvc.perform(get("/eventos/alteracoes").param("desde", "k1.4").header("Last-Event-ID", "k1.9"))
+                .andExpect(request().asyncStarted());
+
+        verify(alteracoes).assinar("k1.4");
+        verify(alteracoes).assinar("k1.9");
+    }
+
+    @Test
+    void deveBuscarEventos_ComLinkParaProximaPaginaDaBusca() throws Exception {
+        EventoResumoDTO evento = new EventoResumoDTO(3L, "Festival de Jazz", "Desc", "Criador Teste");
+        when(eventoService.buscarTexto("jazz", 0, EventoService.TAMANHO_PAGINA_PADRAO))
+                .thenReturn(new ResultadoBuscaDTO(List.of(evento), "jazz", 0, true));
+
+        mockMvc.perform(get("/eventos/buscar").param("q", "jazz"))
+                .andExpect(status().isOk())
+                .andExpect(view().name("lista-eventos"))
+                .andExpect(model().attributeDoesNotExist("pagina"))
+                .andExpect(content().string(org.hamcrest.Matchers.not(org.hamcrest.Matchers.containsString("data-alteracoes"))))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("Festival de Jazz")))
+                .andExpect(content().string(org.hamcrest.Matchers.containsString("/eventos/buscar?q=jazz&amp;pagina=1")));
+    }
+
+    @Test
+    void deveVoltarParaListagem_QuandoABuscaEstiverVazia() throws Exception {
+        mockMvc.perform(get("/eventos/buscar").param("q", "  "))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/eventos"));
+    }
+}
@@ -0,0 +1,136 @@
+package com.cliente.projeto.crudpb.controller;
+
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.repository.EventoRepository;
+import com.cliente.projeto.crudpb.service.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/*
+ * Importação em massa ponta a ponta (H2): lotes de 2 linhas para exercitar
+ * vários lotes, nomes repetidos entre lotes e o relatório de erros por linha.
+ */
+@SpringBootTest(properties = "crudpb.importacao.tamanho-lote=2")
+@AutoConfigureMockMvc
+class EventoImportacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Usuario criador;
+    private String sufixo;
+
+    @BeforeEach
+    void setup() {
+        sufixo = String.valueOf(System.nanoTime());
+        criador = usuarioService.criarUsuario(new Usuario("Importador", "importador" + sufixo + "@teste.com"));
+    }
+
+    @Test
+    void deveImportarCsv_ERelatarErrosPorLinha() throws Exception {
+        Evento existente = new Evento("Existente " + sufixo, "Ja gravado");
+        existente.setUsuario(criador);
+        eventoRepository.save(existente);
+
+        long id = criador.getId();
+        String csv = String.join("\n",
+                "usuarioId,nome,descricao",                              // 1: cabeçalho em outra ordem
+                id + ",Show " + sufixo + ",\"Palco, som e luz\"",        // 2: ok (vírgula entre aspas)
+                id + ",Feira " + sufixo + ",Artesanato",                 // 3: ok
+                id + ",AB,Curto demais",                                 // 4: validação do DTO
+                "999999,Orfao " + sufixo + ",Sem criador",               // 5: criador inexistente
+                id + ",Show " + sufixo + ",Repetido em outro lote",      // 6: repetido no arquivo
+                id + ",Existente " + sufixo + ",Ja existe no banco",     // 7: já existe no banco
+                "abc,Invalido " + sufixo + ",x",                         // 8: mal formatada
+                id + ",Congresso " + sufixo + ",");                      // 9: ok
+
+        mockMvc.perform(post("/eventos/importar").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhasLidas").value(8))
+                .andExpect(jsonPath("$.importados").value(3))
+                .andExpect(jsonPath("$.erros.length()").value(5))
+                .andExpect(jsonPath("$.erros[0].linha").value(4))
+                .andExpect(jsonPath("$.erros[0].mensagem").value(containsString("entre 3 e 100")))
+                .andExpect(jsonPath("$.erros[1].linha").value(5))
+                .andExpect(jsonPath("$.erros[1].mensagem").value("Usuário não encontrado com ID: 999999"))
+                .andExpect(jsonPath("$.erros[2].linha").value(6))
+                .andExpect(jsonPath("$.erros[3].linha").value(7))
+                .andExpect(jsonPath("$.erros[4].linha").value(8))
+                .andExpect(jsonPath("$.errosOmitidos").value(0));
+
+        assertEquals("Palco, som e luz", jdbcTemplate.queryForObject(
+                "SELECT descricao FROM eventos WHERE nome = ?", String.class, "Show " + sufixo));
+    }
+
+    @Test
+    void deveImportarEExportarDescricaoComQuebraDeLinha() throws Exception {
+        long id = criador.getId();
+        String csv = String.join("\n",
+                "nome,descricao,usuarioId",                                  // 1
+                "Sarau " + sufixo + ",\"Poesia\r\n\"\"ao vivo\"\", com\nmúsica\"," + id,  // 2-4: um registro
+                "AB,Curto demais," + id,                                     // 5: validação do DTO
+                "Recital " + sufixo + ",Piano," + id);                       // 6
+
+        mockMvc.perform(post("/eventos/importar").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhasLidas").value(3))
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.erros[0].linha").value(5));
+
+        String descricao = "Poesia\n\"ao vivo\", com\nmúsica";
+        assertEquals(descricao, jdbcTemplate.queryForObject(
+                "SELECT descricao FROM eventos WHERE nome = ?", String.class, "Sarau " + sufixo));
+        // a exportação devolve o campo entre aspas, no mesmo formato que a importação lê
+        mockMvc.perform(get("/eventos/export").param("formato", "csv"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        ",Sarau " + sufixo + ",\"Poesia\n\"\"ao vivo\"\", com\nmúsica\",Importador\n")));
+    }
+
+    @Test
+    void deveImportarNdjson() throws Exception {
+        long id = criador.getId();
+        String ndjson = String.join("\n",
+                "{\"nome\":\"Palestra " + sufixo + "\",\"descricao\":\"Auditorio\",\"usuarioId\":" + id + "}",
+                "{\"nome\":\"Oficina " + sufixo + "\",\"usuarioId\":" + id + "}",
+                "{\"nome\":\"Sem criador " + sufixo + "\"}",
+                "{nao e json");
+
+        mockMvc.perform(post("/eventos/importar").contentType("application/x-ndjson").content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.linhasLidas").value(4))
+                .andExpect(jsonPath("$.importados").value(2))
+                .andExpect(jsonPath("$.erros[0].linha").value(3))
+                .andExpect(jsonPath("$.erros[0].mensagem").value("usuarioId: O usuário criador é obrigatório."))
+                .andExpect(jsonPath("$.erros[1].linha").value(4))
+                .andExpect(jsonPath("$.erros[1].mensagem").value(containsString("Linha mal formatada")));
+    }
+
+    @Test
+    void deveRejeitarCsvSemAsColunasEsperadas() throws Exception {
+        mockMvc.perform(post("/eventos/importar").contentType("text/csv").content("titulo,autor\nx,y"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("cabeçalho")));
+    }
+}
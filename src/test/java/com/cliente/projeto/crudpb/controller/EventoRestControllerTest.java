@@ -0,0 +1,181 @@
+package com.cliente.projeto.crudpb.controller;
+
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
+import com.cliente.projeto.crudpb.dto.RelatorioExclusaoDTO;
+import com.cliente.projeto.crudpb.dto.ResultadoBuscaDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
+import com.cliente.projeto.crudpb.exception.ConflitoVersaoException;
+import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
+import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.EventoService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(EventoRestController.class)
+class EventoRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private EventoService eventoService;
+
+    @Test
+    void listar_DeveRetornarPaginaEmJson() throws Exception {
+        when(eventoService.listarPagina(null, null, EventoService.TAMANHO_PAGINA_PADRAO)).thenReturn(
+                new PaginaDTO<>(List.of(new EventoResumoDTO(1L, "Show", "Desc", "Admin")), null, 1L));
+
+        mockMvc.perform(get("/api/eventos"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].criadorNome").value("Admin"))
+                .andExpect(jsonPath("$.cursorProximo").value(1));
+    }
+
+    @Test
+    void buscarTexto_DeveRetornarResultadosPorRelevancia() throws Exception {
+        when(eventoService.buscarTexto("rock", 2, 10)).thenReturn(
+                new ResultadoBuscaDTO(List.of(new EventoResumoDTO(4L, "Rock na Praça", "Desc", "Admin")), "rock", 2, false));
+
+        mockMvc.perform(get("/api/eventos/busca").param("q", "rock").param("pagina", "2").param("tamanho", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.itens[0].nome").value("Rock na Praça"))
+                .andExpect(jsonPath("$.pagina").value(2))
+                .andExpect(jsonPath("$.temProxima").value(false));
+    }
+
+    @Test
+    void buscar_DeveRetornar404NoFormatoErroDTO() throws Exception {
+        when(eventoService.versao(99L)).thenThrow(new RecursoNaoEncontradoException("Evento não encontrado com ID: 99"));
+
+        mockMvc.perform(get("/api/eventos/99"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.status").value(404))
+                .andExpect(jsonPath("$.message").value("Evento não encontrado com ID: 99"))
+                .andExpect(jsonPath("$.path").value("/api/eventos/99"));
+    }
+
+    @Test
+    void buscar_DeveRetornarETagELastModified_E304SemCarregarOEvento() throws Exception {
+        when(eventoService.versao(7L)).thenReturn(new VersaoRegistroDTO(3L, Instant.parse("2025-01-01T10:00:00Z")));
+        when(eventoService.buscarPorId(7L)).thenReturn(evento(7L, "Show"));
+
+        mockMvc.perform(get("/api/eventos/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Last-Modified", "Wed, 01 Jan 2025 10:00:00 GMT"))
+                .andExpect(jsonPath("$.nome").value("Show"));
+
+        mockMvc.perform(get("/api/eventos/7").header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/eventos/7").header("If-Modified-Since", "Wed, 01 Jan 2025 10:00:00 GMT"))
+                .andExpect(status().isNotModified());
+        verify(eventoService, times(1)).buscarPorId(7L);
+    }
+
+    @Test
+    void criar_DeveRetornar201ComLocation() throws Exception {
+        when(eventoService.criarEvento(any(Evento.class), eq(5L))).thenReturn(evento(7L, "Show"));
+
+        mockMvc.perform(post("/api/eventos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Show\",\"descricao\":\"Desc\",\"usuarioId\":5}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/eventos/7"))
+                .andExpect(jsonPath("$.id").value(7))
+                .andExpect(jsonPath("$.usuarioId").value(5));
+    }
+
+    @Test
+    void criar_ComDadosInvalidos_DeveRetornar400() throws Exception {
+        mockMvc.perform(post("/api/eventos").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"AB\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("usuarioId")));
+
+        mockMvc.perform(post("/api/eventos").contentType(MediaType.APPLICATION_JSON).content("{nao e json"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(eventoService);
+    }
+
+    @Test
+    void atualizar_ComNomeDuplicado_DeveRetornar409() throws Exception {
+        when(eventoService.atualizarEvento(eq(7L), any(Evento.class), eq(5L), isNull()))
+                .thenThrow(new ValidacaoException("O nome 'Show' já está em uso por outro evento."));
+
+        mockMvc.perform(put("/api/eventos/7").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Show\",\"usuarioId\":5}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.status").value(409));
+    }
+
+    @Test
+    void atualizar_DeveRetornar200() throws Exception {
+        when(eventoService.atualizarEvento(eq(7L), any(Evento.class), eq(5L), isNull())).thenReturn(evento(7L, "Show 2"));
+
+        mockMvc.perform(put("/api/eventos/7").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Show 2\",\"usuarioId\":5}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Show 2"));
+    }
+
+    @Test
+    void atualizar_ComIfMatch_DevePassarAVersao_E412QuandoDesatualizada() throws Exception {
+        when(eventoService.atualizarEvento(eq(7L), any(Evento.class), eq(5L), eq(2L))).thenReturn(evento(7L, "Show 2"));
+        when(eventoService.atualizarEvento(eq(7L), any(Evento.class), eq(5L), eq(1L)))
+                .thenThrow(new ConflitoVersaoException("O evento foi alterado por outra pessoa."));
+
+        mockMvc.perform(put("/api/eventos/7").header("If-Match", "\"2\"").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Show 2\",\"usuarioId\":5}"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(put("/api/eventos/7").header("If-Match", "W/\"1\"").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Show 2\",\"usuarioId\":5}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.error").value("Pré-condição Falhou"));
+    }
+
+    @Test
+    void excluir_DeveRetornar204() throws Exception {
+        mockMvc.perform(delete("/api/eventos/7"))
+                .andExpect(status().isNoContent());
+
+        verify(eventoService).deletarEvento(7L);
+    }
+
+    @Test
+    void excluirVarios_DeveRetornarRelatorio() throws Exception {
+        when(eventoService.excluirEventos(List.of(1L, 2L, 3L))).thenReturn(new RelatorioExclusaoDTO(3, 2, List.of(3L)));
+
+        mockMvc.perform(post("/api/eventos/exclusoes").contentType(MediaType.APPLICATION_JSON).content("[1, 2, 3]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.excluidos").value(2))
+                .andExpect(jsonPath("$.naoEncontrados[0]").value(3));
+    }
+
+    private Evento evento(Long id, String nome) {
+        Usuario criador = new Usuario("Admin", "admin@teste.com");
+        criador.setId(5L);
+        Evento evento = new Evento(nome, "Desc");
+        evento.setId(id);
+        evento.setUsuario(criador);
+        return evento;
+    }
+}
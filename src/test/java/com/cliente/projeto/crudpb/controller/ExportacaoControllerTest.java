@@ -0,0 +1,87 @@
+package com.cliente.projeto.crudpb.controller;
+
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.EventoService;
+import com.cliente.projeto.crudpb.service.UsuarioService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class ExportacaoControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private EventoService eventoService;
+
+    private String sufixo;
+
+    @BeforeEach
+    void setup() {
+        sufixo = String.valueOf(System.nanoTime());
+        Usuario criador = usuarioService.criarUsuario(new Usuario("Exportador " + sufixo, "exportador" + sufixo + "@teste.com"));
+        eventoService.criarEvento(new Evento("Show " + sufixo, "Palco, \"som\" e luz"), criador.getId());
+        eventoService.criarEvento(new Evento("Feira " + sufixo, null), criador.getId());
+    }
+
+    @Test
+    void deveExportarEventosEmCsv_ComCabecalhoEEscape() throws Exception {
+        mockMvc.perform(get("/eventos/export"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("text/csv")))
+                .andExpect(header().string("Content-Disposition", containsString("eventos.csv")))
+                .andExpect(content().string(containsString("id,nome,descricao,criadorNome\n")))
+                .andExpect(content().string(containsString(
+                        ",Show " + sufixo + ",\"Palco, \"\"som\"\" e luz\",Exportador " + sufixo + "\n")))
+                .andExpect(content().string(containsString(",Feira " + sufixo + ",,Exportador " + sufixo + "\n")));
+    }
+
+    @Test
+    void deveExportarUsuariosEmNdjson() throws Exception {
+        mockMvc.perform(get("/usuarios/export").param("formato", "NDJSON"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("application/x-ndjson")))
+                .andExpect(content().string(containsString(
+                        "\"nome\":\"Exportador " + sufixo + "\",\"email\":\"exportador" + sufixo + "@teste.com\"}\n")));
+    }
+
+    @Test
+    void deveCompactarComGzip_QuandoSolicitado() throws Exception {
+        byte[] corpo = mockMvc.perform(get("/eventos/export").param("gzip", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Encoding", "gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream descompactado = new GZIPInputStream(new ByteArrayInputStream(corpo))) {
+            String csv = new String(descompactado.readAllBytes(), StandardCharsets.UTF_8);
+            assertTrue(csv.startsWith("id,nome,descricao,criadorNome\n"));
+            assertTrue(csv.contains("Feira " + sufixo));
+        }
+    }
+
+    @Test
+    void deveRejeitarFormatoDesconhecido() throws Exception {
+        mockMvc.perform(get("/eventos/export").param("formato", "xml"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(containsString("csv ou ndjson")));
+    }
+}
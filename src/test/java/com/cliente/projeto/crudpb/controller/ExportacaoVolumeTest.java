@@ -0,0 +1,89 @@
+package com.cliente.projeto.crudpb.controller;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/*
+ * Exporta uma tabela bem maior que o heap. Roda na execução "volume-test" do
+ * surefire, com -Xmx128m: 500 mil eventos carregados como entidades (findAll)
+ * não caberiam nesse heap; com o cursor, a memória não depende do tamanho da tabela.
+ * O H2 fica em arquivo (não em memória) para que os próprios dados não ocupem o heap,
+ * e a resposta é lida por HTTP de verdade, linha a linha, sem ser acumulada.
+ */
+@Tag("volume")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/h2/exportacao-volume;LAZY_QUERY_EXECUTION=TRUE"
+})
+class ExportacaoVolumeTest {
+
+    private static final int TOTAL_EVENTOS = 500_000;
+
+    @LocalServerPort
+    private int porta;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // O arquivo sobrevive entre execuções: as migrações recriam o esquema em um banco vazio
+    // (senão a busca em memória carregaria na subida os 500 mil eventos da execução anterior)
+    @BeforeAll
+    static void apagarBancoAnterior() throws Exception {
+        Files.deleteIfExists(Path.of("target", "h2", "exportacao-volume.mv.db"));
+    }
+
+    @BeforeEach
+    void popularTabela() {
+        // Sem o heap pequeno o teste não prova nada: rode pela execução "volume-test" do Maven
+        assertTrue(Runtime.getRuntime().maxMemory() <= 160L * 1024 * 1024,
+                "Heap máximo esperado ~128MB, atual: " + Runtime.getRuntime().maxMemory() / (1024 * 1024) + "MB");
+        jdbcTemplate.update("DELETE FROM eventos");
+        jdbcTemplate.update("DELETE FROM usuarios");
+        jdbcTemplate.update("INSERT INTO usuarios (id, nome, email) VALUES (1, 'Volume', 'volume@teste.com')");
+        // Gerado dentro do próprio banco, sem passar pela JVM
+        jdbcTemplate.update("INSERT INTO eventos (id, nome, descricao, usuario_id) "
+                + "SELECT X, 'Evento ' || X, 'Descricao do evento numero ' || X, 1 FROM SYSTEM_RANGE(1, ?)", TOTAL_EVENTOS);
+    }
+
+    @Test
+    void deveExportarTabelaMaiorQueOHeap_EmCsv() throws Exception {
+        assertEquals(TOTAL_EVENTOS + 1L, contarLinhas("/eventos/export?formato=csv", false)); // + cabeçalho
+    }
+
+    @Test
+    void deveExportarTabelaMaiorQueOHeap_EmNdjsonCompactado() throws Exception {
+        assertEquals(TOTAL_EVENTOS, contarLinhas("/eventos/export?formato=ndjson&gzip=true", true));
+    }
+
+    private long contarLinhas(String caminho, boolean gzip) throws Exception {
+        HttpResponse<InputStream> resposta = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + porta + caminho)).build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        assertEquals(200, resposta.statusCode());
+
+        InputStream corpo = gzip ? new GZIPInputStream(resposta.body()) : resposta.body();
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(corpo, StandardCharsets.UTF_8))) {
+            return leitor.lines().count();
+        }
+    }
+}
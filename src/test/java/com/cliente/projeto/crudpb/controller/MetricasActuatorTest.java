@@ -0,0 +1,54 @@
+package com.cliente.projeto.crudpb.controller;
+
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.UsuarioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/*
+ * O /actuator/prometheus deve trazer as métricas das camadas quentes,
+ * com os buckets de histograma (padrões de metricas.properties).
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class MetricasActuatorTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Test
+    void deveExporMetricasDeServicosRepositoriosPoolHibernateEErros() throws Exception {
+        Usuario usuario = usuarioService.criarUsuario(new Usuario("Medido", "medido" + System.nanoTime() + "@teste.com"));
+        mockMvc.perform(get("/api/usuarios/{id}", usuario.getId())).andExpect(status().isOk());
+        mockMvc.perform(get("/api/eventos/999999")).andExpect(status().isNotFound());
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                // Controllers (com histograma para p99)
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{")))
+                .andExpect(content().string(containsString("uri=\"/api/usuarios/{id}\"")))
+                // Services (@Timed)
+                .andExpect(content().string(containsString("crudpb_servico_seconds_bucket{")))
+                .andExpect(content().string(containsString("class=\"com.cliente.projeto.crudpb.service.UsuarioService\"")))
+                .andExpect(content().string(containsString("method=\"criarUsuario\"")))
+                // Repositórios, pool e Hibernate
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(containsString("hikaricp_connections_active")))
+                .andExpect(content().string(containsString("hibernate_statements_total")))
+                .andExpect(content().string(containsString("hibernate_entities_loads_total")))
+                // Ramos do GlobalExceptionHandler
+                .andExpect(content().string(containsString("crudpb_erros_total{tipo=\"nao_encontrado\"}")));
+    }
+}
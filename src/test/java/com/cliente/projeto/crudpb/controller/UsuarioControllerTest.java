@@ -1,8 +1,15 @@
 package com.cliente.projeto.crudpb.controller;
 
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
 import com.cliente.projeto.crudpb.dto.UsuarioDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioListagemDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
+import com.cliente.projeto.crudpb.dto.VersaoTabelaDTO;
+import com.cliente.projeto.crudpb.exception.ConflitoVersaoException;
 import com.cliente.projeto.crudpb.exception.ValidacaoException;
 import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.EstatisticasUsuarioService;
 import com.cliente.projeto.crudpb.service.UsuarioService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +20,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -28,14 +37,64 @@ class UsuarioControllerTest {
   @MockitoBean
   private UsuarioService usuarioService;
 
+  @MockitoBean
+  private EstatisticasUsuarioService estatisticas;
+
   @Test
   void listarUsuarios_DeveRetornarViewComLista() throws Exception {
-    when(usuarioService.listarTodos()).thenReturn(List.of(new Usuario("Teste", "teste@email.com")));
+    when(usuarioService.versaoTabela()).thenReturn(new VersaoTabelaDTO(1L));
+    when(estatisticas.versaoTotais()).thenReturn(new VersaoTabelaDTO(1L));
+    when(usuarioService.listarPagina(null, null, UsuarioService.TAMANHO_PAGINA_PADRAO)).thenReturn(new PaginaDTO<>(List.of(
+        new UsuarioListagemDTO(1L, "Teste", "teste@email.com", 42L),
+        new UsuarioListagemDTO(2L, "Sem Linha", "sem@email.com", 0L)), null, null));
 
     mockMvc.perform(get("/usuarios"))
         .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andExpect(header().string("Cache-Control", "no-cache"))
         .andExpect(view().name("lista-usuarios"))
-        .andExpect(model().attributeExists("usuarios"));
+        .andExpect(model().attributeExists("usuarios"))
+        .andExpect(content().string(org.hamcrest.Matchers.containsString("<td>42</td>")))
+        .andExpect(content().string(org.hamcrest.Matchers.containsString("<td>0</td>")))
+        .andExpect(content().string(org.hamcrest.Matchers.not(org.hamcrest.Matchers.containsString("Paginação de usuários"))));
+  }
+
+  @Test
+  void listarUsuarios_ComCursor_DeveMostrarLinksDePaginacao() throws Exception {
+    when(usuarioService.versaoTabela()).thenReturn(new VersaoTabelaDTO(1L));
+    when(estatisticas.versaoTotais()).thenReturn(new VersaoTabelaDTO(1L));
+    when(usuarioService.listarPagina(5L, null, UsuarioService.TAMANHO_PAGINA_PADRAO)).thenReturn(new PaginaDTO<>(List.of(
+        new UsuarioListagemDTO(6L, "Seis", "seis@email.com", 1L)), 6L, 6L));
+
+    mockMvc.perform(get("/usuarios").param("apos", "5"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(org.hamcrest.Matchers.containsString("/usuarios?antes=6")))
+        .andExpect(content().string(org.hamcrest.Matchers.containsString("/usuarios?apos=6")));
+  }
+
+  @Test
+  void listarUsuarios_ComETagAtual_DeveRetornar304SemCarregarUsuarios() throws Exception {
+    when(usuarioService.versaoTabela()).thenReturn(new VersaoTabelaDTO(1L));
+    when(estatisticas.versaoTotais()).thenReturn(new VersaoTabelaDTO(3L));
+    when(usuarioService.listarPagina(null, null, UsuarioService.TAMANHO_PAGINA_PADRAO))
+        .thenReturn(new PaginaDTO<>(List.of(), null, null));
+    String etag = mockMvc.perform(get("/usuarios")).andReturn().getResponse().getHeader("ETag");
+    clearInvocations(usuarioService);
+
+    mockMvc.perform(get("/usuarios").header("If-None-Match", etag))
+        .andExpect(status().isNotModified())
+        .andExpect(content().string(""));
+    verify(usuarioService, never()).listarPagina(any(), any(), anyInt());
+
+    // Evento criado/excluído muda a coluna "Eventos": página nova
+    when(estatisticas.versaoTotais()).thenReturn(new VersaoTabelaDTO(4L));
+    mockMvc.perform(get("/usuarios").header("If-None-Match", etag))
+        .andExpect(status().isOk());
+
+    // Outra versão da tabela (ex.: um usuário excluído) = página nova
+    when(usuarioService.versaoTabela()).thenReturn(new VersaoTabelaDTO(0L));
+    mockMvc.perform(get("/usuarios").header("If-None-Match", etag))
+        .andExpect(status().isOk());
   }
 
   @Test
@@ -84,15 +143,29 @@ class UsuarioControllerTest {
   @Test
   void mostrarFormularioEditar_DeveRetornarViewPreenchida() throws Exception {
     Usuario usuario = new Usuario("Edit", "edit@email.com");
+    when(usuarioService.versao(1L)).thenReturn(new VersaoRegistroDTO(0L, null));
     when(usuarioService.buscarPorId(1L)).thenReturn(usuario);
 
     mockMvc.perform(get("/usuarios/editar/1"))
         .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
         .andExpect(view().name("form-usuario"))
         .andExpect(model().attribute("usuarioId", 1L))
         .andExpect(model().attributeExists("usuarioDTO"));
   }
 
+  @Test
+  void mostrarFormularioEditar_ComETagAtual_DeveRetornar304SemCarregarUsuario() throws Exception {
+    when(usuarioService.versao(1L)).thenReturn(new VersaoRegistroDTO(5L, null));
+    when(usuarioService.buscarPorId(1L)).thenReturn(new Usuario("Edit", "edit@email.com"));
+    String etag = mockMvc.perform(get("/usuarios/editar/1")).andReturn().getResponse().getHeader("ETag");
+    clearInvocations(usuarioService);
+
+    mockMvc.perform(get("/usuarios/editar/1").header("If-None-Match", etag))
+        .andExpect(status().isNotModified());
+    verify(usuarioService, never()).buscarPorId(1L);
+  }
+
   @Test
   void atualizarUsuario_ComDadosValidos_DeveRedirecionar() throws Exception {
     mockMvc.perform(post("/usuarios/1")
@@ -102,7 +175,22 @@ class UsuarioControllerTest {
         .andExpect(redirectedUrl("/usuarios"))
         .andExpect(flash().attributeExists("mensagemSucesso"));
 
-    verify(usuarioService).atualizarUsuario(eq(1L), any(Usuario.class));
+    verify(usuarioService).atualizarUsuario(eq(1L), any(Usuario.class), isNull());
+  }
+
+  @Test
+  void atualizarUsuario_ComVersaoDesatualizada_DeveRetornarFormularioComErro() throws Exception {
+    doThrow(new ConflitoVersaoException("O usuário foi alterado por outra pessoa.")).when(usuarioService)
+        .atualizarUsuario(eq(1L), any(Usuario.class), eq(2L));
+
+    mockMvc.perform(post("/usuarios/1")
+        .param("nome", "Usuario Atualizado")
+        .param("email", "atualizado@email.com")
+        .param("versao", "2"))
+        .andExpect(status().isOk())
+        .andExpect(view().name("form-usuario"))
+        .andExpect(model().attribute("versao", 2L))
+        .andExpect(model().attribute("mensagemErro", "O usuário foi alterado por outra pessoa."));
   }
 
   @Test
@@ -118,7 +206,7 @@ class UsuarioControllerTest {
   @Test
   void atualizarUsuario_ComExcecaoServico_DeveRetornarFormularioComErro() throws Exception {
     doThrow(new ValidacaoException("Email duplicado")).when(usuarioService).atualizarUsuario(eq(1L),
-        any(Usuario.class));
+        any(Usuario.class), isNull());
 
     mockMvc.perform(post("/usuarios/1")
         .param("nome", "Usuario Atualizado")
@@ -137,4 +225,16 @@ class UsuarioControllerTest {
 
     verify(usuarioService).deletarUsuario(1L);
   }
+
+  @Test
+  void buscarUsuarios_DeveRetornarJsonComResumos() throws Exception {
+    when(usuarioService.buscarPorPrefixo("ma", 5))
+        .thenReturn(List.of(new UsuarioResumoDTO(3L, "Maria", "maria@email.com")));
+
+    mockMvc.perform(get("/usuarios/buscar").param("q", "ma").param("limite", "5"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(3))
+        .andExpect(jsonPath("$[0].nome").value("Maria"))
+        .andExpect(jsonPath("$[0].email").value("maria@email.com"));
+  }
 }
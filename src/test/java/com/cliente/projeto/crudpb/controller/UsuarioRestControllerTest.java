@@ -0,0 +1,121 @@
+package com.cliente.projeto.crudpb.controller;
+
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
+import com.cliente.projeto.crudpb.dto.VersaoRegistroDTO;
+import com.cliente.projeto.crudpb.exception.ConflitoVersaoException;
+import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
+import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.UsuarioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UsuarioRestController.class)
+class UsuarioRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockitoBean
+    private UsuarioService usuarioService;
+
+    @Test
+    void buscar_DeveRetornarResultadosDaBuscaPorPrefixo() throws Exception {
+        when(usuarioService.buscarPorPrefixo("ma", UsuarioService.LIMITE_BUSCA_MAXIMO))
+                .thenReturn(List.of(new UsuarioResumoDTO(1L, "Maria", "maria@teste.com")));
+
+        mockMvc.perform(get("/api/usuarios").param("q", "ma"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].email").value("maria@teste.com"));
+    }
+
+    @Test
+    void buscarPorId_DeveRetornar200Ou404() throws Exception {
+        when(usuarioService.buscarResumo(1L)).thenReturn(Optional.of(new UsuarioResumoDTO(1L, "Maria", "maria@teste.com")));
+        when(usuarioService.versao(1L)).thenReturn(new VersaoRegistroDTO(0L, null));
+        when(usuarioService.versao(2L)).thenThrow(new RecursoNaoEncontradoException("Usuário não encontrado com ID: 2"));
+
+        mockMvc.perform(get("/api/usuarios/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"0\""))
+                .andExpect(jsonPath("$.nome").value("Maria"));
+        mockMvc.perform(get("/api/usuarios/1").header("If-None-Match", "\"0\""))
+                .andExpect(status().isNotModified());
+        verify(usuarioService, times(1)).buscarResumo(1L);
+        mockMvc.perform(get("/api/usuarios/2"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Usuário não encontrado com ID: 2"));
+    }
+
+    @Test
+    void criar_DeveRetornar201ComLocation() throws Exception {
+        Usuario criado = new Usuario("Maria", "maria@teste.com");
+        criado.setId(3L);
+        when(usuarioService.criarUsuario(any(Usuario.class))).thenReturn(criado);
+
+        mockMvc.perform(post("/api/usuarios").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Maria\",\"email\":\"maria@teste.com\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/api/usuarios/3"))
+                .andExpect(jsonPath("$.id").value(3));
+    }
+
+    @Test
+    void criar_ComEmailDuplicado_DeveRetornar409() throws Exception {
+        when(usuarioService.criarUsuario(any(Usuario.class)))
+                .thenThrow(new ValidacaoException("O e-mail 'maria@teste.com' já está em uso por outro usuário."));
+
+        mockMvc.perform(post("/api/usuarios").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Maria\",\"email\":\"maria@teste.com\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Conflito"));
+    }
+
+    @Test
+    void atualizar_DeveRetornar200_EExcluir204() throws Exception {
+        Usuario atualizado = new Usuario("Maria Silva", "maria@teste.com");
+        atualizado.setId(3L);
+        when(usuarioService.atualizarUsuario(eq(3L), any(Usuario.class), isNull())).thenReturn(atualizado);
+
+        mockMvc.perform(put("/api/usuarios/3").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Maria Silva\",\"email\":\"maria@teste.com\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Maria Silva"));
+
+        mockMvc.perform(delete("/api/usuarios/3"))
+                .andExpect(status().isNoContent());
+        verify(usuarioService).deletarUsuario(3L);
+    }
+
+    @Test
+    void atualizar_ComIfMatchDesatualizado_DeveRetornar412() throws Exception {
+        when(usuarioService.atualizarUsuario(eq(3L), any(Usuario.class), eq(4L)))
+                .thenThrow(new ConflitoVersaoException("O usuário foi alterado por outra pessoa."));
+
+        mockMvc.perform(put("/api/usuarios/3").header("If-Match", "\"4\"").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Maria Silva\",\"email\":\"maria@teste.com\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.status").value(412));
+
+        // Um If-Match que não é uma versão nunca casa
+        when(usuarioService.atualizarUsuario(eq(3L), any(Usuario.class), eq(-1L)))
+                .thenThrow(new ConflitoVersaoException("O usuário foi alterado por outra pessoa."));
+        mockMvc.perform(put("/api/usuarios/3").header("If-Match", "\"abc\"").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Maria Silva\",\"email\":\"maria@teste.com\"}"))
+                .andExpect(status().isPreconditionFailed());
+    }
+}
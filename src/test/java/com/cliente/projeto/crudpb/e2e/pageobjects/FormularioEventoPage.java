@@ -1,10 +1,10 @@
 package com.cliente.projeto.crudpb.e2e.pageobjects;
 
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.Select; // Importado
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.time.Duration;
@@ -21,10 +21,11 @@ public class FormularioEventoPage {
 
     /*
     ==================== REATORAÇÃO (Req 4) ====================
-    Adicionando o seletor para o novo dropdown de usuário.
+    O dropdown de usuários virou um seletor com busca (type-ahead):
+    o ID escolhido fica no campo oculto 'usuarioId'.
     ============================================================
     */
-    private By selectUsuario = By.id("usuarioId");
+    private By campoUsuarioId = By.id("usuarioId");
 
     /*
     ==================== CORREÇÃO (Bug TP3) ====================
@@ -59,11 +60,12 @@ public class FormularioEventoPage {
         driver.findElement(campoDescricao).clear();
         driver.findElement(campoDescricao).sendKeys(descricao);
 
-        // Se um usuarioId for fornecido, selecione-o no dropdown
+        // Se um usuarioId for fornecido, grava-o no campo oculto do seletor
+        // (equivale a escolher o usuário na lista de sugestões)
         if (usuarioId != null) {
-            // Selenium usa a classe 'Select' para interagir com dropdowns
-            Select dropdownUsuario = new Select(driver.findElement(selectUsuario));
-            dropdownUsuario.selectByValue(usuarioId.toString());
+            ((JavascriptExecutor) driver).executeScript(
+                    "arguments[0].value = arguments[1];",
+                    driver.findElement(campoUsuarioId), usuarioId.toString());
         }
     }
 
@@ -0,0 +1,59 @@
+package com.cliente.projeto.crudpb.idempotencia;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdempotenciaEmMemoriaTest {
+
+    private final AtomicReference<Instant> relogio = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+    private final IdempotenciaEmMemoria armazenamento =
+            new IdempotenciaEmMemoria(100, Duration.ofHours(24), Duration.ofMinutes(1), relogio::get);
+
+    @Test
+    void deveReservarUmaVez_EDevolverARespostaGuardada() {
+        assertNull(armazenamento.reservar("k"));
+        assertTrue(armazenamento.reservar("k").emAndamento());
+
+        armazenamento.concluir("k", resposta());
+        RegistroIdempotencia guardado = armazenamento.reservar("k");
+        assertFalse(guardado.emAndamento());
+        assertEquals(201, guardado.status());
+        assertEquals("/api/usuarios/1", guardado.localRecurso());
+        assertEquals(relogio.get().plus(Duration.ofHours(24)), guardado.expiraEm());
+
+        armazenamento.liberar("k"); // concluída: liberar não apaga a resposta
+        assertNotNull(armazenamento.reservar("k"));
+    }
+
+    @Test
+    void deveLiberarAReserva_ParaAProximaTentativa() {
+        assertNull(armazenamento.reservar("k"));
+        armazenamento.liberar("k");
+        assertNull(armazenamento.reservar("k"));
+        armazenamento.liberar("outra"); // sem registro: nada a fazer
+    }
+
+    @Test
+    void deveTomarAReservaEARespostaVencidas() {
+        assertNull(armazenamento.reservar("travada"));
+        relogio.set(relogio.get().plus(Duration.ofSeconds(59)));
+        assertNotNull(armazenamento.reservar("travada"));
+        relogio.set(relogio.get().plus(Duration.ofSeconds(1)));
+        assertNull(armazenamento.reservar("travada")); // a instância que reservou não voltou
+
+        armazenamento.concluir("travada", resposta());
+        relogio.set(relogio.get().plus(Duration.ofHours(24)));
+        assertNull(armazenamento.reservar("travada"));
+    }
+
+    private static RegistroIdempotencia resposta() {
+        return new RegistroIdempotencia("abc", 201, "application/json", "/api/usuarios/1",
+                "{\"id\":1}".getBytes(StandardCharsets.UTF_8), null);
+    }
+}
@@ -0,0 +1,182 @@
+package com.cliente.projeto.crudpb.idempotencia;
+
+import com.cliente.projeto.crudpb.config.MetricasConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/*
+ * Filtro de idempotência na frente dos controllers reais, com o armazenamento em
+ * memória padrão. Cada teste usa chaves e e-mails próprios, já que o contexto é
+ * compartilhado; o número de chamadas ao serviço vem do timer crudpb.servico.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotenciaFilterTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ArmazenamentoIdempotencia armazenamento;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    @Test
+    void deveRepetirARespostaDaPrimeiraCriacao_SemChamarOServicoDeNovo() throws Exception {
+        double chamadasAntes = chamadasCriarUsuario();
+        double repetidasAntes = contador("repetida");
+
+        MockHttpServletResponse primeira = mockMvc.perform(criarUsuario("chave-repetida", "Ana", "ana.idem@teste.com"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotenciaFilter.CABECALHO_REPETIDA))
+                .andReturn().getResponse();
+
+        mockMvc.perform(criarUsuario("chave-repetida", "Ana", "ana.idem@teste.com"))
+                .andExpect(status().isCreated())
+                .andExpect(header().string(IdempotenciaFilter.CABECALHO_REPETIDA, "true"))
+                .andExpect(header().string(HttpHeaders.LOCATION, primeira.getHeader(HttpHeaders.LOCATION)))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().string(primeira.getContentAsString()));
+
+        assertEquals(1, contarUsuarios("ana.idem@teste.com"));
+        assertEquals(chamadasAntes + 1, chamadasCriarUsuario());
+        assertEquals(repetidasAntes + 1, contador("repetida"));
+    }
+
+    @Test
+    void deveRecusarComConflito_QuandoAMesmaChaveVemComOutroConteudo() throws Exception {
+        mockMvc.perform(criarUsuario("chave-divergente", "Bia", "bia.idem@teste.com")).andExpect(status().isCreated());
+
+        mockMvc.perform(criarUsuario("chave-divergente", "Bia", "outra.idem@teste.com"))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(jsonPath("$.status").value(422))
+                .andExpect(jsonPath("$.path").value("/api/usuarios"));
+
+        assertEquals(0, contarUsuarios("outra.idem@teste.com"));
+        // a mesma chave em outra rota é outra chave
+        mockMvc.perform(post("/api/eventos").header(IdempotenciaFilter.CABECALHO, "chave-divergente")
+                        .contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveResponder409_EnquantoAPrimeiraAindaExecuta() throws Exception {
+        assertNull(armazenamento.reservar("POST /api/usuarios chave-lenta")); // a primeira "ainda executando"
+
+        mockMvc.perform(criarUsuario("chave-lenta", "Caio", "caio.idem@teste.com"))
+                .andExpect(status().isConflict())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("$.status").value(409));
+
+        armazenamento.liberar("POST /api/usuarios chave-lenta");
+        mockMvc.perform(criarUsuario("chave-lenta", "Caio", "caio.idem@teste.com")).andExpect(status().isCreated());
+    }
+
+    @Test
+    void naoDeveGuardarFalhas_AProximaTentativaExecutaDeNovo() throws Exception {
+        mockMvc.perform(criarUsuario("chave-falha", "", "invalido")).andExpect(status().isBadRequest());
+
+        mockMvc.perform(criarUsuario("chave-falha", "Dora", "dora.idem@teste.com"))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist(IdempotenciaFilter.CABECALHO_REPETIDA));
+        assertEquals(1, contarUsuarios("dora.idem@teste.com"));
+    }
+
+    @Test
+    void deveRepetirORedirecionamentoDoFormulario_PelaChaveDoCampoOculto() throws Exception {
+        String chave = mockMvc.perform(get("/usuarios/novo"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString()
+                .replaceAll("(?s).*name=\"chaveIdempotencia\" value=\"(\\w+)\".*", "$1");
+        assertEquals(32, chave.length());
+
+        MockHttpServletRequestBuilder envio = post("/usuarios")
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .param(IdempotenciaFilter.PARAMETRO, chave)
+                .param("nome", "Edu")
+                .param("email", "edu.idem@teste.com");
+        String destino = mockMvc.perform(envio)
+                .andExpect(status().is3xxRedirection())
+                .andReturn().getResponse().getRedirectedUrl();
+        mockMvc.perform(envio)
+                .andExpect(status().is3xxRedirection())
+                .andExpect(header().string(IdempotenciaFilter.CABECALHO_REPETIDA, "true"))
+                .andExpect(redirectedUrl(destino));
+
+        assertEquals(1, contarUsuarios("edu.idem@teste.com"));
+    }
+
+    @Test
+    void naoDeveGuardarOFormularioReRenderizadoComErro_OEnvioCorrigidoExecuta() throws Exception {
+        // nome vazio: o controller devolve o formulário com os erros (200), sem criar nada
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/usuarios")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .param(IdempotenciaFilter.PARAMETRO, "chave-form-invalido")
+                            .param("nome", "")
+                            .param("email", "gabi.idem@teste.com"))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(IdempotenciaFilter.CABECALHO_REPETIDA));
+        }
+
+        mockMvc.perform(post("/usuarios")
+                        .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                        .param(IdempotenciaFilter.PARAMETRO, "chave-form-invalido")
+                        .param("nome", "Gabi")
+                        .param("email", "gabi.idem@teste.com"))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(header().doesNotExist(IdempotenciaFilter.CABECALHO_REPETIDA));
+        assertEquals(1, contarUsuarios("gabi.idem@teste.com"));
+    }
+
+    @Test
+    void deveRecusarChaveVaziaOuGrandeDemais_ESeguirNormalSemChave() throws Exception {
+        mockMvc.perform(criarUsuario(" ", "Fabi", "fabi.idem@teste.com")).andExpect(status().isBadRequest());
+        mockMvc.perform(criarUsuario("x".repeat(IdempotenciaFilter.TAMANHO_MAXIMO_CHAVE + 1), "Fabi", "fabi.idem@teste.com"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("A chave de idempotência deve ter de 1 a 255 caracteres."));
+
+        mockMvc.perform(post("/api/usuarios").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Fabi\",\"email\":\"fabi.idem@teste.com\"}"))
+                .andExpect(status().isCreated());
+        assertEquals(1, contarUsuarios("fabi.idem@teste.com"));
+    }
+
+    private static MockHttpServletRequestBuilder criarUsuario(String chave, String nome, String email) {
+        return post("/api/usuarios")
+                .header(IdempotenciaFilter.CABECALHO, chave)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"nome\":\"" + nome + "\",\"email\":\"" + email + "\"}");
+    }
+
+    private int contarUsuarios(String email) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usuarios WHERE email = ?", Integer.class, email);
+    }
+
+    private double chamadasCriarUsuario() {
+        var timer = registro.find(MetricasConfig.METRICA_SERVICOS).tag("method", "criarUsuario").tag("exception", "none").timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private double contador(String resultado) {
+        return registro.get(MetricasConfig.METRICA_IDEMPOTENCIA).tag("resultado", resultado).counter().count();
+    }
+}
@@ -0,0 +1,75 @@
+package com.cliente.projeto.crudpb.idempotencia;
+
+import com.cliente.projeto.crudpb.config.EsquemaConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.JdbcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(EsquemaConfig.class) // tabela idempotencia pela migração V5 (h2)
+@JdbcTest
+class IdempotenciaJdbcTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final AtomicReference<Instant> relogio = new AtomicReference<>(Instant.parse("2026-01-01T00:00:00Z"));
+    private IdempotenciaJdbc armazenamento;
+
+    @BeforeEach
+    void criar() {
+        armazenamento = new IdempotenciaJdbc(jdbcTemplate, Duration.ofHours(24), Duration.ofMinutes(1), relogio::get);
+    }
+
+    @Test
+    void deveReservarPelaChavePrimaria_EGuardarAResposta() {
+        assertNull(armazenamento.reservar("POST /api/eventos k"));
+        assertTrue(armazenamento.reservar("POST /api/eventos k").emAndamento());
+
+        byte[] corpo = "{\"id\":7}".getBytes(StandardCharsets.UTF_8);
+        armazenamento.concluir("POST /api/eventos k",
+                new RegistroIdempotencia("abc", 201, "application/json", "/api/eventos/7", corpo, null));
+
+        RegistroIdempotencia guardado = armazenamento.reservar("POST /api/eventos k");
+        assertEquals("abc", guardado.impressao());
+        assertEquals(201, guardado.status());
+        assertEquals("application/json", guardado.tipoConteudo());
+        assertEquals("/api/eventos/7", guardado.localRecurso());
+        assertArrayEquals(corpo, guardado.corpo());
+        assertEquals(relogio.get().plus(Duration.ofHours(24)), guardado.expiraEm());
+
+        armazenamento.liberar("POST /api/eventos k"); // concluída: continua lá
+        assertFalse(armazenamento.reservar("POST /api/eventos k").emAndamento());
+    }
+
+    @Test
+    void deveLiberarAReserva_ETomarAVencida() {
+        assertNull(armazenamento.reservar("a"));
+        armazenamento.liberar("a");
+        assertNull(armazenamento.reservar("a"));
+
+        relogio.set(relogio.get().plus(Duration.ofMinutes(1)));
+        assertNull(armazenamento.reservar("a")); // reserva vencida: outra requisição assume
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM idempotencia WHERE chave = 'a'", Integer.class));
+    }
+
+    @Test
+    void deveApagarSoOsVencidos() {
+        armazenamento.reservar("velha");
+        relogio.set(relogio.get().plus(Duration.ofMinutes(2)));
+        armazenamento.reservar("nova");
+
+        assertEquals(1, armazenamento.limparVencidos());
+        assertNull(armazenamento.reservar("velha"));
+        assertTrue(armazenamento.reservar("nova").emAndamento());
+    }
+}
@@ -0,0 +1,95 @@
+package com.cliente.projeto.crudpb.repository;
+
+import com.cliente.projeto.crudpb.config.EsquemaConfig;
+import com.cliente.projeto.crudpb.model.EstatisticaUsuario;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(EsquemaConfig.class) // o slice não carrega os @Configuration: esquema pelas migrações (h2)
+@DataJpaTest
+class EstatisticaUsuarioRepositoryTest {
+
+    @Autowired
+    private EstatisticaUsuarioRepository estatisticaRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void deveSomarEDescontar_SemLerOContadorAntes() {
+        Usuario ana = usuario("Ana");
+        Usuario bia = usuario("Bia");
+        estatisticaRepository.inserir(ana.getId(), 0);
+        estatisticaRepository.inserir(bia.getId(), 0);
+        Evento show = evento("Show", ana);
+        Evento feira = evento("Feira", ana);
+        Evento palestra = evento("Palestra", bia);
+
+        assertEquals(1, estatisticaRepository.somarEventos(ana.getId(), 2));
+        assertEquals(1, estatisticaRepository.somarEventos(bia.getId(), 1));
+        assertEquals(0, estatisticaRepository.somarEventos(-1L, 1)); // sem linha
+
+        // O criador vem do evento, que ainda existe
+        assertEquals(1, estatisticaRepository.descontarEvento(show.getId()));
+        assertEquals(0, estatisticaRepository.descontarEvento(-1L));
+        assertEquals(2, estatisticaRepository.descontarEventos(List.of(feira.getId(), palestra.getId(), -1L)));
+
+        assertEquals(0, total(ana));
+        assertEquals(0, total(bia));
+    }
+
+    @Test
+    void deveRecontarAFaixa_CriandoAsLinhasQueFaltam() {
+        Usuario ana = usuario("Ana");
+        Usuario bia = usuario("Bia");
+        Usuario fora = usuario("Fora da Faixa");
+        estatisticaRepository.inserir(ana.getId(), 99); // valor errado
+        evento("Show", ana);
+        evento("Feira", bia);
+        evento("Palestra", bia);
+
+        assertEquals(1, estatisticaRepository.criarFaltantes(ana.getId(), bia.getId()));
+        assertEquals(2, estatisticaRepository.travarFaixa(ana.getId(), bia.getId()).size());
+        assertEquals(2, estatisticaRepository.recontar(ana.getId(), bia.getId()));
+
+        assertEquals(1, total(ana));
+        assertEquals(2, total(bia));
+        assertFalse(estatisticaRepository.existsById(fora.getId()));
+        assertEquals(ana.getId(), estatisticaRepository.buscarMenorIdUsuario());
+        assertEquals(fora.getId(), estatisticaRepository.buscarMaiorIdUsuario());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void deveExigirTransacao_ParaAlterarContadores() {
+        // Fora da transação de quem grava o evento o contador não pode mudar
+        assertThrows(IllegalTransactionStateException.class, () -> estatisticaRepository.somarEventos(1L, 1));
+    }
+
+    private Usuario usuario(String nome) {
+        return entityManager.persistFlushFind(new Usuario(nome, nome.replace(" ", "").toLowerCase() + "@teste.com"));
+    }
+
+    private Evento evento(String nome, Usuario criador) {
+        Evento evento = new Evento(nome, "Descricao");
+        evento.setUsuario(criador);
+        return entityManager.persistAndFlush(evento);
+    }
+
+    private long total(Usuario usuario) {
+        entityManager.clear(); // os UPDATEs em massa não passam pelo contexto de persistência
+        return estatisticaRepository.findById(usuario.getId()).map(EstatisticaUsuario::getTotalEventos).orElseThrow();
+    }
+}
@@ -0,0 +1,98 @@
+package com.cliente.projeto.crudpb.repository;
+
+import com.cliente.projeto.crudpb.config.EsquemaConfig;
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Garante que a listagem de eventos não sofre do problema N+1:
+ * a página inteira, com o nome do criador, sai de UM único SELECT.
+ * E que a exclusão por ID é um único DELETE, sem carregar a entidade.
+ */
+@Import(EsquemaConfig.class) // o slice não carrega os @Configuration: esquema pelas migrações (h2)
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session.events.log=false"
+})
+class EventoRepositoryTest {
+
+    @Autowired
+    private EventoRepository eventoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void setup() {
+        // 5 criadores diferentes x 10 eventos: no modelo antigo seriam até 1 + 5 consultas
+        for (int u = 0; u < 5; u++) {
+            Usuario criador = entityManager.persist(new Usuario("Criador " + u, "criador" + u + "@teste.com"));
+            for (int e = 0; e < 10; e++) {
+                Evento evento = new Evento("Evento " + u + "-" + e, "Descricao");
+                evento.setUsuario(criador);
+                entityManager.persist(evento);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        estatisticas.clear();
+    }
+
+    @Test
+    void deveListarPaginaComNomeDoCriador_EmUmaUnicaConsulta() {
+        List<EventoResumoDTO> pagina = eventoRepository.listarResumosApos(0L, Limit.of(50));
+
+        assertEquals(50, pagina.size());
+        assertTrue(pagina.stream().allMatch(resumo -> resumo.criadorNome().startsWith("Criador ")));
+        assertEquals(1, estatisticas.getPrepareStatementCount(), "A página deve ser carregada com um único SELECT");
+        assertEquals(0, estatisticas.getEntityLoadCount(), "A projeção não deve carregar entidades");
+    }
+
+    @Test
+    void deveVoltarPaginaPorKeyset_EmUmaUnicaConsulta() {
+        List<EventoResumoDTO> todos = eventoRepository.listarResumosApos(0L, Limit.of(50));
+        Long ultimoId = todos.get(todos.size() - 1).id();
+        estatisticas.clear();
+
+        List<EventoResumoDTO> anteriores = eventoRepository.listarResumosAntes(ultimoId, Limit.of(10));
+
+        assertEquals(10, anteriores.size());
+        assertTrue(anteriores.get(0).id() < ultimoId);
+        assertEquals(1, estatisticas.getPrepareStatementCount());
+    }
+
+    @Test
+    void deveExcluirPorId_EmUmUnicoComando() {
+        Long id = eventoRepository.listarResumosApos(0L, Limit.of(1)).get(0).id();
+        estatisticas.clear();
+
+        assertEquals(1, eventoRepository.excluirPorId(id));
+        assertEquals(0, eventoRepository.excluirPorId(id));
+
+        assertEquals(2, estatisticas.getPrepareStatementCount(), "Um DELETE por chamada, sem SELECT antes");
+        assertEquals(0, estatisticas.getEntityLoadCount());
+        assertFalse(eventoRepository.existsById(id));
+    }
+}
@@ -0,0 +1,53 @@
+package com.cliente.projeto.crudpb.repository;
+
+import com.cliente.projeto.crudpb.dto.UsuarioResumoDTO;
+import com.cliente.projeto.crudpb.config.EsquemaConfig;
+import com.cliente.projeto.crudpb.model.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@Import(EsquemaConfig.class) // o slice não carrega os @Configuration: esquema pelas migrações (h2)
+@DataJpaTest
+class UsuarioRepositoryTest {
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void deveBuscarPorPrefixoDoNome_OrdenadoELimitado() {
+        entityManager.persist(new Usuario("Mariana", "mariana@teste.com"));
+        entityManager.persist(new Usuario("maria", "maria@teste.com"));
+        entityManager.persist(new Usuario("Marcos", "marcos@teste.com"));
+        entityManager.persist(new Usuario("Ana Maria", "ana@teste.com")); // "maria" no meio não é prefixo
+        entityManager.flush();
+
+        List<UsuarioResumoDTO> resultado = usuarioRepository.buscarPorPrefixoDoNome("mari%", Limit.of(10));
+
+        // Ordem sem diferenciar maiúsculas, como o índice de lower(nome)
+        assertEquals(List.of("maria", "Mariana"), resultado.stream().map(UsuarioResumoDTO::nome).toList());
+        assertEquals(1, usuarioRepository.buscarPorPrefixoDoNome("mar%", Limit.of(1)).size());
+    }
+
+    @Test
+    void deveTratarCuringaEscapadoComoLiteral() {
+        entityManager.persist(new Usuario("100% Eventos", "cem@teste.com"));
+        entityManager.persist(new Usuario("1000 Eventos", "mil@teste.com"));
+        entityManager.flush();
+
+        List<UsuarioResumoDTO> resultado = usuarioRepository.buscarPorPrefixoDoNome("100\\%%", Limit.of(10));
+
+        assertEquals(1, resultado.size());
+        assertEquals("cem@teste.com", resultado.get(0).email());
+    }
+}
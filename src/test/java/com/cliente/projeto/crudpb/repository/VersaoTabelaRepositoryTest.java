@@ -0,0 +1,82 @@
+package com.cliente.projeto.crudpb.repository;
+
+import com.cliente.projeto.crudpb.config.EsquemaConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@Import({EsquemaConfig.class, VersaoTabelaRepository.class})
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // os commits (e o avanço depois deles) são do teste
+class VersaoTabelaRepositoryTest {
+
+    @Autowired
+    private VersaoTabelaRepository versoes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void deveAvancarUmaVezSo_DepoisDoCommit() {
+        long antes = versoes.buscarVersao(VersaoTabelaRepository.EVENTOS);
+        long usuariosAntes = versoes.buscarVersao(VersaoTabelaRepository.USUARIOS);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            versoes.avancar(VersaoTabelaRepository.EVENTOS);
+            versoes.avancar(VersaoTabelaRepository.EVENTOS);
+            // antes do commit a versão não muda
+            assertEquals(antes, versoes.buscarVersao(VersaoTabelaRepository.EVENTOS));
+        });
+
+        assertEquals(antes + 1, versoes.buscarVersao(VersaoTabelaRepository.EVENTOS));
+        assertEquals(usuariosAntes, versoes.buscarVersao(VersaoTabelaRepository.USUARIOS));
+    }
+
+    @Test
+    void naoDeveAvancar_QuandoATransacaoEDesfeita() {
+        long antes = versoes.buscarVersao(VersaoTabelaRepository.USUARIOS);
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            versoes.avancar(VersaoTabelaRepository.USUARIOS);
+            status.setRollbackOnly();
+        });
+        assertEquals(antes, versoes.buscarVersao(VersaoTabelaRepository.USUARIOS));
+
+        versoes.avancar(VersaoTabelaRepository.USUARIOS); // sem transação: avança na hora
+        assertEquals(antes + 1, versoes.buscarVersao(VersaoTabelaRepository.USUARIOS));
+    }
+
+    @Test
+    void deveRecusarTabelaSemVersao() {
+        assertThrows(IllegalArgumentException.class, () -> versoes.avancar("idempotencia"));
+    }
+
+    @Test
+    void deveLerASequenciaPeloCatalogoDoPostgres() throws Exception {
+        DataSource dataSource = mock(DataSource.class);
+        Connection conexao = mock(Connection.class);
+        DatabaseMetaData metadados = mock(DatabaseMetaData.class);
+        when(dataSource.getConnection()).thenReturn(conexao);
+        when(conexao.getMetaData()).thenReturn(metadados);
+        when(metadados.getDatabaseProductName()).thenReturn("PostgreSQL");
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.queryForObject(
+                "SELECT CASE WHEN is_called THEN last_value + 1 ELSE last_value END FROM versao_eventos_seq", Long.class))
+                .thenReturn(42L);
+
+        assertEquals(42L, new VersaoTabelaRepository(jdbcTemplate, dataSource).buscarVersao(VersaoTabelaRepository.EVENTOS));
+    }
+}
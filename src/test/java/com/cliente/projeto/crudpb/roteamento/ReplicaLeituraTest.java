@@ -0,0 +1,103 @@
+package com.cliente.projeto.crudpb.roteamento;
+
+import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.UsuarioService;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.servlet.http.Cookie;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/*
+ * Dois H2 em memória fazem o papel de primário e réplica. Nada é replicado
+ * entre eles, o que equivale a uma réplica infinitamente atrasada: o que só
+ * existe na réplica prova leitura na réplica, e o que acabou de ser gravado
+ * (só no primário) prova leitura no primário.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReplicaLeituraTest.URL_PRIMARIA,
+        "crudpb.replica.url=" + ReplicaLeituraTest.URL_REPLICA,
+        "crudpb.replica.janela-escrita=1m"
+})
+@AutoConfigureMockMvc
+class ReplicaLeituraTest {
+
+    static final String URL_PRIMARIA = "jdbc:h2:mem:roteamento-primaria;DB_CLOSE_DELAY=-1";
+    static final String URL_REPLICA = "jdbc:h2:mem:roteamento-replica;DB_CLOSE_DELAY=-1";
+    private static final long ID_SO_NA_REPLICA = 9001L;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    // Na produção o esquema chega à réplica pela replicação; aqui, pelas mesmas migrações
+    @BeforeAll
+    static void prepararReplica() {
+        DriverManagerDataSource replica = new DriverManagerDataSource(URL_REPLICA, "sa", "");
+        Flyway.configure().dataSource(replica).locations("classpath:db/migration/h2").load().migrate();
+        JdbcTemplate jdbc = new JdbcTemplate(replica);
+        jdbc.update("DELETE FROM usuarios WHERE id = ?", ID_SO_NA_REPLICA);
+        jdbc.update("INSERT INTO usuarios (id, nome, email) VALUES (?, 'Só na Réplica', 'replica@teste.com')", ID_SO_NA_REPLICA);
+    }
+
+    @Test
+    void deveLerDaReplicaNasTransacoesSoLeitura_EGravarNoPrimario() {
+        assertEquals("Só na Réplica", usuarioService.buscarPorId(ID_SO_NA_REPLICA).getNome());
+        assertEquals(1, usuarioService.buscarPorPrefixo("só na", 10).size());
+
+        Usuario novo = usuarioService.criarUsuario(new Usuario("Só no Primário", "primario" + System.nanoTime() + "@teste.com"));
+
+        assertThrows(RecursoNaoEncontradoException.class, () -> usuarioService.buscarPorId(novo.getId()));
+        try (LeituraNaPrimaria.Escopo escopo = LeituraNaPrimaria.abrir()) {
+            try (LeituraNaPrimaria.Escopo aninhado = LeituraNaPrimaria.abrir()) {
+                assertEquals("Só no Primário", usuarioService.buscarPorId(novo.getId()).getNome());
+            }
+            assertTrue(LeituraNaPrimaria.ativa()); // fechar o aninhado não encerra o de fora
+            assertThrows(RecursoNaoEncontradoException.class, () -> usuarioService.buscarPorId(ID_SO_NA_REPLICA));
+        }
+        assertFalse(LeituraNaPrimaria.ativa());
+    }
+
+    @Test
+    void deveLerDoPrimario_DuranteAJanelaDepoisDaPropriaEscrita() throws Exception {
+        MvcResult criacao = mockMvc.perform(post("/api/usuarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Recém Criado\",\"email\":\"recem" + System.nanoTime() + "@teste.com\"}"))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(LeituraDasPropriasEscritasFilter.COOKIE))
+                .andExpect(cookie().httpOnly(LeituraDasPropriasEscritasFilter.COOKIE, true))
+                .andReturn();
+        Cookie janela = criacao.getResponse().getCookie(LeituraDasPropriasEscritasFilter.COOKIE);
+        Number id = JsonPath.read(criacao.getResponse().getContentAsString(), "$.id");
+
+        // quem gravou vê o que gravou; os demais continuam na réplica (que ainda não tem a linha)
+        mockMvc.perform(get("/api/usuarios/{id}", id).cookie(janela))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nome").value("Recém Criado"));
+        mockMvc.perform(get("/api/usuarios/{id}", id))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/usuarios/{id}", id).cookie(new Cookie(LeituraDasPropriasEscritasFilter.COOKIE, "1")))
+                .andExpect(status().isNotFound()); // prazo vencido
+        mockMvc.perform(get("/api/usuarios/{id}", id).cookie(new Cookie(LeituraDasPropriasEscritasFilter.COOKIE, "x")))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/api/usuarios/{id}", ID_SO_NA_REPLICA))
+                .andExpect(status().isOk())
+                .andExpect(cookie().doesNotExist(LeituraDasPropriasEscritasFilter.COOKIE));
+    }
+}
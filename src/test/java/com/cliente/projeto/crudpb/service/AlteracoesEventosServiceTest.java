@@ -0,0 +1,92 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+/*
+ * Fluxo das alterações por SSE, de ponta a ponta: a listagem assina pela
+ * posição da página e recebe as alterações confirmadas (enviadas por outra
+ * thread, por isso as esperas); nada de uma transação desfeita.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AlteracoesEventosServiceTest {
+
+    @Autowired
+    private AlteracoesEventosService alteracoes;
+
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void deveEnviarAsAlteracoesConfirmadas_AQuemEstaComAListagemAberta() throws Exception {
+        long sufixo = System.nanoTime();
+        Usuario criador = usuarioService.criarUsuario(new Usuario("Criador Ao Vivo", "aovivo" + sufixo + "@teste.com"));
+
+        MvcResult assinatura = mockMvc.perform(get("/eventos/alteracoes").param("desde", alteracoes.posicaoAtual()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MockHttpServletResponse resposta = assinatura.getResponse();
+
+        Evento evento = eventoService.criarEvento(new Evento("Ao Vivo " + sufixo, "Primeira"), criador.getId());
+        // desfeita: não pode chegar à listagem
+        transactionTemplate.executeWithoutResult(status -> {
+            eventoService.atualizarEvento(evento.getId(), new Evento("Ao Vivo " + sufixo, "Desfeita"), criador.getId());
+            status.setRollbackOnly();
+        });
+        eventoService.deletarEvento(evento.getId());
+
+        String conteudo = aguardar(resposta, texto -> texto.contains("\"tipo\":\"REMOVIDO\""));
+        assertTrue(conteudo.contains("event:alteracao"));
+        assertTrue(conteudo.contains("\"criadorNome\":\"Criador Ao Vivo\""));
+        assertTrue(conteudo.contains("id:" + alteracoes.posicaoAtual()), conteudo);
+        assertFalse(conteudo.contains("Desfeita"));
+        assertEquals("text/event-stream", resposta.getContentType());
+    }
+
+    @Test
+    void deveMandarRecarregar_QuandoAPosicaoDaPaginaFicouPraTras() throws Exception {
+        int antes = alteracoes.quantidadeAssinantes();
+
+        MvcResult assinatura = mockMvc.perform(get("/eventos/alteracoes").param("desde", "posicao-de-outra-instancia.3"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertTrue(aguardar(assinatura.getResponse(), texto -> texto.contains("event:recarregar")).contains("event:recarregar"));
+        assertEquals(antes, alteracoes.quantidadeAssinantes()); // a conexão não fica registrada
+    }
+
+    private static String aguardar(MockHttpServletResponse resposta, Predicate<String> condicao) throws Exception {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String conteudo = resposta.getContentAsString();
+        while (!condicao.test(conteudo) && System.nanoTime() < limite) {
+            Thread.sleep(20);
+            conteudo = resposta.getContentAsString();
+        }
+        return conteudo;
+    }
+}
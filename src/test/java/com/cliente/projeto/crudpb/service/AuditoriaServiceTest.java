@@ -0,0 +1,117 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Entidade;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Operacao;
+import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/*
+ * Alterações confirmadas de eventos e usuários chegam ao diário (gravado por
+ * outra thread, por isso as esperas) e voltam pela API de histórico.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuditoriaServiceTest {
+
+    @Autowired
+    private AuditoriaService auditoriaService;
+
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void deveRegistrarCriacaoAtualizacaoEExclusaoDeEventos() throws Exception {
+        long sufixo = System.nanoTime();
+        Usuario criador = usuarioService.criarUsuario(new Usuario("Auditado", "auditado" + sufixo + "@teste.com"));
+        Evento evento = eventoService.criarEvento(new Evento("Auditado " + sufixo, "Primeira"), criador.getId());
+        eventoService.atualizarEvento(evento.getId(), new Evento("Auditado " + sufixo, "Segunda"), criador.getId());
+        // exclusão fora de uma requisição (como faria uma tarefa agendada)
+        Thread tarefa = new Thread(() -> eventoService.deletarEvento(evento.getId()));
+        tarefa.start();
+        tarefa.join();
+
+        List<RegistroAuditoriaDTO> historico = aguardarHistorico(Entidade.EVENTO, evento.getId(), 3);
+
+        assertEquals(List.of(Operacao.CRIACAO, Operacao.ATUALIZACAO, Operacao.EXCLUSAO),
+                historico.stream().map(RegistroAuditoriaDTO::operacao).toList());
+        assertEquals("Segunda", historico.get(1).dados().get("descricao"));
+        assertEquals(criador.getId().toString(), historico.get(1).dados().get("usuarioId"));
+        assertTrue(historico.get(2).dados().isEmpty());
+        // o teste roda com uma requisição simulada no contexto (MockMvc); a outra thread não tem nenhuma
+        assertEquals("127.0.0.1", historico.get(0).autor());
+        assertEquals(AuditoriaService.AUTOR_SISTEMA, historico.get(2).autor());
+        assertTrue(historico.get(0).sequencia() < historico.get(1).sequencia());
+    }
+
+    @Test
+    void naoDeveRegistrar_QuandoAGravacaoFalha() throws Exception {
+        long sufixo = System.nanoTime();
+        Usuario criador = usuarioService.criarUsuario(new Usuario("Repetido", "repetido" + sufixo + "@teste.com"));
+        assertThrows(ValidacaoException.class,
+                () -> usuarioService.criarUsuario(new Usuario("Repetido", "repetido" + sufixo + "@teste.com")));
+        usuarioService.atualizarUsuario(criador.getId(), new Usuario("Repetido Novo", "repetido" + sufixo + "@teste.com"));
+
+        List<RegistroAuditoriaDTO> historico = aguardarHistorico(Entidade.USUARIO, criador.getId(), 2);
+        assertEquals(List.of(Operacao.CRIACAO, Operacao.ATUALIZACAO),
+                historico.stream().map(RegistroAuditoriaDTO::operacao).toList());
+        assertEquals("Repetido Novo", historico.get(1).dados().get("nome"));
+    }
+
+    @Test
+    void deveGuardarOIpDeQuemAlterou_EServirOHistoricoPelaApi() throws Exception {
+        String email = "api" + System.nanoTime() + "@teste.com";
+        String corpo = mockMvc.perform(post("/api/usuarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nome\":\"Pela API\",\"email\":\"" + email + "\"}")
+                        .with(requisicao -> {
+                            requisicao.setRemoteAddr("203.0.113.9");
+                            return requisicao;
+                        }))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long id = Long.parseLong(corpo.replaceAll(".*\"id\":(\\d+).*", "$1"));
+        aguardarHistorico(Entidade.USUARIO, id, 1);
+
+        mockMvc.perform(get("/api/auditoria/usuarios/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].operacao").value("CRIACAO"))
+                .andExpect(jsonPath("$[0].autor").value("203.0.113.9"))
+                .andExpect(jsonPath("$[0].dados.email").value(email));
+        mockMvc.perform(get("/api/auditoria/eventos/{id}", Long.MAX_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(content().json("[]"));
+    }
+
+    private List<RegistroAuditoriaDTO> aguardarHistorico(Entidade entidade, long id, int tamanho) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        List<RegistroAuditoriaDTO> historico = auditoriaService.historico(entidade, id);
+        while (historico.size() < tamanho && System.nanoTime() < limite) {
+            Thread.sleep(10);
+            historico = auditoriaService.historico(entidade, id);
+        }
+        assertEquals(tamanho, historico.size(), "Registros de auditoria de " + entidade + " " + id);
+        return historico;
+    }
+}
@@ -0,0 +1,63 @@
+package com.cliente.projeto.crudpb.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvTest {
+
+    @Test
+    void deveDividirCamposSimplesEVazios() {
+        assertEquals(List.of("a", "", "c", ""), Csv.dividir("a,,c,"));
+    }
+
+    @Test
+    void deveRespeitarAspas_ComVirgulaEAspasDuplicadas() {
+        assertEquals(List.of("Show", "Palco, \"som\" e luz", "1"),
+                Csv.dividir("Show,\"Palco, \"\"som\"\" e luz\",1"));
+    }
+
+    @Test
+    void deveLerDeVoltaOQueFoiEscrito_ComQuebraDeLinhaNoCampo() throws IOException {
+        List<List<String>> registros = List.of(
+                List.of("1", "Show", "Linha 1\nLinha 2, com \"aspas\"\n", "Ana"),
+                List.of("2", "Feira", "", "Bia"));
+        StringBuilder escrito = new StringBuilder(); // como a exportação: campos escapados, um registro por linha
+        for (List<String> registro : registros) {
+            escrito.append(String.join(",", registro.stream().map(Csv::escapar).toList())).append('\n');
+        }
+
+        BufferedReader leitor = new BufferedReader(new StringReader(escrito.toString()));
+        List<List<String>> lidos = new ArrayList<>();
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            lidos.add(Csv.dividir(Csv.completarRegistro(linha, leitor)));
+        }
+
+        assertEquals(registros, lidos);
+    }
+
+    @Test
+    void devePararDeJuntarLinhas_QuandoAsAspasNuncaFecham() throws IOException {
+        String linhaLonga = "x".repeat(1000);
+        BufferedReader leitor = new BufferedReader(new StringReader(
+                (linhaLonga + "\n").repeat(2 * Csv.MAXIMO_REGISTRO / 1000)));
+
+        String registro = Csv.completarRegistro("Show,\"Palco", leitor);
+
+        assertTrue(registro.length() > Csv.MAXIMO_REGISTRO);
+        assertThrows(IllegalArgumentException.class, () -> Csv.dividir(registro));
+        assertEquals(linhaLonga, leitor.readLine()); // o resto do arquivo continua para as próximas linhas
+    }
+
+    @Test
+    void deveRejeitarAspasNaoFechadas() {
+        assertThrows(IllegalArgumentException.class, () -> Csv.dividir("Show,\"Palco"));
+    }
+}
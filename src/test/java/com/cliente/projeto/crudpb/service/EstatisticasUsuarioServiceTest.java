@@ -0,0 +1,121 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Os contadores de usuario_estatisticas acompanham cada caminho que grava ou
+ * exclui eventos, e a reconciliação (faixas pequenas para passar por várias
+ * tarefas) devolve os valores certos depois de alterações feitas por fora.
+ */
+@SpringBootTest(properties = {
+        "crudpb.estatisticas.reconciliacao.tamanho-faixa=2",
+        "crudpb.estatisticas.reconciliacao.paralelismo=3"
+})
+class EstatisticasUsuarioServiceTest {
+
+    @Autowired
+    private EstatisticasUsuarioService estatisticasService;
+
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private EventoImportacaoService importacaoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deveAcompanharCriacaoTrocaDeCriadorExclusaoEImportacao() throws Exception {
+        long sufixo = System.nanoTime();
+        Usuario ana = usuarioService.criarUsuario(new Usuario("Ana", "ana" + sufixo + "@teste.com"));
+        Usuario bia = usuarioService.criarUsuario(new Usuario("Bia", "bia" + sufixo + "@teste.com"));
+        assertEquals(0L, total(ana));
+
+        Evento show = eventoService.criarEvento(new Evento("Show " + sufixo, "Descricao"), ana.getId());
+        Evento feira = eventoService.criarEvento(new Evento("Feira " + sufixo, "Descricao"), ana.getId());
+        Evento palestra = eventoService.criarEvento(new Evento("Palestra " + sufixo, "Descricao"), ana.getId());
+        assertEquals(3L, total(ana));
+
+        eventoService.atualizarEvento(show.getId(), new Evento("Show " + sufixo, "Outra descricao"), bia.getId());
+        assertEquals(2L, total(ana));
+        assertEquals(1L, total(bia));
+
+        eventoService.deletarEvento(show.getId());
+        assertEquals(0L, total(bia));
+
+        eventoService.excluirEventos(List.of(feira.getId(), palestra.getId(), -1L));
+        assertEquals(0L, total(ana));
+
+        String csv = "nome,descricao,usuarioId\n"
+                + "Importado A " + sufixo + ",," + bia.getId() + "\n"
+                + "Importado B " + sufixo + ",," + bia.getId() + "\n";
+        importacaoService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FormatoArquivo.CSV);
+        assertEquals(2L, total(bia));
+        // a listagem de usuários lê o mesmo total pelo LEFT JOIN
+        assertEquals(2L, usuarioService.listarPagina(bia.getId() - 1, null, 1).itens().get(0).totalEventos());
+    }
+
+    @Test
+    void deveCriarALinha_QuandoOUsuarioFoiGravadoPorFora() {
+        long sufixo = System.nanoTime();
+        jdbcTemplate.update("INSERT INTO usuarios (nome, email) VALUES (?, ?)", "Externo", "externo" + sufixo + "@teste.com");
+        Long id = jdbcTemplate.queryForObject("SELECT id FROM usuarios WHERE email = ?", Long.class, "externo" + sufixo + "@teste.com");
+        // sem linha em usuario_estatisticas: a listagem mostra 0
+        assertEquals(0L, usuarioService.listarPagina(id - 1, null, 1).itens().get(0).totalEventos());
+
+        eventoService.criarEvento(new Evento("Evento Externo " + sufixo, "Descricao"), id);
+
+        assertEquals(1L, total(id));
+    }
+
+    @Test
+    void deveReconciliarOsContadores_AposAlteracoesPorFora() {
+        long sufixo = System.nanoTime();
+        Usuario ana = usuarioService.criarUsuario(new Usuario("Ana", "ana" + sufixo + "@teste.com"));
+        Usuario bia = usuarioService.criarUsuario(new Usuario("Bia", "bia" + sufixo + "@teste.com"));
+        eventoService.criarEvento(new Evento("Reconciliado A " + sufixo, "Descricao"), ana.getId());
+        eventoService.criarEvento(new Evento("Reconciliado B " + sufixo, "Descricao"), bia.getId());
+
+        // contador errado, linha apagada e evento gravado sem passar pelo serviço
+        jdbcTemplate.update("UPDATE usuario_estatisticas SET total_eventos = 50 WHERE usuario_id = ?", ana.getId());
+        jdbcTemplate.update("DELETE FROM usuario_estatisticas WHERE usuario_id = ?", bia.getId());
+        jdbcTemplate.update("INSERT INTO eventos (id, nome, descricao, usuario_id) VALUES (NEXT VALUE FOR eventos_seq, ?, 'Descricao', ?)",
+                "Reconciliado C " + sufixo, bia.getId());
+
+        int recontados = estatisticasService.reconciliar();
+
+        assertTrue(recontados >= 2);
+        assertEquals(1L, total(ana));
+        assertEquals(2L, total(bia));
+        assertEquals(0, jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM usuarios u
+                LEFT JOIN usuario_estatisticas e ON e.usuario_id = u.id
+                WHERE e.total_eventos IS NULL
+                   OR e.total_eventos <> (SELECT COUNT(*) FROM eventos ev WHERE ev.usuario_id = u.id)
+                """, Integer.class));
+    }
+
+    private long total(Usuario usuario) {
+        return total(usuario.getId());
+    }
+
+    private long total(Long usuarioId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT total_eventos FROM usuario_estatisticas WHERE usuario_id = ?", Long.class, usuarioId);
+    }
+}
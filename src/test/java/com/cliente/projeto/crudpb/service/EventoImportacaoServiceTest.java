@@ -0,0 +1,120 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.dto.RelatorioImportacaoDTO;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.repository.EventoRepository;
+import com.cliente.projeto.crudpb.repository.UsuarioRepository;
+import com.cliente.projeto.crudpb.repository.VersaoTabelaRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import jakarta.validation.Validation;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/*
+ * Cenário que o teste de integração não alcança: o lote passa nas checagens,
+ * mas o banco o rejeita no flush (ex.: outro escritor gravou o mesmo nome
+ * no intervalo). O lote deve ser refeito linha a linha.
+ */
+@ExtendWith(MockitoExtension.class)
+class EventoImportacaoServiceTest {
+
+    @Mock
+    private EventoRepository eventoRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher publicador;
+
+    @Mock
+    private EstatisticasUsuarioService estatisticas;
+
+    @Mock
+    private VersaoTabelaRepository versoes;
+
+    private EventoImportacaoService importacaoService;
+
+    @BeforeEach
+    void setup() {
+        importacaoService = new EventoImportacaoService(eventoRepository, usuarioRepository, entityManager,
+                transactionManager, Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper(), publicador, estatisticas, versoes, 10);
+    }
+
+    @Test
+    void deveRegravarLinhaALinha_QuandoOLoteForRejeitadoPeloBanco() throws Exception {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(entityManager.getReference(Usuario.class, 1L)).thenReturn(new Usuario("Admin", "admin@teste.com"));
+        when(usuarioRepository.buscarIdsExistentes(anyCollection())).thenReturn(List.of(1L));
+        when(eventoRepository.buscarNomesExistentes(anyCollection())).thenReturn(List.of());
+        when(entityManager.unwrap(Session.class)).thenReturn(mock(Session.class));
+        doThrow(new PersistenceException("lote rejeitado")).when(entityManager).flush();
+        when(eventoRepository.saveAndFlush(any(Evento.class))).thenAnswer(invocacao -> {
+            Evento evento = invocacao.getArgument(0);
+            return switch (evento.getNome()) {
+                case "Concorrido" -> throw new DataIntegrityViolationException("falha",
+                        new RuntimeException("Unique index violation: UK_EVENTOS_NOME"));
+                case "Outro Erro" -> throw new DataIntegrityViolationException("falha",
+                        new RuntimeException("check constraint"));
+                default -> evento;
+            };
+        });
+
+        String csv = "nome,descricao,usuarioId\nLivre,,1\nConcorrido,,1\nOutro Erro,,1\n";
+        RelatorioImportacaoDTO relatorio = importacaoService.importar(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FormatoArquivo.CSV);
+
+        assertEquals(3, relatorio.linhasLidas());
+        assertEquals(1, relatorio.importados());
+        assertEquals(2, relatorio.erros().size());
+        assertEquals(3, relatorio.erros().get(0).linha());
+        assertEquals("O nome 'Concorrido' já está em uso por outro evento.", relatorio.erros().get(0).mensagem());
+        assertEquals("Linha rejeitada pelo banco de dados.", relatorio.erros().get(1).mensagem());
+        verify(eventoRepository, times(3)).saveAndFlush(any(Evento.class));
+        verify(estatisticas).somarEventos(1L, 1); // só a linha gravada conta
+    }
+
+    @Test
+    void deveLimitarOsErrosRelatados() throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        int linhas = EventoImportacaoService.MAXIMO_ERROS_RELATADOS + 5;
+        for (int i = 0; i < linhas; i++) {
+            ndjson.append("{\"nome\":\"X\",\"usuarioId\":1}\n"); // nome curto demais
+        }
+
+        RelatorioImportacaoDTO relatorio = importacaoService.importar(
+                new ByteArrayInputStream(ndjson.toString().getBytes(StandardCharsets.UTF_8)),
+                FormatoArquivo.NDJSON);
+
+        assertEquals(EventoImportacaoService.MAXIMO_ERROS_RELATADOS, relatorio.erros().size());
+        assertEquals(5, relatorio.errosOmitidos());
+        assertEquals(0, relatorio.importados());
+        verifyNoInteractions(eventoRepository, usuarioRepository);
+    }
+}
@@ -0,0 +1,181 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.dto.RelatorioExclusaoDTO;
+import com.cliente.projeto.crudpb.dto.VersaoTabelaDTO;
+import com.cliente.projeto.crudpb.exception.ConflitoVersaoException;
+import com.cliente.projeto.crudpb.exception.ValidacaoException;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Vários escritores tentam criar, ao mesmo tempo, eventos com o mesmo nome.
+ * Com o antigo "SELECT por nome e depois INSERT" mais de um podia passar;
+ * com a restrição única no banco deve existir exatamente um vencedor.
+ * O mesmo vale para edições concorrentes do mesmo evento com a mesma versão
+ * lida (If-Match): o @Version deixa passar só a primeira.
+ */
+@SpringBootTest
+class EventoServiceConcorrenciaTest {
+
+    private static final int ESCRITORES = 8;
+
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deveHaverExatamenteUmVencedor_QuandoEscritoresConcorrentesUsamOMesmoNome() throws Exception {
+        long sufixo = System.nanoTime();
+        Usuario criador = usuarioService.criarUsuario(new Usuario("Concorrente", "concorrente" + sufixo + "@teste.com"));
+        String nome = "Evento Concorrente " + sufixo;
+
+        ExecutorService executor = Executors.newFixedThreadPool(ESCRITORES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < ESCRITORES; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await(); // todos disparam juntos
+                    try {
+                        eventoService.criarEvento(new Evento(nome, "Descricao"), criador.getId());
+                        return true;
+                    } catch (ValidacaoException ex) {
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+
+            int vencedores = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(30, TimeUnit.SECONDS)) {
+                    vencedores++;
+                }
+            }
+
+            assertEquals(1, vencedores, "Apenas um escritor deve conseguir gravar o nome");
+            assertEquals(1, jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM eventos WHERE nome = ?", Integer.class, nome));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deveHaverExatamenteUmVencedor_QuandoEscritoresEditamAMesmaVersao() throws Exception {
+        long sufixo = System.nanoTime();
+        Usuario criador = usuarioService.criarUsuario(new Usuario("Editor", "editor" + sufixo + "@teste.com"));
+        Evento evento = eventoService.criarEvento(new Evento("Evento Editado " + sufixo, "Original"), criador.getId());
+        Long versaoLida = evento.getVersao();
+
+        ExecutorService executor = Executors.newFixedThreadPool(ESCRITORES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < ESCRITORES; i++) {
+                String descricao = "Edição " + i;
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    try {
+                        eventoService.atualizarEvento(evento.getId(), new Evento(evento.getNome(), descricao),
+                                criador.getId(), versaoLida);
+                        return true;
+                    } catch (ConflitoVersaoException ex) {
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+
+            int vencedores = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(30, TimeUnit.SECONDS)) {
+                    vencedores++;
+                }
+            }
+
+            assertEquals(1, vencedores, "Apenas uma edição sobre a mesma versão deve ser gravada");
+            assertEquals(versaoLida + 1, eventoService.versao(evento.getId()).versao());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deveRelatarCadaIdUmaVezSo_QuandoExclusoesEmMassaConcorrem() throws Exception {
+        long sufixo = System.nanoTime();
+        Usuario criador = usuarioService.criarUsuario(new Usuario("Exclusor", "exclusor" + sufixo + "@teste.com"));
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            ids.add(eventoService.criarEvento(new Evento("Em Massa " + sufixo + " " + i, "D"), criador.getId()).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(ESCRITORES);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<RelatorioExclusaoDTO>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < ESCRITORES; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return eventoService.excluirEventos(ids);
+                }));
+            }
+            largada.countDown();
+
+            int excluidos = 0;
+            int naoEncontrados = 0;
+            for (Future<RelatorioExclusaoDTO> resultado : resultados) {
+                RelatorioExclusaoDTO relatorio = resultado.get(30, TimeUnit.SECONDS);
+                excluidos += relatorio.excluidos();
+                naoEncontrados += relatorio.naoEncontrados().size();
+            }
+
+            // Cada ID é excluído (e descontado do criador) por exatamente uma das requisições
+            assertEquals(ids.size(), excluidos);
+            assertEquals(ids.size() * (ESCRITORES - 1), naoEncontrados);
+            assertEquals(0L, jdbcTemplate.queryForObject(
+                    "SELECT total_eventos FROM usuario_estatisticas WHERE usuario_id = ?", Long.class, criador.getId()));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void deveMudarAVersaoDaTabela_AoAlterarEAoExcluir() {
+        long sufixo = System.nanoTime();
+        Usuario criador = usuarioService.criarUsuario(new Usuario("Versionado", "versionado" + sufixo + "@teste.com"));
+        Evento evento = eventoService.criarEvento(new Evento("Evento Versionado " + sufixo, "D"), criador.getId());
+        VersaoTabelaDTO depoisDeCriar = eventoService.versaoTabela();
+
+        eventoService.atualizarEvento(evento.getId(), new Evento(evento.getNome(), "D2"), criador.getId());
+        VersaoTabelaDTO depoisDeAtualizar = eventoService.versaoTabela();
+        assertTrue(depoisDeAtualizar.versao() > depoisDeCriar.versao());
+        assertNotEquals(depoisDeCriar.marcador(), depoisDeAtualizar.marcador());
+
+        // Regravar os mesmos dados não é escrita: a versão (e o ETag da lista) não muda
+        eventoService.atualizarEvento(evento.getId(), new Evento(evento.getNome(), "D2"), criador.getId());
+        assertEquals(depoisDeAtualizar, eventoService.versaoTabela());
+
+        eventoService.deletarEvento(evento.getId());
+        assertTrue(eventoService.versaoTabela().versao() > depoisDeAtualizar.versao());
+    }
+}
@@ -1,21 +1,38 @@
 package com.cliente.projeto.crudpb.service;
 
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
+import com.cliente.projeto.crudpb.dto.RelatorioExclusaoDTO;
+import com.cliente.projeto.crudpb.dto.ResultadoBuscaDTO;
+import com.cliente.projeto.crudpb.event.EventoAlteradoEvent;
+import com.cliente.projeto.crudpb.exception.ConflitoVersaoException;
 import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
 import com.cliente.projeto.crudpb.exception.ValidacaoException;
 import com.cliente.projeto.crudpb.model.Evento;
 import com.cliente.projeto.crudpb.model.Usuario;
 import com.cliente.projeto.crudpb.repository.EventoRepository;
+import com.cliente.projeto.crudpb.repository.VersaoTabelaRepository;
+import com.cliente.projeto.crudpb.service.busca.BuscaEventos;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -27,6 +44,21 @@ class EventoServiceTest {
     @Mock
     private UsuarioService usuarioService;
 
+    @Mock
+    private BuscaEventos buscaEventos;
+
+    @Mock
+    private ApplicationEventPublisher publicador;
+
+    @Mock
+    private EstatisticasUsuarioService estatisticas;
+
+    @Mock
+    private VersaoTabelaRepository versoes;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     @InjectMocks
     private EventoService eventoService;
 
@@ -36,19 +68,31 @@ class EventoServiceTest {
         Evento eventoNovo = new Evento("Evento Repetido", "Descricao");
         Long usuarioId = 1L;
 
-        // Simula a validação de nome duplicado
-        when(eventoRepository.findByNome("Evento Repetido")).thenReturn(Optional.of(new Evento()));
+        // Simula o banco recusando o INSERT pela restrição única do nome
+        when(eventoRepository.saveAndFlush(any(Evento.class)))
+                .thenThrow(violacao("Unique index or primary key violation: \"PUBLIC.UK_EVENTOS_NOME_INDEX_8 ON PUBLIC.EVENTOS(NOME)\""));
 
         // 2. Ação e Verificação (When & Then)
-        // Verificamos se a exceção de validação é lançada
-        assertThrows(ValidacaoException.class, () -> {
+        // A violação do banco é traduzida na mesma exceção de validação de antes
+        ValidacaoException ex = assertThrows(ValidacaoException.class, () -> {
             eventoService.criarEvento(eventoNovo, usuarioId); // Assinatura atualizada
         });
+        assertEquals("O nome 'Evento Repetido' já está em uso por outro evento.", ex.getMessage());
 
         // 3. Verificação Extra
-        // Garantir que NUNCA tentamos buscar o usuário ou salvar
-        verify(usuarioService, never()).buscarPorId(anyLong());
-        verify(eventoRepository, never()).save(any());
+        // Garantir que não existe mais o "SELECT por nome" antes do INSERT
+        verify(eventoRepository, times(1)).saveAndFlush(eventoNovo);
+        verifyNoMoreInteractions(eventoRepository);
+    }
+
+    @Test
+    void deveRepassarViolacao_QuandoNaoForDoNome() {
+        Evento eventoNovo = new Evento("Evento Qualquer", "Descricao");
+        DataIntegrityViolationException outraViolacao = violacao("Referential integrity constraint violation: FK_USUARIO");
+        when(eventoRepository.saveAndFlush(any(Evento.class))).thenThrow(outraViolacao);
+
+        assertSame(outraViolacao, assertThrows(DataIntegrityViolationException.class,
+                () -> eventoService.criarEvento(eventoNovo, 1L)));
     }
 
     @Test
@@ -59,19 +103,226 @@ class EventoServiceTest {
         Usuario usuarioCriador = new Usuario("Admin", "admin@email.com");
         usuarioCriador.setId(usuarioId);
 
-        // Simulando que o nome NÃO está duplicado
-        when(eventoRepository.findByNome("Evento de Lançamento")).thenReturn(Optional.empty());
-
-        // Simulando a busca do usuário (Integração)
-        when(usuarioService.buscarPorId(usuarioId)).thenReturn(usuarioCriador);
+        // Simulando a referência ao usuário (Integração)
+        when(usuarioService.referenciaPorId(usuarioId)).thenReturn(usuarioCriador);
 
         // Simulando o 'save' (apenas retornando o evento que foi passado)
-        when(eventoRepository.save(any(Evento.class))).thenReturn(eventoNovo);
+        when(eventoRepository.saveAndFlush(any(Evento.class))).thenReturn(eventoNovo);
 
         Evento eventoSalvo = eventoService.criarEvento(eventoNovo, usuarioId);
 
         // 3. Verificação (Then)
         // O evento foi salvo
-        verify(eventoRepository, times(1)).save(eventoNovo);
+        verify(eventoRepository, times(1)).saveAndFlush(eventoNovo);
+        assertEquals(usuarioCriador, eventoSalvo.getUsuario());
+        // E o índice de busca é avisado
+        verify(publicador).publishEvent(new EventoAlteradoEvent(
+                EventoAlteradoEvent.Tipo.CRIADO, null, "Evento de Lançamento", "Descricao", usuarioId));
+        // E o contador do criador sobe
+        verify(estatisticas).somarEventos(usuarioId, 1);
+    }
+
+    @Test
+    void naoDevePublicarAlteracao_QuandoOInsertFalhar() {
+        when(eventoRepository.saveAndFlush(any(Evento.class))).thenThrow(violacao("UK_EVENTOS_NOME"));
+
+        assertThrows(ValidacaoException.class, () -> eventoService.criarEvento(new Evento("Repetido", "D"), 1L));
+
+        verifyNoInteractions(publicador, estatisticas);
+    }
+
+    @Test
+    void deveRecusarAtualizacao_QuandoAVersaoLidaEstiverDesatualizada() {
+        Evento existente = new Evento("Show", "D"); // versão nula = nunca casa com a esperada
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(existente));
+
+        assertThrows(ConflitoVersaoException.class,
+                () -> eventoService.atualizarEvento(1L, new Evento("Show 2", "D"), 5L, 3L));
+
+        verify(eventoRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(publicador);
+    }
+
+    @Test
+    void deveConverterFalhaDeLockOtimista_EmConflitoDeVersao() {
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(eventoDoCriador(new Evento("Show", "D"), 5L)));
+        when(eventoRepository.saveAndFlush(any(Evento.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Evento.class, 1L));
+
+        assertThrows(ConflitoVersaoException.class,
+                () -> eventoService.atualizarEvento(1L, new Evento("Show 2", "D"), 5L));
+    }
+
+    @Test
+    void naoDeveGravarNemPublicar_QuandoNadaMudou() {
+        Evento existente = eventoDoCriador(new Evento("Show", "D"), 5L);
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(existente));
+
+        assertSame(existente, eventoService.atualizarEvento(1L, new Evento("Show", "D"), 5L));
+
+        verify(eventoRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(publicador, estatisticas);
+    }
+
+    @Test
+    void deveMoverOContador_QuandoOCriadorMudar() {
+        when(eventoRepository.findById(1L)).thenReturn(Optional.of(eventoDoCriador(new Evento("Show", "D"), 5L)));
+        when(eventoRepository.saveAndFlush(any(Evento.class))).thenAnswer(invocacao -> invocacao.getArgument(0));
+
+        eventoService.atualizarEvento(1L, new Evento("Show", "D"), 7L);
+
+        verify(estatisticas).trocarCriador(5L, 7L);
+    }
+
+    @Test
+    void deveExcluirComUmUnicoDelete_ELancar404QuandoNadaForAfetado() {
+        when(eventoRepository.excluirPorId(1L)).thenReturn(1);
+        when(eventoRepository.excluirPorId(2L)).thenReturn(0);
+
+        eventoService.deletarEvento(1L);
+        assertThrows(RecursoNaoEncontradoException.class, () -> eventoService.deletarEvento(2L));
+
+        // Sem findById/delete(entidade): só o DELETE por ID
+        verify(eventoRepository, never()).findById(any());
+        // O contador é descontado antes do DELETE (o criador sai de uma subconsulta)
+        verify(estatisticas).descontarEvento(1L);
+        verify(publicador).publishEvent(EventoAlteradoEvent.removido(1L));
+        verify(publicador, never()).publishEvent(EventoAlteradoEvent.removido(2L));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void deveExcluirEmBlocos_ERelatarIdsInexistentes() {
+        // 2.500 IDs distintos (+ repetidos e nulo) = 3 blocos; os múltiplos de 100 não existem
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= 2500; id++) {
+            ids.add(id);
+        }
+        ids.add(1L);
+        ids.add(null);
+        when(eventoRepository.travarIdsExistentes(anyCollection())).thenAnswer(invocacao ->
+                ((Collection<Long>) invocacao.getArgument(0)).stream().filter(id -> id % 100 != 0).toList());
+        when(eventoRepository.excluirPorIds(anyCollection())).thenAnswer(invocacao ->
+                ((Collection<Long>) invocacao.getArgument(0)).size());
+
+        RelatorioExclusaoDTO relatorio = eventoService.excluirEventos(ids);
+
+        assertEquals(2500, relatorio.solicitados());
+        assertEquals(2475, relatorio.excluidos());
+        assertEquals(25, relatorio.naoEncontrados().size());
+        assertEquals(100L, relatorio.naoEncontrados().get(0));
+        verify(eventoRepository, times(3)).excluirPorIds(anyCollection());
+        verify(estatisticas, times(3)).descontarEventos(anyCollection());
+        verify(publicador, times(2475)).publishEvent(any(EventoAlteradoEvent.class));
+    }
+
+    @Test
+    void naoDeveEmitirDelete_QuandoNenhumIdDoBlocoExistir() {
+        when(eventoRepository.travarIdsExistentes(anyCollection())).thenReturn(List.of());
+
+        RelatorioExclusaoDTO relatorio = eventoService.excluirEventos(List.of(8L, 9L));
+
+        assertEquals(new RelatorioExclusaoDTO(2, 0, List.of(8L, 9L)), relatorio);
+        verify(eventoRepository, never()).excluirPorIds(anyCollection());
+        verifyNoInteractions(publicador, estatisticas);
+    }
+
+    @Test
+    void deveBuscarTexto_PaginandoPorNumeroDePagina() {
+        // Página 1 com tamanho 2: deslocamento 2, pede 3 (uma a mais) => existe próxima
+        when(buscaEventos.buscar("show rock", 2, 3))
+                .thenReturn(List.of(resumoComId(3L), resumoComId(4L), resumoComId(5L)));
+
+        ResultadoBuscaDTO resultado = eventoService.buscarTexto("  show rock ", 1, 2);
+
+        assertEquals(List.of(3L, 4L), resultado.itens().stream().map(EventoResumoDTO::id).toList());
+        assertEquals("show rock", resultado.termos());
+        assertTrue(resultado.temAnterior());
+        assertTrue(resultado.temProxima());
+    }
+
+    @Test
+    void naoDeveConsultarOIndice_QuandoOsTermosEstiveremVazios() {
+        ResultadoBuscaDTO resultado = eventoService.buscarTexto("   ", -3, 20);
+
+        assertTrue(resultado.itens().isEmpty());
+        assertEquals(0, resultado.pagina());
+        assertFalse(resultado.temAnterior());
+        assertFalse(resultado.temProxima());
+        verifyNoInteractions(buscaEventos);
+    }
+
+    @Test
+    void deveListarPrimeiraPagina_ComCursorParaProxima() {
+        // Pedimos 2 por página; o repositório devolve 3 (uma a mais) => existe próxima página
+        when(eventoRepository.listarResumosApos(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(resumoComId(1L), resumoComId(2L), resumoComId(3L)));
+
+        PaginaDTO<EventoResumoDTO> pagina = eventoService.listarPagina(null, null, 2);
+
+        assertEquals(2, pagina.itens().size());
+        assertFalse(pagina.temAnterior());
+        assertEquals(2L, pagina.cursorProximo());
+    }
+
+    @Test
+    void deveVoltarPagina_EmOrdemCrescente() {
+        // Navegação para trás: o repositório devolve em ordem decrescente
+        when(eventoRepository.listarResumosAntes(eq(10L), any(Limit.class)))
+                .thenReturn(List.of(resumoComId(9L), resumoComId(8L)));
+
+        PaginaDTO<EventoResumoDTO> pagina = eventoService.listarPagina(null, 10L, 2);
+
+        assertEquals(List.of(8L, 9L), pagina.itens().stream().map(EventoResumoDTO::id).toList());
+        assertFalse(pagina.temAnterior()); // não veio a linha extra
+        assertEquals(9L, pagina.cursorProximo());
+    }
+
+    @Test
+    void deveVoltarPagina_ComCursorParaAnterior_QuandoHaMaisLinhas() {
+        when(eventoRepository.listarResumosAntes(eq(10L), any(Limit.class)))
+                .thenReturn(List.of(resumoComId(9L), resumoComId(8L), resumoComId(7L)));
+
+        PaginaDTO<EventoResumoDTO> pagina = eventoService.listarPagina(null, 10L, 2);
+
+        assertEquals(List.of(8L, 9L), pagina.itens().stream().map(EventoResumoDTO::id).toList());
+        assertEquals(8L, pagina.cursorAnterior());
+    }
+
+    @Test
+    void deveAvancarAteAUltimaPagina_SemCursorParaProxima() {
+        when(eventoRepository.listarResumosApos(eq(5L), any(Limit.class)))
+                .thenReturn(List.of(resumoComId(6L)));
+
+        PaginaDTO<EventoResumoDTO> pagina = eventoService.listarPagina(5L, null, 2);
+
+        assertEquals(6L, pagina.cursorAnterior());
+        assertFalse(pagina.temProximo());
+    }
+
+    @Test
+    void deveDevolverPaginaVazia_SemCursores() {
+        when(eventoRepository.listarResumosApos(eq(0L), any(Limit.class))).thenReturn(List.of());
+
+        PaginaDTO<EventoResumoDTO> pagina = eventoService.listarPagina(null, null, 500);
+
+        assertTrue(pagina.itens().isEmpty());
+        assertFalse(pagina.temAnterior());
+        assertFalse(pagina.temProximo());
+    }
+
+    private DataIntegrityViolationException violacao(String mensagem) {
+        return new DataIntegrityViolationException("could not execute statement", new RuntimeException(mensagem));
+    }
+
+    private Evento eventoDoCriador(Evento evento, Long usuarioId) {
+        Usuario criador = new Usuario("Admin", "admin@teste.com");
+        criador.setId(usuarioId);
+        evento.setUsuario(criador);
+        return evento;
+    }
+
+    private EventoResumoDTO resumoComId(Long id) {
+        return new EventoResumoDTO(id, "Evento " + id, "Descricao", "Admin");
     }
 }
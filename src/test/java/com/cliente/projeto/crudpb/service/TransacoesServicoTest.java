@@ -0,0 +1,121 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Fronteiras de transação dos serviços, medidas pelas estatísticas do Hibernate
+ * (comandos, transações, flushes, UPDATEs) e pelo timer de uso do Hikari
+ * (hikaricp.connections.usage: uma contagem por conexão retirada do pool).
+ */
+@SpringBootTest
+class TransacoesServicoTest {
+
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry registro;
+
+    private Statistics estatisticas;
+    private Usuario criador;
+    private Evento evento;
+
+    @BeforeEach
+    void preparar() {
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long sufixo = System.nanoTime();
+        criador = usuarioService.criarUsuario(new Usuario("Transacional", "transacional" + sufixo + "@teste.com"));
+        evento = eventoService.criarEvento(new Evento("Transacional " + sufixo, "Original"), criador.getId());
+        usuarioService.buscarResumo(criador.getId()); // cache de resumos quente: não entra nas contagens
+    }
+
+    @Test
+    void deveAtualizarEvento_EmUmaTransacaoComUmaConexaoEDoisComandos() {
+        Medicao medicao = new Medicao();
+
+        eventoService.atualizarEvento(evento.getId(), new Evento(evento.getNome(), "Alterada"), criador.getId());
+
+        assertEquals(1, medicao.conexoes());
+        assertEquals(1, medicao.transacoes());
+        assertEquals(2, medicao.comandos()); // SELECT do evento + UPDATE (o nextval da versão é JDBC, após o commit)
+        assertEquals(1, medicao.updates());
+    }
+
+    @Test
+    void naoDeveEmitirUpdate_QuandoAAtualizacaoNaoMudaNada() {
+        Medicao medicao = new Medicao();
+
+        Evento resultado = eventoService.atualizarEvento(evento.getId(), new Evento(evento.getNome(), "Original"), criador.getId());
+        usuarioService.atualizarUsuario(criador.getId(), new Usuario(criador.getNome(), criador.getEmail()));
+
+        assertEquals(2, medicao.comandos()); // só os dois SELECTs
+        assertEquals(0, medicao.updates());
+        assertEquals(evento.getVersao(), resultado.getVersao());
+        assertEquals(criador.getVersao(), usuarioService.versao(criador.getId()).versao());
+    }
+
+    @Test
+    void deveLer_EmTransacaoSoLeituraSemFlush() {
+        Medicao medicao = new Medicao();
+
+        Evento lido = eventoService.buscarPorId(evento.getId());
+        lido.setDescricao("Alterada fora do serviço"); // entidade só-leitura e já desligada: nada vai ao banco
+
+        assertEquals(1, medicao.conexoes());
+        assertEquals(1, medicao.transacoes());
+        assertEquals(1, medicao.comandos());
+        assertEquals(0, medicao.flushes()); // flush MANUAL: o commit não faz dirty checking
+        assertEquals("Original", eventoService.buscarPorId(evento.getId()).getDescricao());
+    }
+
+    // Diferenças desde a criação (as estatísticas são globais e acumulam entre os testes)
+    private final class Medicao {
+        private final long conexoes = retiradasDoPool();
+        private final long transacoes = estatisticas.getTransactionCount();
+        private final long comandos = estatisticas.getPrepareStatementCount();
+        private final long flushes = estatisticas.getFlushCount();
+        private final long updates = estatisticas.getEntityUpdateCount();
+
+        long conexoes() {
+            return retiradasDoPool() - conexoes;
+        }
+
+        long transacoes() {
+            return estatisticas.getTransactionCount() - transacoes;
+        }
+
+        long comandos() {
+            return estatisticas.getPrepareStatementCount() - comandos;
+        }
+
+        long flushes() {
+            return estatisticas.getFlushCount() - flushes;
+        }
+
+        long updates() {
+            return estatisticas.getEntityUpdateCount() - updates;
+        }
+    }
+
+    private long retiradasDoPool() {
+        return registro.get("hikaricp.connections.usage").timers().stream().mapToLong(Timer::count).sum();
+    }
+}
@@ -0,0 +1,68 @@
+package com.cliente.projeto.crudpb.service;
+
+import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * O criador do evento vem do cache: depois da primeira consulta, criar ou
+ * atualizar eventos não faz nenhum SELECT em usuarios. Alterar ou excluir
+ * o usuário remove a entrada do cache.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class UsuarioCacheTest {
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+    private Usuario criador;
+    private String sufixo;
+
+    @BeforeEach
+    void setup() {
+        sufixo = String.valueOf(System.nanoTime());
+        criador = usuarioService.criarUsuario(new Usuario("Cacheado", "cache" + sufixo + "@teste.com"));
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void naoDeveConsultarOCriador_QuandoJaEstiverEmCache() {
+        eventoService.criarEvento(new Evento("Primeiro " + sufixo, "Descricao"), criador.getId()); // aquece o cache
+        estatisticas.clear();
+
+        Evento evento = eventoService.criarEvento(new Evento("Segundo " + sufixo, "Descricao"), criador.getId());
+        eventoService.atualizarEvento(evento.getId(), new Evento("Segundo Editado " + sufixo, "Nova"), criador.getId());
+
+        assertEquals(0, estatisticas.getQueryExecutionCount(), "Nenhuma consulta JPQL (o resumo veio do cache)");
+        assertEquals(0, estatisticas.getEntityStatistics(Usuario.class.getName()).getLoadCount(),
+                "A referência ao criador não deve carregar a entidade");
+    }
+
+    @Test
+    void deveRemoverDoCache_AoAtualizarEExcluir() {
+        assertEquals("Cacheado", usuarioService.buscarResumo(criador.getId()).orElseThrow().nome());
+
+        usuarioService.atualizarUsuario(criador.getId(), new Usuario("Renomeado", criador.getEmail()));
+        assertEquals("Renomeado", usuarioService.buscarResumo(criador.getId()).orElseThrow().nome());
+
+        usuarioService.deletarUsuario(criador.getId());
+        assertTrue(usuarioService.buscarResumo(criador.getId()).isEmpty());
+        assertThrows(RecursoNaoEncontradoException.class, () -> usuarioService.referenciaPorId(criador.getId()));
+    }
+}
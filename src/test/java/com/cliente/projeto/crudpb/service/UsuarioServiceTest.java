@@ -1,18 +1,30 @@
 package com.cliente.projeto.crudpb.service;
 
+import com.cliente.projeto.crudpb.dto.PaginaDTO;
+import com.cliente.projeto.crudpb.dto.UsuarioListagemDTO;
+import com.cliente.projeto.crudpb.event.UsuarioAlteradoEvent;
+import com.cliente.projeto.crudpb.exception.ConflitoVersaoException;
+import com.cliente.projeto.crudpb.exception.RecursoNaoEncontradoException;
 import com.cliente.projeto.crudpb.exception.ValidacaoException;
 import com.cliente.projeto.crudpb.model.Usuario;
 import com.cliente.projeto.crudpb.repository.UsuarioRepository;
+import com.cliente.projeto.crudpb.repository.VersaoTabelaRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.util.List;
 import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -21,47 +33,53 @@ class UsuarioServiceTest {
     @Mock
     private UsuarioRepository usuarioRepository;
 
+    @Mock
+    private EstatisticasUsuarioService estatisticas;
+
+    @Mock
+    private VersaoTabelaRepository versoes;
+
+    @Mock
+    private ApplicationEventPublisher publicador;
+
     @InjectMocks 
     private UsuarioService usuarioService;
 
     @Test
     void deveLancarExcecao_QuandoCriarUsuarioComEmailDuplicado() {
         // 1. Cenário (Given)
-        // Simulando que o repositório encontrou um usuário com este e-mail
-        when(usuarioRepository.findByEmail("email.repetido@teste.com"))
-                .thenReturn(Optional.of(new Usuario()));
+        // Simulando que o banco recusou o INSERT pela restrição única do e-mail
+        when(usuarioRepository.saveAndFlush(any(Usuario.class)))
+                .thenThrow(violacaoEmailUnico());
 
         Usuario usuarioNovo = new Usuario("Usuario Novo", "email.repetido@teste.com");
 
         // 2. Ação e Verificação (When & Then)
         // Verificamos se a exceção de validação de negócio é lançada
-        assertThrows(ValidacaoException.class, () -> {
+        ValidacaoException ex = assertThrows(ValidacaoException.class, () -> {
             usuarioService.criarUsuario(usuarioNovo);
         });
+        assertEquals("O e-mail 'email.repetido@teste.com' já está em uso por outro usuário.", ex.getMessage());
 
         // 3. Verificação Extra
-        // Garantir que o "fail early" funcionou e NUNCA tentamos salvar
-        verify(usuarioRepository, never()).save(any());
+        // Um único comando: nada de carregar antes o usuário dono do e-mail
+        verify(usuarioRepository, times(1)).saveAndFlush(usuarioNovo);
+        verifyNoMoreInteractions(usuarioRepository);
     }
 
     @Test
     void deveLancarExcecao_QuandoAtualizarUsuarioComEmailDuplicadoDeOutro() {
         // 1. Cenário (Given)
-        // O usuário "conflitante" (que já existe no banco)
-        Usuario usuarioConflitante = new Usuario("Usuario Antigo", "email.repetido@teste.com");
-        usuarioConflitante.setId(99L); // ID diferente
-
         // O usuário que estamos tentando atualizar
         Usuario usuarioAtualizado = new Usuario("Usuario Alvo", "email.repetido@teste.com");
 
-        // Simulando que o repositório encontrou o e-mail conflitante
-        when(usuarioRepository.findByEmail("email.repetido@teste.com"))
-                .thenReturn(Optional.of(usuarioConflitante));
-
         // Simulando a busca do usuário que queremos atualizar (necessário no método 'atualizar')
         when(usuarioRepository.findById(1L))
                 .thenReturn(Optional.of(new Usuario("Dummy", "dummy@email.com")));
 
+        // O e-mail pertence a outro usuário: o banco recusa o UPDATE
+        when(usuarioRepository.saveAndFlush(any(Usuario.class)))
+                .thenThrow(violacaoEmailUnico());
 
         // 2. Ação e Verificação (When & Then)
         // Verificamos se a exceção é lançada ao tentar atualizar o usuário de ID 1
@@ -70,8 +88,10 @@ class UsuarioServiceTest {
         });
 
         // 3. Verificação Extra
-        // Garantir que NUNCA tentamos salvar
-        verify(usuarioRepository, never()).save(any());
+        // Apenas o findById e a gravação: sem consulta por e-mail
+        verify(usuarioRepository).findById(1L);
+        verify(usuarioRepository).saveAndFlush(any(Usuario.class));
+        verifyNoMoreInteractions(usuarioRepository);
     }
 
     @Test
@@ -86,17 +106,119 @@ class UsuarioServiceTest {
 
         // Simulando a busca pelo ID 1
         when(usuarioRepository.findById(1L)).thenReturn(Optional.of(usuarioExistente));
-
-        // Simulando a busca pelo e-mail (encontra o próprio usuário)
-        when(usuarioRepository.findByEmail("email.original@teste.com"))
-                .thenReturn(Optional.of(usuarioExistente));
+        when(usuarioRepository.saveAndFlush(usuarioExistente)).thenReturn(usuarioExistente);
 
         // 2. Ação (When)
         // Esta ação NÃO deve lançar uma ValidacaoException
         usuarioService.atualizarUsuario(1L, usuarioAtualizado);
 
         // 3. Verificação (Then)
-        // Garantir que o método 'save' FOI chamado, pois a validação passou
-        verify(usuarioRepository, times(1)).save(usuarioExistente);
+        // Garantir que o método 'saveAndFlush' FOI chamado com os dados novos
+        verify(usuarioRepository, times(1)).saveAndFlush(usuarioExistente);
+        assertEquals("Novo Nome", usuarioExistente.getNome());
+        verify(publicador).publishEvent(UsuarioAlteradoEvent.atualizado(usuarioExistente));
+    }
+
+    @Test
+    void naoDeveGravarNemPublicar_QuandoNadaMudou() {
+        Usuario existente = new Usuario("Mesmo Nome", "mesmo@teste.com");
+        existente.setId(1L);
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(existente));
+
+        assertSame(existente, usuarioService.atualizarUsuario(1L, new Usuario("Mesmo Nome", "mesmo@teste.com")));
+
+        verify(usuarioRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(publicador);
+    }
+
+    @Test
+    void deveRepassarViolacao_QuandoNaoForDoEmail() {
+        DataIntegrityViolationException outraViolacao = new DataIntegrityViolationException("NULL not allowed for column NOME");
+        when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenThrow(outraViolacao);
+
+        assertSame(outraViolacao, assertThrows(DataIntegrityViolationException.class,
+                () -> usuarioService.criarUsuario(new Usuario("Nome", "nome@teste.com"))));
+    }
+
+    @Test
+    void deveRegistrarEstatisticasZeradas_AoCriarUsuario() {
+        Usuario salvo = new Usuario("Nome", "nome@teste.com");
+        salvo.setId(9L);
+        when(usuarioRepository.saveAndFlush(any(Usuario.class))).thenReturn(salvo);
+
+        assertSame(salvo, usuarioService.criarUsuario(new Usuario("Nome", "nome@teste.com")));
+        verify(estatisticas).registrarUsuario(9L);
+        verify(publicador).publishEvent(UsuarioAlteradoEvent.criado(salvo));
+    }
+
+    @Test
+    void deveBuscarPorPrefixo_EscapandoCuringasELimitandoResultados() {
+        usuarioService.buscarPorPrefixo(" 50%_A ", 1000);
+
+        // '%' e '_' digitados são literais; o limite pedido é reduzido ao máximo permitido
+        verify(usuarioRepository).buscarPorPrefixoDoNome("50\\%\\_a%", Limit.of(UsuarioService.LIMITE_BUSCA_MAXIMO));
+    }
+
+    @Test
+    void naoDeveConsultarBanco_QuandoPrefixoVazio() {
+        assertTrue(usuarioService.buscarPorPrefixo("  ", 10).isEmpty());
+        verifyNoInteractions(usuarioRepository);
+    }
+
+    @Test
+    void deveRecusarAtualizacao_QuandoAVersaoLidaEstiverDesatualizada() {
+        when(usuarioRepository.findById(1L)).thenReturn(Optional.of(new Usuario("Dummy", "dummy@email.com")));
+
+        assertThrows(ConflitoVersaoException.class,
+                () -> usuarioService.atualizarUsuario(1L, new Usuario("Novo", "novo@email.com"), 7L));
+        verify(usuarioRepository, never()).saveAndFlush(any());
+
+        // Versão já superada entre a leitura e o UPDATE (@Version)
+        when(usuarioRepository.saveAndFlush(any(Usuario.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Usuario.class, 1L));
+        assertThrows(ConflitoVersaoException.class,
+                () -> usuarioService.atualizarUsuario(1L, new Usuario("Novo", "novo@email.com")));
+    }
+
+    @Test
+    void deveExcluirComUmUnicoDelete_ELancar404QuandoNadaForAfetado() {
+        when(usuarioRepository.excluirPorId(1L)).thenReturn(1);
+        when(usuarioRepository.excluirPorId(2L)).thenReturn(0);
+
+        usuarioService.deletarUsuario(1L);
+        assertThrows(RecursoNaoEncontradoException.class, () -> usuarioService.deletarUsuario(2L));
+
+        verify(usuarioRepository, never()).findById(any());
+        // só a exclusão que aconteceu vai para os ouvintes (auditoria)
+        verify(publicador).publishEvent(UsuarioAlteradoEvent.removido(1L));
+        verifyNoMoreInteractions(publicador);
+    }
+
+    @Test
+    void deveListarPaginaDeUsuarios_NosDoisSentidos() {
+        when(usuarioRepository.listarPaginaApos(eq(0L), any(Limit.class)))
+                .thenReturn(List.of(linha(1L), linha(2L), linha(3L)));
+        when(usuarioRepository.listarPaginaAntes(eq(10L), any(Limit.class)))
+                .thenReturn(List.of(linha(9L), linha(8L), linha(7L)));
+
+        PaginaDTO<UsuarioListagemDTO> primeira = usuarioService.listarPagina(null, null, 2);
+        assertEquals(List.of(1L, 2L), primeira.itens().stream().map(UsuarioListagemDTO::id).toList());
+        assertFalse(primeira.temAnterior());
+        assertEquals(2L, primeira.cursorProximo());
+
+        // para trás o repositório devolve em ordem decrescente; a página sai crescente
+        PaginaDTO<UsuarioListagemDTO> anterior = usuarioService.listarPagina(null, 10L, 2);
+        assertEquals(List.of(8L, 9L), anterior.itens().stream().map(UsuarioListagemDTO::id).toList());
+        assertEquals(8L, anterior.cursorAnterior());
+        assertEquals(9L, anterior.cursorProximo());
+    }
+
+    private static UsuarioListagemDTO linha(Long id) {
+        return new UsuarioListagemDTO(id, "Usuario " + id, "u" + id + "@email.com", 0L);
+    }
+
+    private DataIntegrityViolationException violacaoEmailUnico() {
+        return new DataIntegrityViolationException("could not execute statement",
+                new RuntimeException("Unique index or primary key violation: \"PUBLIC.UK_USUARIOS_EMAIL_INDEX_8 ON PUBLIC.USUARIOS(EMAIL)\""));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,58 @@
+package com.cliente.projeto.crudpb.service.alteracoes;
+
+import com.cliente.projeto.crudpb.dto.AlteracaoEventoDTO;
+import com.cliente.projeto.crudpb.event.EventoAlteradoEvent.Tipo;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilaAssinanteTest {
+
+    @Test
+    void deveGuardarSoOEstadoFinalDeCadaEvento_NaOrdemDaSequencia() {
+        FilaAssinante fila = new FilaAssinante(10);
+
+        assertTrue(fila.oferecer(alteracao(1, Tipo.CRIADO, 7L, "Primeiro")));  // agenda o envio
+        assertFalse(fila.oferecer(alteracao(2, Tipo.ATUALIZADO, 8L, "Outro"))); // já agendado
+        assertFalse(fila.oferecer(alteracao(3, Tipo.ATUALIZADO, 7L, "Segundo")));
+        assertEquals(2, fila.pendentes());
+
+        FilaAssinante.Lote lote = fila.retirar();
+        assertFalse(lote.recarregar());
+        assertFalse(lote.pulso());
+        assertEquals(List.of(2L, 3L), lote.alteracoes().stream().map(AlteracaoEventoDTO::sequencia).toList());
+        // a criação ainda não enviada continua criação, com os dados novos
+        assertEquals(Tipo.CRIADO, lote.alteracoes().get(1).tipo());
+        assertEquals("Segundo", lote.alteracoes().get(1).nome());
+
+        assertNull(fila.retirar()); // vazia: desagenda
+        assertTrue(fila.pulsar());  // e a próxima oferta volta a agendar
+        assertTrue(fila.retirar().pulso());
+    }
+
+    @Test
+    void deveTrocarAsAlteracoesPeloAvisoDeRecarregar_QuandoPassaDaCapacidade() {
+        FilaAssinante fila = new FilaAssinante(2);
+        fila.oferecer(alteracao(1, Tipo.CRIADO, 1L, "A"));
+        fila.oferecer(alteracao(2, Tipo.CRIADO, 2L, "B"));
+        fila.oferecer(alteracao(3, Tipo.REMOVIDO, 2L, null)); // mesmo evento: ainda cabe
+        assertEquals(2, fila.pendentes());
+
+        fila.oferecer(alteracao(4, Tipo.CRIADO, 3L, "C"));
+        assertEquals(0, fila.pendentes());
+        assertFalse(fila.oferecer(alteracao(5, Tipo.CRIADO, 4L, "D"))); // estado final
+        assertEquals(0, fila.pendentes());
+
+        FilaAssinante.Lote lote = fila.retirar();
+        assertTrue(lote.recarregar());
+        assertTrue(lote.alteracoes().isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> new FilaAssinante(0));
+    }
+
+    private static AlteracaoEventoDTO alteracao(long sequencia, Tipo tipo, Long id, String nome) {
+        return new AlteracaoEventoDTO(sequencia, tipo, id, nome, null, null);
+    }
+}
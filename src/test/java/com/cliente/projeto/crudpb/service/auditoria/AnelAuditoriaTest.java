@@ -0,0 +1,94 @@
+package com.cliente.projeto.crudpb.service.auditoria;
+
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Entidade;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Operacao;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnelAuditoriaTest {
+
+    @Test
+    void deveRecusarNaHora_QuandoCheio_EEntregarNaOrdem() {
+        AnelAuditoria anel = new AnelAuditoria(3); // arredonda para 4
+        assertEquals(4, anel.capacidade());
+
+        for (long id = 1; id <= 4; id++) {
+            assertTrue(anel.oferecer(registro(0, id)));
+        }
+        assertFalse(anel.oferecer(registro(0, 5)));
+        assertEquals(4, anel.pendentes());
+
+        List<Long> ids = new ArrayList<>();
+        assertEquals(2, anel.drenar(r -> ids.add(r.entidadeId()), 2));
+        assertTrue(anel.oferecer(registro(0, 5))); // as posições drenadas voltam a valer
+        assertEquals(3, anel.drenar(r -> ids.add(r.entidadeId()), 10));
+        assertEquals(0, anel.drenar(r -> ids.add(r.entidadeId()), 10));
+
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), ids);
+        assertEquals(0, anel.pendentes());
+    }
+
+    @Test
+    void deveEntregarTudoUmaVez_ComVariosProdutoresEUmConsumidor() throws Exception {
+        int produtores = 4;
+        int porProdutor = 20_000;
+        AnelAuditoria anel = new AnelAuditoria(64); // pequeno: força as voltas e a fila cheia
+        ExecutorService executor = Executors.newFixedThreadPool(produtores);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int p = 0; p < produtores; p++) {
+            long produtor = p;
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (long i = 0; i < porProdutor; i++) {
+                    while (!anel.oferecer(registro(produtor, i))) {
+                        Thread.onSpinWait(); // só o teste insiste; o AuditoriaService descarta
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long[] proximoEsperado = new long[produtores];
+        int recebidos = 0;
+        largada.countDown();
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (recebidos < produtores * porProdutor && System.nanoTime() < limite) {
+            int[] lote = {0};
+            anel.drenar(r -> {
+                int produtor = (int) r.sequencia();
+                // cada produtor publica em ordem: o consumidor tem de ver a mesma ordem
+                assertEquals(proximoEsperado[produtor]++, r.entidadeId());
+                lote[0]++;
+            }, 128);
+            recebidos += lote[0];
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertEquals(produtores * porProdutor, recebidos);
+        for (long esperado : proximoEsperado) {
+            assertEquals(porProdutor, esperado);
+        }
+        assertEquals(0, anel.pendentes());
+    }
+
+    // O produtor vai no campo 'sequencia' só neste teste (o diário é quem numera de verdade)
+    private static RegistroAuditoriaDTO registro(long produtor, long id) {
+        return new RegistroAuditoriaDTO(produtor, Instant.EPOCH, Entidade.EVENTO, Operacao.CRIACAO, id, "teste", Map.of());
+    }
+}
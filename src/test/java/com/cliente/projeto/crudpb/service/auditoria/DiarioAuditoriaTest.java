@@ -0,0 +1,198 @@
+package com.cliente.projeto.crudpb.service.auditoria;
+
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Entidade;
+import com.cliente.projeto.crudpb.dto.RegistroAuditoriaDTO.Operacao;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DiarioAuditoriaTest {
+
+    private static final Instant INSTANTE = Instant.parse("2026-10-18T12:00:00.123Z");
+    private static final int RETIDOS = 100;
+
+    @TempDir
+    private Path diretorio;
+
+    @Test
+    void deveGravarELerOHistoricoDeUmaEntidade() throws IOException {
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 4096, RETIDOS)) {
+            assertEquals(1, diario.anexar(registro(Entidade.EVENTO, Operacao.CRIACAO, 7, Map.of("nome", "Show de Rock", "descricao", "Açaí"))));
+            assertEquals(2, diario.anexar(registro(Entidade.USUARIO, Operacao.CRIACAO, 7, Map.of("nome", "Ana"))));
+            assertEquals(3, diario.anexar(registro(Entidade.EVENTO, Operacao.EXCLUSAO, 7, Map.of())));
+
+            List<RegistroAuditoriaDTO> historico = diario.historico(Entidade.EVENTO, 7);
+
+            assertEquals(2, historico.size());
+            assertEquals(registro(Entidade.EVENTO, Operacao.CRIACAO, 7, Map.of("nome", "Show de Rock", "descricao", "Açaí"))
+                    .comSequencia(1), historico.get(0));
+            assertEquals(Operacao.EXCLUSAO, historico.get(1).operacao());
+            assertEquals(3, historico.get(1).sequencia());
+            assertTrue(diario.historico(Entidade.USUARIO, 8).isEmpty());
+        }
+    }
+
+    @Test
+    void deveAbrirNovoSegmento_QuandoOAtualEnche() throws IOException {
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 128, RETIDOS)) { // ~2 registros por segmento
+            for (int i = 0; i < 10; i++) {
+                diario.anexar(registro(Entidade.EVENTO, Operacao.ATUALIZACAO, 1, Map.of("nome", "Versao " + i)));
+            }
+            assertTrue(segmentos().size() >= 4);
+            assertTrue(segmentos().contains(DiarioAuditoria.PREFIXO + "00000000000000000001" + DiarioAuditoria.SUFIXO));
+            List<RegistroAuditoriaDTO> historico = diario.historico(Entidade.EVENTO, 1);
+            assertEquals(10, historico.size());
+            assertEquals("Versao 9", historico.get(9).dados().get("nome"));
+        }
+    }
+
+    @Test
+    void deveContinuarASequencia_EDescartarRegistroPelaMetade_AoReabrir() throws IOException {
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 4096, RETIDOS)) {
+            diario.anexar(registro(Entidade.USUARIO, Operacao.CRIACAO, 3, Map.of("nome", "Ana")));
+            diario.anexar(registro(Entidade.USUARIO, Operacao.ATUALIZACAO, 3, Map.of("nome", "Ana Maria")));
+        }
+        // simula uma queda no meio da próxima gravação: tamanho escrito, corpo não
+        Path segmento = diretorio.resolve(segmentos().get(0));
+        int fim = tamanhoDosRegistros(segmento);
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.WRITE)) {
+            canal.write(ByteBuffer.allocate(8).putInt(0, 40).putInt(4, 123), fim);
+        }
+
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 4096, RETIDOS)) {
+            assertEquals(2, diario.ultimaSequencia());
+            assertEquals(3, diario.anexar(registro(Entidade.USUARIO, Operacao.EXCLUSAO, 3, Map.of())));
+            assertEquals(List.of(Operacao.CRIACAO, Operacao.ATUALIZACAO, Operacao.EXCLUSAO),
+                    diario.historico(Entidade.USUARIO, 3).stream().map(RegistroAuditoriaDTO::operacao).toList());
+        }
+    }
+
+    @Test
+    void deveRefazerOIndiceDeTodosOsSegmentos_AoReabrir() throws IOException {
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 128, RETIDOS)) {
+            for (int i = 0; i < 6; i++) {
+                diario.anexar(registro(Entidade.EVENTO, Operacao.ATUALIZACAO, i % 2, Map.of("nome", "Versao " + i)));
+            }
+        }
+        assertTrue(segmentos().size() >= 3);
+
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 128, RETIDOS)) {
+            diario.anexar(registro(Entidade.EVENTO, Operacao.EXCLUSAO, 1, Map.of()));
+
+            assertEquals(List.of("Versao 0", "Versao 2", "Versao 4"),
+                    diario.historico(Entidade.EVENTO, 0).stream().map(registro -> registro.dados().get("nome")).toList());
+            assertEquals(List.of(2L, 4L, 6L, 7L),
+                    diario.historico(Entidade.EVENTO, 1).stream().map(RegistroAuditoriaDTO::sequencia).toList());
+        }
+    }
+
+    @Test
+    void deveGravarOIndiceDeCadaSegmentoFechado_ELerPorEleAoReabrir() throws IOException {
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 128, RETIDOS)) {
+            for (int i = 0; i < 6; i++) {
+                diario.anexar(registro(Entidade.EVENTO, Operacao.ATUALIZACAO, i % 2, Map.of("nome", "Versao " + i)));
+            }
+        }
+        List<String> segmentos = segmentos();
+        // todos menos o atual têm índice em arquivo
+        assertEquals(segmentos.size() - 1, arquivos(DiarioAuditoria.SUFIXO_INDICE).size());
+
+        // um índice vazio (válido) esconde os registros do primeiro segmento: a abertura confia nele
+        Path primeiroIndice = diretorio.resolve(arquivos(DiarioAuditoria.SUFIXO_INDICE).get(0));
+        Files.write(primeiroIndice, new byte[0]);
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 128, RETIDOS)) {
+            assertEquals(List.of("Versao 2", "Versao 4"),
+                    diario.historico(Entidade.EVENTO, 0).stream().map(registro -> registro.dados().get("nome")).toList());
+        }
+
+        // sem o arquivo, o índice é refeito lendo o segmento
+        Files.delete(primeiroIndice);
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 128, RETIDOS)) {
+            assertTrue(Files.size(primeiroIndice) > 0);
+            assertEquals(List.of("Versao 0", "Versao 2", "Versao 4"),
+                    diario.historico(Entidade.EVENTO, 0).stream().map(registro -> registro.dados().get("nome")).toList());
+        }
+    }
+
+    @Test
+    void deveApagarOsSegmentosMaisAntigos_AlemDoLimiteRetido() throws IOException {
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 128, 2)) {
+            for (int i = 0; i < 10; i++) {
+                diario.anexar(registro(Entidade.EVENTO, Operacao.ATUALIZACAO, 1, Map.of("nome", "Versao " + i)));
+            }
+            assertEquals(2, segmentos().size());
+            assertEquals(1, arquivos(DiarioAuditoria.SUFIXO_INDICE).size());
+            assertFalse(segmentos().contains(DiarioAuditoria.PREFIXO + "00000000000000000001" + DiarioAuditoria.SUFIXO));
+            List<RegistroAuditoriaDTO> historico = diario.historico(Entidade.EVENTO, 1);
+            assertTrue(historico.size() < 10);
+            assertEquals("Versao 9", historico.get(historico.size() - 1).dados().get("nome"));
+        }
+
+        // um limite menor na abertura apaga o excedente antes de ler
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 128, 1)) {
+            assertEquals(1, segmentos().size());
+            assertTrue(arquivos(DiarioAuditoria.SUFIXO_INDICE).isEmpty());
+            assertEquals(10, diario.ultimaSequencia());
+        }
+        assertThrows(IllegalArgumentException.class, () -> new DiarioAuditoria(diretorio, 128, 0));
+    }
+
+    @Test
+    void deveRecusarUmSegundoDiarioNoMesmoDiretorio() throws IOException {
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 4096, RETIDOS)) {
+            assertThrows(IllegalStateException.class, () -> new DiarioAuditoria(diretorio, 4096, RETIDOS));
+            assertEquals(0, diario.ultimaSequencia());
+        }
+    }
+
+    @Test
+    void deveRecusarRegistroMaiorQueOSegmento() throws IOException {
+        try (DiarioAuditoria diario = new DiarioAuditoria(diretorio, 64, RETIDOS)) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> diario.anexar(registro(Entidade.EVENTO, Operacao.CRIACAO, 1, Map.of("descricao", "x".repeat(100)))));
+            assertThrows(IllegalArgumentException.class,
+                    () -> diario.anexar(registro(Entidade.EVENTO, Operacao.CRIACAO, 1, Map.of("descricao", "x".repeat(70_000)))));
+            assertEquals(0, diario.ultimaSequencia());
+        }
+    }
+
+    private static RegistroAuditoriaDTO registro(Entidade entidade, Operacao operacao, long id, Map<String, String> dados) {
+        return new RegistroAuditoriaDTO(0, INSTANTE, entidade, operacao, id, "127.0.0.1", dados);
+    }
+
+    private List<String> segmentos() throws IOException {
+        return arquivos(DiarioAuditoria.SUFIXO);
+    }
+
+    private List<String> arquivos(String sufixo) throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.map(arquivo -> arquivo.getFileName().toString())
+                    .filter(nome -> nome.endsWith(sufixo))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    // Soma os registros gravados (tamanho + cabeçalho de 8 bytes) até o primeiro tamanho 0
+    private static int tamanhoDosRegistros(Path segmento) throws IOException {
+        ByteBuffer conteudo = ByteBuffer.wrap(Files.readAllBytes(segmento));
+        int posicao = 0;
+        while (conteudo.getInt(posicao) > 0) {
+            posicao += 8 + conteudo.getInt(posicao);
+        }
+        return posicao;
+    }
+}
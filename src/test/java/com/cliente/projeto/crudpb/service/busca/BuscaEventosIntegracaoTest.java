@@ -0,0 +1,82 @@
+package com.cliente.projeto.crudpb.service.busca;
+
+import com.cliente.projeto.crudpb.dto.EventoResumoDTO;
+import com.cliente.projeto.crudpb.dto.ResultadoBuscaDTO;
+import com.cliente.projeto.crudpb.model.Evento;
+import com.cliente.projeto.crudpb.model.Usuario;
+import com.cliente.projeto.crudpb.service.EventoImportacaoService;
+import com.cliente.projeto.crudpb.service.EventoService;
+import com.cliente.projeto.crudpb.service.FormatoArquivo;
+import com.cliente.projeto.crudpb.service.UsuarioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * No H2 a busca é o índice em memória: confere que ele acompanha as
+ * gravações feitas pelo EventoService e pela importação em massa.
+ */
+@SpringBootTest
+class BuscaEventosIntegracaoTest {
+
+    @Autowired
+    private BuscaEventos buscaEventos;
+
+    @Autowired
+    private EventoService eventoService;
+
+    @Autowired
+    private EventoImportacaoService importacaoService;
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Test
+    void deveUsarOIndiceEmMemoria_NoH2() {
+        assertInstanceOf(BuscaEventosEmMemoria.class, buscaEventos);
+    }
+
+    @Test
+    void deveAcompanharCriacaoAtualizacaoEExclusao() {
+        String sufixo = String.valueOf(System.nanoTime());
+        Usuario criador = usuarioService.criarUsuario(new Usuario("Buscador", "busca" + sufixo + "@teste.com"));
+        Evento evento = eventoService.criarEvento(new Evento("Maratona Xilofone " + sufixo, "Percussão"), criador.getId());
+
+        ResultadoBuscaDTO resultado = eventoService.buscarTexto("xilofone " + sufixo, 0, 10);
+        assertEquals(List.of(evento.getId()), ids(resultado));
+        assertEquals("Buscador", resultado.itens().get(0).criadorNome());
+
+        eventoService.atualizarEvento(evento.getId(), new Evento("Maratona Vibrafone " + sufixo, "Percussão"), criador.getId());
+        assertTrue(eventoService.buscarTexto("xilofone " + sufixo, 0, 10).itens().isEmpty());
+        assertEquals(List.of(evento.getId()), ids(eventoService.buscarTexto("vibrafone " + sufixo, 0, 10)));
+
+        eventoService.deletarEvento(evento.getId());
+        assertTrue(eventoService.buscarTexto("vibrafone " + sufixo, 0, 10).itens().isEmpty());
+    }
+
+    @Test
+    void deveIndexarEventosImportados() throws Exception {
+        String sufixo = String.valueOf(System.nanoTime());
+        Usuario criador = usuarioService.criarUsuario(new Usuario("Importador", "importa" + sufixo + "@teste.com"));
+        String csv = "nome,descricao,usuarioId\n"
+                + "Oficina Origami " + sufixo + ",Dobraduras," + criador.getId() + "\n"
+                + "Origami Avançado " + sufixo + ",Oficina de dobraduras," + criador.getId() + "\n";
+
+        importacaoService.importar(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), FormatoArquivo.CSV);
+
+        // Os dois têm "origami" no nome; só o primeiro também tem "oficina" no nome
+        ResultadoBuscaDTO resultado = eventoService.buscarTexto("oficina origami " + sufixo, 0, 10);
+        assertEquals(List.of("Oficina Origami " + sufixo, "Origami Avançado " + sufixo),
+                resultado.itens().stream().map(EventoResumoDTO::nome).toList());
+    }
+
+    private List<Long> ids(ResultadoBuscaDTO resultado) {
+        return resultado.itens().stream().map(EventoResumoDTO::id).toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.cliente.projeto.crudpb.service.busca;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IndiceInvertidoTest {
+
+    private IndiceInvertido indice;
+
+    @BeforeEach
+    void setup() {
+        indice = new IndiceInvertido();
+        indice.indexar(1L, "Festival de Jazz", "Música ao vivo na praça");
+        indice.indexar(2L, "Feira de Livros", "Autores de jazz e poesia");
+        indice.indexar(3L, "Jazz na Praça", "Festival gratuito");
+        indice.indexar(4L, "Corrida Noturna", "5 km pela orla");
+    }
+
+    @Test
+    void deveOrdenarPorRelevancia_ComNomeValendoMaisQueDescricao() {
+        // 1 e 3 têm "jazz" no nome; 2 só na descrição. Empate desfeito pelo menor ID.
+        assertEquals(List.of(1L, 3L, 2L), indice.buscar("jazz", 0, 10));
+    }
+
+    @Test
+    void deveExigirTodosOsTermos_IgnorandoAcentosMaiusculasEPalavrasVazias() {
+        assertEquals(List.of(3L, 1L), indice.buscar("PRACA de jazz", 0, 10));
+        assertEquals(List.of(3L), indice.buscar("jazz gratuito", 0, 10));
+        assertTrue(indice.buscar("jazz inexistente", 0, 10).isEmpty());
+        assertTrue(indice.buscar("de a o", 0, 10).isEmpty());
+        assertTrue(indice.buscar(null, 0, 10).isEmpty());
+    }
+
+    @Test
+    void devePaginarPeloDeslocamento() {
+        assertEquals(List.of(1L, 3L), indice.buscar("jazz", 0, 2));
+        assertEquals(List.of(2L), indice.buscar("jazz", 2, 2));
+        assertTrue(indice.buscar("jazz", 3, 2).isEmpty());
+        assertTrue(indice.buscar("jazz", 0, 0).isEmpty());
+    }
+
+    @Test
+    void deveReindexarERemover_SemDeixarTermosAntigos() {
+        indice.indexar(3L, "Samba na Praça", "Roda de samba");
+        assertEquals(List.of(1L, 2L), indice.buscar("jazz", 0, 10));
+        assertEquals(List.of(3L), indice.buscar("samba", 0, 10));
+
+        indice.remover(1L);
+        indice.remover(99L); // inexistente: nada acontece
+        assertEquals(List.of(2L), indice.buscar("jazz", 0, 10));
+        assertTrue(indice.buscar("musica", 0, 10).isEmpty());
+        assertEquals(3, indice.tamanho());
+    }
+
+    @Test
+    void deveManterOrdemDosIds_QuandoIndexadosForaDeOrdem() {
+        IndiceInvertido foraDeOrdem = new IndiceInvertido();
+        for (long id : new long[] {50, 10, 30, 20, 40, 5}) {
+            foraDeOrdem.indexar(id, "Evento " + id, "show");
+        }
+        foraDeOrdem.remover(30L);
+
+        assertEquals(List.of(5L, 10L, 20L, 40L, 50L), foraDeOrdem.buscar("show evento", 0, 10));
+        assertEquals(List.of(20L), foraDeOrdem.buscar("show 20", 0, 10));
+    }
+}